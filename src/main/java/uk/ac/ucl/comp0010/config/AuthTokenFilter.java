@@ -44,14 +44,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     String header = request.getHeader("Authorization");
     String token = (header != null && header.startsWith("Bearer ")) ? header.substring(7) : null;
 
-    var account = userService.findByToken(token).orElse(null);
-    if (!StringUtils.hasText(token) || account == null) {
+    String username = StringUtils.hasText(token)
+        ? userService.findUsernameByToken(token).orElse(null) : null;
+    if (username == null) {
       respondUnauthorized(response);
       return;
     }
 
     UsernamePasswordAuthenticationToken authentication =
-        UsernamePasswordAuthenticationToken.authenticated(account.getUsername(), null,
+        UsernamePasswordAuthenticationToken.authenticated(username, null,
             java.util.List.of());
     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,206 @@
+package uk.ac.ucl.comp0010.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter that limits how fast each user or client may call the API, with separate budgets for
+ * logging in, writing, and the heavy analytics, export and history endpoints.
+ *
+ * <p>It runs after {@link AuthTokenFilter}, so writes are charged to the authenticated user.
+ * Reads are never authenticated, so analytics reads are charged to the client address, as are
+ * logins. Other reads are not limited. Writes are also charged to the client address by
+ * {@link #preAuthentication()}, which runs before the token is resolved, so a flood of writes with
+ * made-up tokens is cut off without a token lookup each; that budget is wider to leave room for
+ * users sharing an address. A request over budget gets a 429 with a Retry-After header.
+ *
+ * <p>The client address is the servlet remote address. Behind a reverse proxy that is the
+ * proxy's own address, putting every client in one bucket, unless
+ * {@code server.forward-headers-strategy} is set so the address comes from the forwarded headers.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+  static final List<String> ANALYTICS_PATHS = List.of("/api/export/**",
+      "/api/departments/statistics", "/api/modules/statistics", "/api/modules/distributions",
+      "/api/modules/*/statistics", "/api/modules/*/distribution", "/api/students/statistics",
+      "/api/students/leaderboard", "/api/operations", "/api/*/*/history");
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+  private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+  private final boolean enabled;
+  private final RateLimiter auth;
+  private final RateLimiter writes;
+  private final RateLimiter analytics;
+  private final RateLimiter clientWrites;
+  private final LongSupplier clock;
+  private final Filter preAuthentication = new ClientWriteFilter();
+
+  /**
+   * Creates the filter.
+   *
+   * @param enabled whether requests are limited at all
+   * @param authPerMinute logins and registrations allowed per client per minute
+   * @param authBurst logins and registrations a client may make at once
+   * @param writePerMinute writes allowed per user per minute
+   * @param writeBurst writes a user may make at once
+   * @param analyticsPerMinute analytics requests allowed per client address per minute
+   * @param analyticsBurst analytics requests a client address may make at once
+   * @param clientWritePerMinute writes allowed per client address per minute, before
+   *     authentication
+   * @param clientWriteBurst writes a client address may make at once, before authentication
+   * @param maxKeys most users or clients tracked per budget
+   */
+  @Autowired
+  public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+      @Value("${rate-limit.auth.per-minute:30}") int authPerMinute,
+      @Value("${rate-limit.auth.burst:10}") int authBurst,
+      @Value("${rate-limit.write.per-minute:600}") int writePerMinute,
+      @Value("${rate-limit.write.burst:100}") int writeBurst,
+      @Value("${rate-limit.analytics.per-minute:120}") int analyticsPerMinute,
+      @Value("${rate-limit.analytics.burst:60}") int analyticsBurst,
+      @Value("${rate-limit.client-write.per-minute:3000}") int clientWritePerMinute,
+      @Value("${rate-limit.client-write.burst:300}") int clientWriteBurst,
+      @Value("${rate-limit.max-keys:100000}") int maxKeys) {
+    this(enabled, new RateLimiter(authPerMinute, authBurst, maxKeys),
+        new RateLimiter(writePerMinute, writeBurst, maxKeys),
+        new RateLimiter(analyticsPerMinute, analyticsBurst, maxKeys),
+        new RateLimiter(clientWritePerMinute, clientWriteBurst, maxKeys), System::nanoTime);
+  }
+
+  RateLimitFilter(boolean enabled, RateLimiter auth, RateLimiter writes, RateLimiter analytics,
+      RateLimiter clientWrites, LongSupplier clock) {
+    this.enabled = enabled;
+    this.auth = auth;
+    this.writes = writes;
+    this.analytics = analytics;
+    this.clientWrites = clientWrites;
+    this.clock = clock;
+  }
+
+  /**
+   * Filter charging writes to the client address, to be placed before {@link AuthTokenFilter}.
+   *
+   * @return the pre-authentication stage of this filter
+   */
+  public Filter preAuthentication() {
+    return preAuthentication;
+  }
+
+  /**
+   * Drops buckets that have refilled, keeping memory proportional to recently active clients,
+   * and reports requests that had to share an overflow bucket since the last sweep.
+   */
+  @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+  public void evictIdle() {
+    long now = clock.getAsLong();
+    long overflowed = 0;
+    for (RateLimiter limiter : List.of(auth, writes, analytics, clientWrites)) {
+      limiter.evictIdle(now);
+      overflowed += limiter.takeOverflowCount();
+    }
+    if (overflowed > 0) {
+      LOGGER.warn("{} requests shared an overflow rate-limit bucket; consider raising "
+          + "rate-limit.max-keys", overflowed);
+    }
+  }
+
+  @SuppressWarnings("null")
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    RateLimiter limiter = enabled ? limiterFor(request) : null;
+    if (limiter != null && !tryAcquire(limiter, keyFor(request), response)) {
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  private boolean tryAcquire(RateLimiter limiter, String key, HttpServletResponse response)
+      throws IOException {
+    long wait = limiter.tryAcquire(key, clock.getAsLong());
+    if (wait > 0) {
+      respondTooManyRequests(response, wait);
+      return false;
+    }
+    return true;
+  }
+
+  private RateLimiter limiterFor(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    if (HttpMethod.GET.matches(request.getMethod())) {
+      for (String pattern : ANALYTICS_PATHS) {
+        if (MATCHER.match(pattern, path)) {
+          return analytics;
+        }
+      }
+      return null;
+    }
+    if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+      return null;
+    }
+    if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+      return auth;
+    }
+    return writes;
+  }
+
+  private static String keyFor(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken)) {
+      return "user:" + authentication.getName();
+    }
+    return clientKey(request);
+  }
+
+  private static String clientKey(HttpServletRequest request) {
+    return "ip:" + request.getRemoteAddr();
+  }
+
+  private void respondTooManyRequests(HttpServletResponse response, long waitNanos)
+      throws IOException {
+    long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write("{\"error\":\"Too many requests\"}");
+  }
+
+  private final class ClientWriteFilter extends OncePerRequestFilter {
+    @SuppressWarnings("null")
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+      if (enabled && limiterFor(request) == writes
+          && !tryAcquire(clientWrites, clientKey(request), response)) {
+        return;
+      }
+      filterChain.doFilter(request, response);
+    }
+  }
+}
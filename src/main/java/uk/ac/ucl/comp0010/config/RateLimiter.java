@@ -0,0 +1,90 @@
+package uk.ac.ucl.comp0010.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key token buckets kept as a single theoretical arrival time each (the generic cell rate
+ * algorithm), so taking a token is one compare-and-set with no locking.
+ *
+ * <p>A key may spend up to {@code burst} requests at once and then one per emission interval.
+ * Buckets live in a {@link ConcurrentHashMap}, whose bins are locked independently, so only
+ * creating a bucket ever contends. A bucket whose arrival time has passed is full and identical
+ * to a fresh one, so {@link #evictIdle} drops it. Once {@code maxKeys} buckets exist, new keys
+ * share one overflow bucket until the next sweep rather than growing the map or sweeping it on the
+ * request path; requests charged to it are counted so the sweep can report them.
+ */
+final class RateLimiter {
+  static final String OVERFLOW_KEY = "";
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final int maxKeys;
+  private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final LongAdder overflowed = new LongAdder();
+
+  RateLimiter(int perMinute, int burst, int maxKeys) {
+    this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+    this.burstNanos = intervalNanos * burst;
+    this.maxKeys = maxKeys;
+  }
+
+  /**
+   * Takes a token from the key's bucket.
+   *
+   * @param key user or client the request is charged to
+   * @param now current {@link System#nanoTime} reading
+   * @return zero when the request may proceed, otherwise nanoseconds until it would
+   */
+  long tryAcquire(String key, long now) {
+    AtomicLong bucket = bucket(key, now);
+    while (true) {
+      long arrival = bucket.get();
+      long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+      long wait = next - now - burstNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (bucket.compareAndSet(arrival, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Drops buckets that have refilled completely.
+   *
+   * @param now current {@link System#nanoTime} reading
+   */
+  void evictIdle(long now) {
+    buckets.entrySet().removeIf(entry -> now - entry.getValue().get() >= 0);
+  }
+
+  int size() {
+    return buckets.size();
+  }
+
+  /**
+   * Reads and resets the number of requests charged to the overflow bucket.
+   *
+   * @return requests that shared the overflow bucket since the last call
+   */
+  long takeOverflowCount() {
+    return overflowed.sumThenReset();
+  }
+
+  private AtomicLong bucket(String key, long now) {
+    AtomicLong bucket = buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    if (buckets.size() >= maxKeys) {
+      overflowed.increment();
+      return buckets.computeIfAbsent(OVERFLOW_KEY, ignored -> new AtomicLong(now));
+    }
+    return buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+  }
+}
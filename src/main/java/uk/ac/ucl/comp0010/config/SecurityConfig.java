@@ -21,9 +21,11 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
   private final AuthTokenFilter authTokenFilter;
+  private final RateLimitFilter rateLimitFilter;
 
-  public SecurityConfig(AuthTokenFilter authTokenFilter) {
+  public SecurityConfig(AuthTokenFilter authTokenFilter, RateLimitFilter rateLimitFilter) {
     this.authTokenFilter = authTokenFilter;
+    this.rateLimitFilter = rateLimitFilter;
   }
 
   /**
@@ -47,6 +49,8 @@ public class SecurityConfig {
             .anyRequest().authenticated());
 
     http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+    http.addFilterBefore(rateLimitFilter.preAuthentication(), AuthTokenFilter.class);
+    http.addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
 
     return http.build();
   }
@@ -2,14 +2,17 @@ package uk.ac.ucl.comp0010.controllers;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.NoGradeAvailableException;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
 import uk.ac.ucl.comp0010.exceptions.ResourceConflictException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
+import uk.ac.ucl.comp0010.exceptions.ServiceUnavailableException;
 
 /**
  * Centralised handler for translating exceptions into API error responses.
@@ -29,11 +32,22 @@ public class ApiExceptionHandler {
     return buildResponse(HttpStatus.CONFLICT, ex);
   }
 
-  @ExceptionHandler({NoRegistrationException.class, NoGradeAvailableException.class})
+  @ExceptionHandler({NoRegistrationException.class, NoGradeAvailableException.class,
+      InvalidRequestException.class})
   public ResponseEntity<Map<String, String>> handleBadRequest(Exception ex) {
     return buildResponse(HttpStatus.BAD_REQUEST, ex);
   }
 
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<Map<String, String>> handleServiceUnavailable(
+      ServiceUnavailableException ex) {
+    Map<String, String> body = new HashMap<>();
+    body.put("error", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(body);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, String>> handleGeneric(Exception ex) {
     return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex);
@@ -65,9 +65,20 @@ public class AuthController {
   public AuthResponse me(@RequestHeader(value = "Authorization", required = false)
       String authHeader) {
     String token = authHeader != null ? authHeader.replace("Bearer ", "").trim() : "";
-    return userService.findByToken(token)
-        .map(account -> new AuthResponse(account.getUsername(), account.getAuthToken()))
+    return userService.findUsernameByToken(token)
+        .map(username -> new AuthResponse(username, token))
         .orElseThrow(() -> new uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException(
             "User not found"));
   }
+
+  /**
+   * Report token cache and password hashing counters.
+   *
+   * @return current authentication metrics
+   */
+  @Operation(summary = "Authentication cache and hashing metrics")
+  @GetMapping("/metrics")
+  public UserService.Metrics metrics() {
+    return userService.metrics();
+  }
 }
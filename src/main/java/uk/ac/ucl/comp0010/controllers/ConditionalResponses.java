@@ -0,0 +1,36 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import java.util.function.Supplier;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builds responses tagged with the current data version.
+ */
+final class ConditionalResponses {
+
+  private ConditionalResponses() {
+  }
+
+  /**
+   * Answers a conditional GET, computing the body only when the client's copy is out of date.
+   *
+   * <p>The version becomes a strong entity tag. A matching {@code If-None-Match} header yields
+   * 304 Not Modified without invoking {@code body}. Responses are marked {@code no-cache} so
+   * clients keep them but revalidate before every reuse.
+   *
+   * @param request current request
+   * @param version version of the data the body is derived from
+   * @param body computes the response body
+   * @param <T> body type
+   * @return full response, or null once a 304 has been written
+   */
+  static <T> ResponseEntity<T> versioned(WebRequest request, String version, Supplier<T> body) {
+    if (request.checkNotModified(version)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(version).cacheControl(CacheControl.noCache())
+        .body(body.get());
+  }
+}
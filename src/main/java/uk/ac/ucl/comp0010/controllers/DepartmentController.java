@@ -0,0 +1,26 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.ac.ucl.comp0010.controllers.responses.DepartmentStatisticsResponse;
+import uk.ac.ucl.comp0010.services.DepartmentStatisticsService;
+
+/**
+ * REST controller for department level reporting.
+ */
+@RestController
+@RequestMapping("/api/departments")
+public class DepartmentController {
+  private final DepartmentStatisticsService departmentStatisticsService;
+
+  public DepartmentController(DepartmentStatisticsService departmentStatisticsService) {
+    this.departmentStatisticsService = departmentStatisticsService;
+  }
+
+  @GetMapping("/statistics")
+  public List<DepartmentStatisticsResponse> getDepartmentStatistics() {
+    return departmentStatisticsService.getAllStatistics();
+  }
+}
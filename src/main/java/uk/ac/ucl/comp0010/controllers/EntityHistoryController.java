@@ -0,0 +1,59 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
+import uk.ac.ucl.comp0010.services.OperationLogService;
+
+/**
+ * Exposes the operation history of individual students, modules, registrations and grades.
+ *
+ * <p>Histories are keyset pages, newest first: pass the {@code nextCursor} of one page as
+ * {@code after} to read the next.
+ */
+@RestController
+public class EntityHistoryController {
+  private final OperationLogService operationLogService;
+
+  public EntityHistoryController(OperationLogService operationLogService) {
+    this.operationLogService = operationLogService;
+  }
+
+  @GetMapping("/api/students/{id}/history")
+  public PageResponse<OperationLogSummary> getStudentHistory(@PathVariable Long id,
+      @RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return history(OperationEntityType.STUDENT, id, after, size);
+  }
+
+  @GetMapping("/api/modules/{id}/history")
+  public PageResponse<OperationLogSummary> getModuleHistory(@PathVariable Long id,
+      @RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return history(OperationEntityType.MODULE, id, after, size);
+  }
+
+  @GetMapping("/api/registrations/{id}/history")
+  public PageResponse<OperationLogSummary> getRegistrationHistory(@PathVariable Long id,
+      @RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return history(OperationEntityType.REGISTRATION, id, after, size);
+  }
+
+  @GetMapping("/api/grades/{id}/history")
+  public PageResponse<OperationLogSummary> getGradeHistory(@PathVariable Long id,
+      @RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return history(OperationEntityType.GRADE, id, after, size);
+  }
+
+  private PageResponse<OperationLogSummary> history(OperationEntityType entityType, Long id,
+      Long after, int size) {
+    return PageResponse.from(operationLogService.getEntityHistory(entityType, id, after, size),
+        OperationLogSummary::id);
+  }
+}
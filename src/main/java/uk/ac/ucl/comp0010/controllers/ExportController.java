@@ -0,0 +1,75 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.ac.ucl.comp0010.services.DataFormat;
+import uk.ac.ucl.comp0010.services.ExportService;
+
+/**
+ * Streams full-table exports as NDJSON or CSV downloads.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+  private final ExportService exportService;
+
+  public ExportController(ExportService exportService) {
+    this.exportService = exportService;
+  }
+
+  /**
+   * Export every grade.
+   *
+   * @param format {@code ndjson} or {@code csv}
+   * @return streamed download
+   */
+  @GetMapping("/grades.{format}")
+  public ResponseEntity<StreamingResponseBody> exportGrades(@PathVariable String format) {
+    DataFormat exportFormat = DataFormat.fromExtension(format);
+    return download("grades", exportFormat,
+        out -> exportService.exportGrades(exportFormat, out));
+  }
+
+  /**
+   * Export every registration.
+   *
+   * @param format {@code ndjson} or {@code csv}
+   * @return streamed download
+   */
+  @GetMapping("/registrations.{format}")
+  public ResponseEntity<StreamingResponseBody> exportRegistrations(@PathVariable String format) {
+    DataFormat exportFormat = DataFormat.fromExtension(format);
+    return download("registrations", exportFormat,
+        out -> exportService.exportRegistrations(exportFormat, out));
+  }
+
+  /**
+   * Export every student profile.
+   *
+   * @param format {@code ndjson} or {@code csv}
+   * @return streamed download
+   */
+  @GetMapping("/students.{format}")
+  public ResponseEntity<StreamingResponseBody> exportStudents(@PathVariable String format) {
+    DataFormat exportFormat = DataFormat.fromExtension(format);
+    return download("students", exportFormat,
+        out -> exportService.exportStudents(exportFormat, out));
+  }
+
+  private ResponseEntity<StreamingResponseBody> download(String name, DataFormat format,
+      StreamingResponseBody body) {
+    ContentDisposition disposition = ContentDisposition.attachment()
+        .filename(name + "." + format.getExtension()).build();
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+        .body(body);
+  }
+}
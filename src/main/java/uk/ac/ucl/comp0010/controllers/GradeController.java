@@ -1,6 +1,8 @@
 package uk.ac.ucl.comp0010.controllers;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,10 +11,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import uk.ac.ucl.comp0010.controllers.requests.GradeCreateRequest;
 import uk.ac.ucl.comp0010.controllers.requests.GradeUpdateRequest;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.services.GradeService;
@@ -34,6 +38,31 @@ public class GradeController {
     return gradeService.getAllGrades();
   }
 
+  /**
+   * Retrieve one page of grades by offset. Selected by {@code size}.
+   *
+   * @param pageable page, size and sort parameters
+   * @return page of grades with totals
+   */
+  @GetMapping(params = {"size", "!after"})
+  public PageResponse<Grade> getGradesPage(
+      @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+    return PageResponse.from(gradeService.getGradesPage(pageable));
+  }
+
+  /**
+   * Retrieve grades after a keyset cursor, in id order. Selected by {@code after}.
+   *
+   * @param after nextCursor of the previous page, left empty for the first page
+   * @param size page size
+   * @return page of grades with the cursor of the next page
+   */
+  @GetMapping(params = "after")
+  public PageResponse<Grade> getGradesAfter(@RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return PageResponse.from(gradeService.getGradesAfter(after, size), Grade::getId);
+  }
+
   @GetMapping("/{id}")
   public Grade getGrade(@PathVariable Long id) {
     return gradeService.getGrade(id);
@@ -0,0 +1,42 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.ac.ucl.comp0010.controllers.responses.ImportResultResponse;
+import uk.ac.ucl.comp0010.services.DataFormat;
+import uk.ac.ucl.comp0010.services.ImportDataset;
+import uk.ac.ucl.comp0010.services.ImportService;
+
+/**
+ * Bulk loads NDJSON or CSV files streamed in the request body.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+  private final ImportService importService;
+
+  public ImportController(ImportService importService) {
+    this.importService = importService;
+  }
+
+  /**
+   * Import a file of students, modules, registrations or grades. Registrations and grades name
+   * their student by {@code userName} and their module by {@code moduleCode}.
+   *
+   * @param dataset {@code students}, {@code modules}, {@code registrations} or {@code grades}
+   * @param format {@code ndjson} or {@code csv}
+   * @param body raw file contents
+   * @return import summary with per-row errors
+   * @throws IOException if the request body cannot be read
+   */
+  @PostMapping("/{dataset}.{format}")
+  public ImportResultResponse importFile(@PathVariable String dataset,
+      @PathVariable String format, InputStream body) throws IOException {
+    return importService.importFile(ImportDataset.fromName(dataset),
+        DataFormat.fromExtension(format), body);
+  }
+}
@@ -1,7 +1,10 @@
 package uk.ac.ucl.comp0010.controllers;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,9 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import uk.ac.ucl.comp0010.controllers.responses.ModuleDistributionResponse;
 import uk.ac.ucl.comp0010.controllers.responses.ModuleStatisticsResponse;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Module;
 import uk.ac.ucl.comp0010.models.Registration;
@@ -19,6 +26,7 @@ import uk.ac.ucl.comp0010.services.GradeService;
 import uk.ac.ucl.comp0010.services.ModuleService;
 import uk.ac.ucl.comp0010.services.ModuleStatisticsService;
 import uk.ac.ucl.comp0010.services.RegistrationService;
+import uk.ac.ucl.comp0010.services.WriteEpoch;
 
 /**
  * REST controller for module operations.
@@ -30,6 +38,7 @@ public class ModuleController {
   private final RegistrationService registrationService;
   private final GradeService gradeService;
   private final ModuleStatisticsService moduleStatisticsService;
+  private final WriteEpoch writeEpoch;
 
   /**
    * CTR for Module Controller.
@@ -38,13 +47,16 @@ public class ModuleController {
    * @param registrationService deps inj
    * @param gradeService deps inj
    * @param moduleStatisticsService deps inj
+   * @param writeEpoch deps inj
    */
   public ModuleController(ModuleService moduleService, RegistrationService registrationService,
-      GradeService gradeService, ModuleStatisticsService moduleStatisticsService) {
+      GradeService gradeService, ModuleStatisticsService moduleStatisticsService,
+      WriteEpoch writeEpoch) {
     this.moduleService = moduleService;
     this.registrationService = registrationService;
     this.gradeService = gradeService;
     this.moduleStatisticsService = moduleStatisticsService;
+    this.writeEpoch = writeEpoch;
   }
 
   @GetMapping
@@ -52,14 +64,85 @@ public class ModuleController {
     return moduleService.getAllModules();
   }
 
+  /**
+   * Retrieve one page of modules by offset. Selected by {@code size}.
+   *
+   * @param pageable page, size and sort parameters
+   * @return page of modules with totals
+   */
+  @GetMapping(params = {"size", "!after"})
+  public PageResponse<Module> getModulesPage(
+      @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+    return PageResponse.from(moduleService.getModulesPage(pageable));
+  }
+
+  /**
+   * Retrieve modules after a keyset cursor, in id order. Selected by {@code after}.
+   *
+   * @param after nextCursor of the previous page, left empty for the first page
+   * @param size page size
+   * @return page of modules with the cursor of the next page
+   */
+  @GetMapping(params = "after")
+  public PageResponse<Module> getModulesAfter(@RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return PageResponse.from(moduleService.getModulesAfter(after, size), Module::getId);
+  }
+
+  /**
+   * Returns statistics for every module, answering 304 when the client's copy is current.
+   *
+   * @param request current request
+   * @return module statistics tagged with the data version
+   */
   @GetMapping("/statistics")
-  public List<ModuleStatisticsResponse> getModuleStatistics() {
-    return moduleStatisticsService.getAllStatistics();
+  public ResponseEntity<List<ModuleStatisticsResponse>> getModuleStatistics(
+      WebRequest request) {
+    return ConditionalResponses.versioned(request, writeEpoch.current(),
+        moduleStatisticsService::getAllStatistics);
   }
 
+  /**
+   * Returns statistics for one module, answering 304 when the client's copy is current.
+   *
+   * @param id module identity
+   * @param request current request
+   * @return module statistics tagged with the data version
+   */
   @GetMapping("/{id}/statistics")
-  public ModuleStatisticsResponse getModuleStatistics(@PathVariable Long id) {
-    return moduleStatisticsService.getStatistics(id);
+  public ResponseEntity<ModuleStatisticsResponse> getModuleStatistics(@PathVariable Long id,
+      WebRequest request) {
+    return ConditionalResponses.versioned(request, writeEpoch.current(),
+        () -> moduleStatisticsService.getStatistics(id));
+  }
+
+  /**
+   * Returns the score distribution of every module.
+   *
+   * @param bucketWidth number of scores per histogram bucket
+   * @param percentiles additional percentiles to report
+   * @return module distributions
+   */
+  @GetMapping("/distributions")
+  public List<ModuleDistributionResponse> getModuleDistributions(
+      @RequestParam(defaultValue = "10") int bucketWidth,
+      @RequestParam(defaultValue = "") List<Double> percentiles) {
+    return moduleStatisticsService.getAllDistributions(bucketWidth, percentiles);
+  }
+
+  /**
+   * Returns the score distribution of a single module.
+   *
+   * @param id module identity
+   * @param bucketWidth number of scores per histogram bucket
+   * @param percentiles additional percentiles to report
+   * @return module distribution
+   */
+  @GetMapping("/{id}/distribution")
+  public ModuleDistributionResponse getModuleDistribution(@PathVariable Long id,
+      @RequestParam(defaultValue = "10") int bucketWidth,
+      @RequestParam(defaultValue = "") List<Double> percentiles) {
+    return moduleStatisticsService.getDistribution(id, bucketWidth, percentiles);
   }
 
   @GetMapping("/{id}")
@@ -1,14 +1,22 @@
 package uk.ac.ucl.comp0010.controllers;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import uk.ac.ucl.comp0010.controllers.requests.RevertRequest;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
 import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
 import uk.ac.ucl.comp0010.services.OperationLogService;
 
 /**
@@ -29,6 +37,59 @@ public class OperationLogController {
     return operationLogService.getRecentOperations();
   }
 
+  /**
+   * Retrieve one page of operations by offset. Selected by {@code size}.
+   *
+   * @param pageable page, size and sort parameters
+   * @return page of operations with totals
+   */
+  @GetMapping(params = {"size", "!after"})
+  public PageResponse<OperationLog> getOperationsPage(
+      @PageableDefault(size = 50, sort = "timestamp", direction = Sort.Direction.DESC)
+      Pageable pageable) {
+    return PageResponse.from(operationLogService.getOperationsPage(pageable));
+  }
+
+  /**
+   * Retrieve operations newest first after a keyset cursor, optionally filtered. Selected by
+   * {@code after}. Entries are listed without their state snapshots.
+   *
+   * @param after nextCursor of the previous page, left empty for the first page
+   * @param size page size
+   * @param entityType only entries for this entity type
+   * @param entityId only entries for this entity, together with entityType
+   * @param operationType only entries of this operation type
+   * @param username only entries recorded for this user
+   * @param from only entries at or after this ISO-8601 instant
+   * @param to only entries before this ISO-8601 instant
+   * @return page of operation summaries with the cursor of the next page
+   */
+  @GetMapping(params = "after")
+  public PageResponse<OperationLogSummary> getOperationsAfter(
+      @RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(required = false) String entityType,
+      @RequestParam(required = false) Long entityId,
+      @RequestParam(required = false) String operationType,
+      @RequestParam(required = false) String username,
+      @RequestParam(required = false) String from,
+      @RequestParam(required = false) String to) {
+    return PageResponse.from(operationLogService.getOperationsAfter(after, size, entityType,
+        entityId, operationType, username, from, to), OperationLogSummary::id);
+  }
+
+  /**
+   * Revert several operations in one transaction, newest first.
+   *
+   * @param request operation ids, or an instant after which every operation is reverted
+   * @return the log entries documenting the reverts, in the order applied
+   */
+  @PostMapping("/revert")
+  @ResponseStatus(HttpStatus.OK)
+  public List<OperationLog> revertAll(@RequestBody RevertRequest request) {
+    return operationLogService.revertOperations(request.getIds(), request.getAfter());
+  }
+
   @PostMapping("/{id}/revert")
   @ResponseStatus(HttpStatus.OK)
   public OperationLog revert(@PathVariable Long id) {
@@ -1,6 +1,8 @@
 package uk.ac.ucl.comp0010.controllers;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import uk.ac.ucl.comp0010.controllers.requests.RegistrationCreateRequest;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
 import uk.ac.ucl.comp0010.models.Registration;
 import uk.ac.ucl.comp0010.services.RegistrationService;
@@ -33,6 +36,32 @@ public class RegistrationController {
     return registrationService.getAllRegistrations();
   }
 
+  /**
+   * Retrieve one page of registrations by offset. Selected by {@code size}.
+   *
+   * @param pageable page, size and sort parameters
+   * @return page of registrations with totals
+   */
+  @GetMapping(params = {"size", "!after"})
+  public PageResponse<Registration> getRegistrationsPage(
+      @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+    return PageResponse.from(registrationService.getRegistrationsPage(pageable));
+  }
+
+  /**
+   * Retrieve registrations after a keyset cursor, in id order. Selected by {@code after}.
+   *
+   * @param after nextCursor of the previous page, left empty for the first page
+   * @param size page size
+   * @return page of registrations with the cursor of the next page
+   */
+  @GetMapping(params = "after")
+  public PageResponse<Registration> getRegistrationsAfter(
+      @RequestParam(required = false) Long after, @RequestParam(defaultValue = "50") int size) {
+    return PageResponse.from(registrationService.getRegistrationsAfter(after, size),
+        Registration::getId);
+  }
+
   @GetMapping("/{id}")
   public Registration getRegistration(@PathVariable Long id) {
     return registrationService.getRegistration(id);
@@ -3,7 +3,10 @@ package uk.ac.ucl.comp0010.controllers;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,16 +14,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import uk.ac.ucl.comp0010.controllers.requests.StudentGradeRequest;
+import uk.ac.ucl.comp0010.controllers.responses.LeaderboardEntryResponse;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
 import uk.ac.ucl.comp0010.controllers.responses.StudentStatisticsResponse;
 import uk.ac.ucl.comp0010.exceptions.NoGradeAvailableException;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Registration;
 import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.services.LeaderboardService;
 import uk.ac.ucl.comp0010.services.StudentService;
+import uk.ac.ucl.comp0010.services.WriteEpoch;
 
 /**
  * REST controller for student operations.
@@ -29,9 +38,21 @@ import uk.ac.ucl.comp0010.services.StudentService;
 @RequestMapping("/api/students")
 public class StudentController {
   private final StudentService studentService;
+  private final LeaderboardService leaderboardService;
+  private final WriteEpoch writeEpoch;
 
-  public StudentController(StudentService studentService) {
+  /**
+   * CTR for Student Controller.
+   *
+   * @param studentService deps inj
+   * @param leaderboardService deps inj
+   * @param writeEpoch deps inj
+   */
+  public StudentController(StudentService studentService, LeaderboardService leaderboardService,
+      WriteEpoch writeEpoch) {
     this.studentService = studentService;
+    this.leaderboardService = leaderboardService;
+    this.writeEpoch = writeEpoch;
   }
 
   @GetMapping
@@ -39,6 +60,61 @@ public class StudentController {
     return studentService.getAllStudents();
   }
 
+  /**
+   * Retrieve one page of students by offset. Selected by {@code size}.
+   *
+   * @param pageable page, size and sort parameters
+   * @return page of students with totals
+   */
+  @GetMapping(params = {"size", "!after"})
+  public PageResponse<Student> getStudentsPage(
+      @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+    return PageResponse.from(studentService.getStudentsPage(pageable));
+  }
+
+  /**
+   * Retrieve students after a keyset cursor, in id order. Selected by {@code after}.
+   *
+   * @param after nextCursor of the previous page, left empty for the first page
+   * @param size page size
+   * @return page of students with the cursor of the next page
+   */
+  @GetMapping(params = "after")
+  public PageResponse<Student> getStudentsAfter(@RequestParam(required = false) Long after,
+      @RequestParam(defaultValue = "50") int size) {
+    return PageResponse.from(studentService.getStudentsAfter(after, size), Student::getId);
+  }
+
+  /**
+   * Retrieve statistics for every student, one page at a time.
+   *
+   * @param pageable page, size and sort parameters
+   * @return page of student statistics including average and GPA
+   */
+  @GetMapping("/statistics")
+  public PageResponse<StudentStatisticsResponse> getAllStatistics(
+      @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+    return PageResponse.from(studentService.getAllStudentStatistics(pageable));
+  }
+
+  /**
+   * Rank the top or bottom students by GPA or average score.
+   *
+   * @param metric gpa or average
+   * @param k number of students to return
+   * @param order top or bottom
+   * @param module restricts the ranking to grades of one module
+   * @return ranked leaderboard entries
+   */
+  @GetMapping("/leaderboard")
+  public List<LeaderboardEntryResponse> getLeaderboard(
+      @RequestParam(defaultValue = "gpa") String metric,
+      @RequestParam(defaultValue = "10") int k,
+      @RequestParam(defaultValue = "top") String order,
+      @RequestParam(required = false) Long module) {
+    return leaderboardService.getLeaderboard(metric, k, order, module);
+  }
+
   @GetMapping("/{id}")
   public Student getStudent(@PathVariable Long id) {
     return studentService.getStudent(id);
@@ -112,14 +188,18 @@ public class StudentController {
   }
 
   /**
-   * Retrieve detailed statistics for a student.
+   * Retrieve detailed statistics for a student, answering 304 when the client's copy is
+   * current.
    *
    * @param id student identity
+   * @param request current request
    * @return StudentStatisticsResponse containing profile and computed values
    */
   @GetMapping("/{id}/stats")
-  public StudentStatisticsResponse getStatistics(@PathVariable Long id) {
-    return studentService.getStudentStatistics(id);
+  public ResponseEntity<StudentStatisticsResponse> getStatistics(@PathVariable Long id,
+      WebRequest request) {
+    return ConditionalResponses.versioned(request, writeEpoch.current(),
+        () -> studentService.getStudentStatistics(id));
   }
 
   /**
@@ -0,0 +1,38 @@
+package uk.ac.ucl.comp0010.controllers.requests;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Request payload for reverting several operations at once. Exactly one of the fields is set.
+ */
+@Schema(name = "RevertRequest")
+public class RevertRequest {
+
+  @JsonProperty("ids")
+  @Schema(description = "Operation log ids to revert", example = "[41, 42]")
+  private List<Long> ids;
+
+  @JsonProperty("after")
+  @Schema(description = "Revert every operation recorded after this instant",
+      example = "2025-01-31T09:00:00Z", type = "string", format = "date-time")
+  private Instant after;
+
+  public List<Long> getIds() {
+    return ids;
+  }
+
+  public void setIds(List<Long> ids) {
+    this.ids = ids;
+  }
+
+  public Instant getAfter() {
+    return after;
+  }
+
+  public void setAfter(Instant after) {
+    this.after = after;
+  }
+}
@@ -0,0 +1,78 @@
+package uk.ac.ucl.comp0010.controllers.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import uk.ac.ucl.comp0010.repositories.projections.DepartmentSummary;
+
+/**
+ * Response wrapper summarising the modules of one department.
+ */
+public class DepartmentStatisticsResponse {
+  @Schema(description = "Department name")
+  private final String department;
+
+  @Schema(description = "Number of modules run by the department")
+  private final Long moduleCount;
+
+  @Schema(description = "Registrations across the department's modules")
+  private final Long registrationCount;
+
+  @Schema(description = "Grades recorded across the department's modules")
+  private final Long totalGrades;
+
+  @Schema(description = "Number of passing grades (>=60)")
+  private final Long passingGrades;
+
+  @Schema(description = "Proportion of grades that are a pass")
+  private final Double passRate;
+
+  @Schema(description = "Mean score across the department's grades")
+  private final Double averageGrade;
+
+  private DepartmentStatisticsResponse(String department, long moduleCount,
+      long registrationCount, long totalGrades, long passingGrades, long scoreSum) {
+    this.department = department;
+    this.moduleCount = moduleCount;
+    this.registrationCount = registrationCount;
+    this.totalGrades = totalGrades;
+    this.passingGrades = passingGrades;
+    this.passRate = totalGrades == 0 ? null : (double) passingGrades / (double) totalGrades;
+    this.averageGrade = totalGrades == 0 ? null : (double) scoreSum / (double) totalGrades;
+  }
+
+  public String getDepartment() {
+    return department;
+  }
+
+  public Long getModuleCount() {
+    return moduleCount;
+  }
+
+  public Long getRegistrationCount() {
+    return registrationCount;
+  }
+
+  public Long getTotalGrades() {
+    return totalGrades;
+  }
+
+  public Long getPassingGrades() {
+    return passingGrades;
+  }
+
+  public Double getPassRate() {
+    return passRate;
+  }
+
+  public Double getAverageGrade() {
+    return averageGrade;
+  }
+
+  /**
+   * Factory for department statistics responses.
+   */
+  public static DepartmentStatisticsResponse from(DepartmentSummary summary) {
+    return new DepartmentStatisticsResponse(summary.getDepartment(), summary.getModuleCount(),
+        summary.getRegistrationCount(), summary.getGradeCount(), summary.getPassingGrades(),
+        summary.getScoreSum());
+  }
+}
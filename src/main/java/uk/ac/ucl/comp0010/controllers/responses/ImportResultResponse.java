@@ -0,0 +1,78 @@
+package uk.ac.ucl.comp0010.controllers.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Response wrapper summarising a bulk import.
+ */
+public class ImportResultResponse {
+  @Schema(description = "Dataset the file was imported into")
+  private final String dataset;
+
+  @Schema(description = "Number of data rows read from the file")
+  private final long rowsRead;
+
+  @Schema(description = "Number of rows inserted")
+  private final long imported;
+
+  @Schema(description = "Number of rows rejected")
+  private final long failed;
+
+  @Schema(description = "Operation log entries recording the inserted rows, one per chunk")
+  private final List<Long> operationIds;
+
+  @Schema(description = "Reasons rows were rejected, truncated to the first few hundred")
+  private final List<RowError> errors;
+
+  private ImportResultResponse(String dataset, long rowsRead, long imported, long failed,
+      List<Long> operationIds, List<RowError> errors) {
+    this.dataset = dataset;
+    this.rowsRead = rowsRead;
+    this.imported = imported;
+    this.failed = failed;
+    this.operationIds = operationIds;
+    this.errors = errors;
+  }
+
+  public String getDataset() {
+    return dataset;
+  }
+
+  public long getRowsRead() {
+    return rowsRead;
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public List<Long> getOperationIds() {
+    return operationIds;
+  }
+
+  public List<RowError> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Factory for import result responses.
+   */
+  public static ImportResultResponse from(String dataset, long rowsRead, long imported,
+      long failed, List<Long> operationIds, List<RowError> errors) {
+    return new ImportResultResponse(dataset, rowsRead, imported, failed, operationIds, errors);
+  }
+
+  /**
+   * Why a row of the file was not imported.
+   *
+   * @param row one-based data row number
+   * @param message reason the row was rejected
+   */
+  public record RowError(long row, String message) {
+  }
+}
@@ -0,0 +1,76 @@
+package uk.ac.ucl.comp0010.controllers.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import uk.ac.ucl.comp0010.models.Student;
+
+/**
+ * Response wrapper for one ranked row of a student leaderboard.
+ */
+public class LeaderboardEntryResponse {
+  @Schema(description = "Position on the leaderboard, starting at 1")
+  private final int rank;
+
+  @Schema(description = "Student identifier")
+  private final Long studentId;
+
+  @Schema(description = "Student first name")
+  private final String firstName;
+
+  @Schema(description = "Student last name")
+  private final String lastName;
+
+  @Schema(description = "Username used to log in")
+  private final String userName;
+
+  @Schema(description = "Average score across the ranked grades")
+  private final Double averageScore;
+
+  @Schema(description = "GPA on a 4.0 scale across the ranked grades")
+  private final Double gpa;
+
+  private LeaderboardEntryResponse(int rank, Student student, Double averageScore, Double gpa) {
+    this.rank = rank;
+    this.studentId = student.getId();
+    this.firstName = student.getFirstName();
+    this.lastName = student.getLastName();
+    this.userName = student.getUserName();
+    this.averageScore = averageScore;
+    this.gpa = gpa;
+  }
+
+  public int getRank() {
+    return rank;
+  }
+
+  public Long getStudentId() {
+    return studentId;
+  }
+
+  public String getFirstName() {
+    return firstName;
+  }
+
+  public String getLastName() {
+    return lastName;
+  }
+
+  public String getUserName() {
+    return userName;
+  }
+
+  public Double getAverageScore() {
+    return averageScore;
+  }
+
+  public Double getGpa() {
+    return gpa;
+  }
+
+  /**
+   * Factory for leaderboard entries.
+   */
+  public static LeaderboardEntryResponse from(int rank, Student student, Double averageScore,
+      Double gpa) {
+    return new LeaderboardEntryResponse(rank, student, averageScore, gpa);
+  }
+}
@@ -0,0 +1,119 @@
+package uk.ac.ucl.comp0010.controllers.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.services.ScoreHistogram;
+import uk.ac.ucl.comp0010.services.ScoreHistogram.ScoreBucket;
+
+/**
+ * Response wrapper describing the score distribution of a module.
+ */
+public class ModuleDistributionResponse {
+  @Schema(description = "Module identifier")
+  private final Long id;
+
+  @Schema(description = "Module code")
+  private final String code;
+
+  @Schema(description = "Module name")
+  private final String name;
+
+  @Schema(description = "Number of grades recorded for the module")
+  private final Long totalGrades;
+
+  @Schema(description = "Lowest recorded score")
+  private final Integer minScore;
+
+  @Schema(description = "Highest recorded score")
+  private final Integer maxScore;
+
+  @Schema(description = "Median score")
+  private final Double median;
+
+  @Schema(description = "25th percentile score")
+  private final Double lowerQuartile;
+
+  @Schema(description = "75th percentile score")
+  private final Double upperQuartile;
+
+  @Schema(description = "Requested percentiles keyed by percentile")
+  private final Map<String, Double> percentiles;
+
+  @Schema(description = "Grade counts per score range")
+  private final List<ScoreBucket> buckets;
+
+  private ModuleDistributionResponse(Module module, ScoreHistogram histogram, int bucketWidth,
+      List<Double> percentiles) {
+    this.id = module.getId();
+    this.code = module.getCode();
+    this.name = module.getName();
+    this.totalGrades = histogram.getTotal();
+    this.minScore = histogram.min();
+    this.maxScore = histogram.max();
+    this.median = histogram.percentile(50);
+    this.lowerQuartile = histogram.percentile(25);
+    this.upperQuartile = histogram.percentile(75);
+    this.percentiles = new LinkedHashMap<>();
+    for (Double percentile : percentiles) {
+      this.percentiles.put(BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+          histogram.percentile(percentile));
+    }
+    this.buckets = histogram.buckets(bucketWidth);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Long getTotalGrades() {
+    return totalGrades;
+  }
+
+  public Integer getMinScore() {
+    return minScore;
+  }
+
+  public Integer getMaxScore() {
+    return maxScore;
+  }
+
+  public Double getMedian() {
+    return median;
+  }
+
+  public Double getLowerQuartile() {
+    return lowerQuartile;
+  }
+
+  public Double getUpperQuartile() {
+    return upperQuartile;
+  }
+
+  public Map<String, Double> getPercentiles() {
+    return percentiles;
+  }
+
+  public List<ScoreBucket> getBuckets() {
+    return buckets;
+  }
+
+  /**
+   * Factory for module distribution responses.
+   */
+  public static ModuleDistributionResponse from(Module module, ScoreHistogram histogram,
+      int bucketWidth, List<Double> percentiles) {
+    return new ModuleDistributionResponse(module, histogram, bucketWidth, percentiles);
+  }
+}
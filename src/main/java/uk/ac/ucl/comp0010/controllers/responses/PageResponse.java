@@ -0,0 +1,91 @@
+package uk.ac.ucl.comp0010.controllers.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Response wrapper for one page of results.
+ *
+ * <p>Offset pages report their page number and totals. Keyset pages skip the count query, so
+ * they leave those fields null and report the cursor to pass as {@code after} instead.
+ *
+ * @param <T> type of the page content
+ */
+public class PageResponse<T> {
+  @Schema(description = "Items on this page")
+  private final List<T> content;
+
+  @Schema(description = "Zero-based page number, null for keyset pages")
+  private final Integer page;
+
+  @Schema(description = "Requested page size")
+  private final int size;
+
+  @Schema(description = "Total number of items across all pages, null for keyset pages")
+  private final Long totalElements;
+
+  @Schema(description = "Total number of pages, null for keyset pages")
+  private final Integer totalPages;
+
+  @Schema(description = "Value to pass as 'after' for the next keyset page, null on the last page")
+  private final Long nextCursor;
+
+  private PageResponse(List<T> content, Integer page, int size, Long totalElements,
+      Integer totalPages, Long nextCursor) {
+    this.content = content;
+    this.page = page;
+    this.size = size;
+    this.totalElements = totalElements;
+    this.totalPages = totalPages;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<T> getContent() {
+    return content;
+  }
+
+  public Integer getPage() {
+    return page;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public Long getTotalElements() {
+    return totalElements;
+  }
+
+  public Integer getTotalPages() {
+    return totalPages;
+  }
+
+  public Long getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Factory for offset page responses.
+   */
+  public static <T> PageResponse<T> from(Page<T> page) {
+    return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+        page.getTotalElements(), page.getTotalPages(), null);
+  }
+
+  /**
+   * Factory for keyset page responses.
+   *
+   * @param slice rows of this page
+   * @param cursor extracts the seek key from a row
+   * @param <T> type of the page content
+   * @return response whose next cursor is the key of the last row when more rows follow
+   */
+  public static <T> PageResponse<T> from(Slice<T> slice, Function<T, Long> cursor) {
+    List<T> content = slice.getContent();
+    Long next = slice.hasNext() ? cursor.apply(content.get(content.size() - 1)) : null;
+    return new PageResponse<>(content, null, slice.getSize(), null, null, next);
+  }
+}
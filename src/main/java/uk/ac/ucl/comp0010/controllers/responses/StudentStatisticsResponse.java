@@ -54,10 +54,13 @@ public class StudentStatisticsResponse {
   @Schema(description = "Average score across recorded grades")
   private final Double averageScore;
 
+  @Schema(description = "GPA on a 4.0 scale across recorded grades")
+  private final Double gpa;
+
   /**
-   * Builds a response based on a student entity and pre-computed average.
+   * Builds a response based on a student entity and pre-computed average and GPA.
    */
-  private StudentStatisticsResponse(Student student, Double averageScore) {
+  private StudentStatisticsResponse(Student student, Double averageScore, Double gpa) {
     this.id = student.getId();
     this.firstName = student.getFirstName();
     this.lastName = student.getLastName();
@@ -73,6 +76,7 @@ public class StudentStatisticsResponse {
     this.homeStudent = student.getHomeStudent();
     this.sex = student.getSex();
     this.averageScore = averageScore;
+    this.gpa = gpa;
   }
 
   private BigDecimal calculateOutstanding(Student student) {
@@ -145,10 +149,22 @@ public class StudentStatisticsResponse {
     return averageScore;
   }
 
+  public Double getGpa() {
+    return gpa;
+  }
+
   /**
    * Factory method to create a response.
    */
   public static StudentStatisticsResponse fromStudent(Student student, Double averageScore) {
-    return new StudentStatisticsResponse(student, averageScore);
+    return new StudentStatisticsResponse(student, averageScore, null);
+  }
+
+  /**
+   * Factory method to create a response including GPA.
+   */
+  public static StudentStatisticsResponse fromStudent(Student student, Double averageScore,
+      Double gpa) {
+    return new StudentStatisticsResponse(student, averageScore, gpa);
   }
 }
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 /**
@@ -20,7 +21,9 @@ import jakarta.persistence.Table;
 public class Grade {
   // --- Attributes ---
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_id_seq")
+  @SequenceGenerator(name = "grades_id_seq", sequenceName = "grades_id_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
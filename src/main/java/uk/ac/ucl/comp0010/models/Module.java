@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Set;
@@ -24,7 +25,9 @@ import java.util.Set;
 @Table(name = "modules")
 public class Module {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modules_id_seq")
+  @SequenceGenerator(name = "modules_id_seq", sequenceName = "modules_id_seq",
+      allocationSize = 50)
   @Schema(accessMode = Schema.AccessMode.WRITE_ONLY, description = "Auto-generated Module ID",
       example = "-1", type = "integer", format = "int64")
   private Long id;
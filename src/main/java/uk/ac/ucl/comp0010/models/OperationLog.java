@@ -1,25 +1,38 @@
 package uk.ac.ucl.comp0010.models;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 
 /**
  * Record of an administrative operation with enough data to revert it.
+ *
+ * <p>Every index ends in (timestamp, id), the order history pages are read in, so a filtered
+ * page is a range scan of one index however long the log grows.
  */
 @Entity
-@Table(name = "operation_logs")
+@Table(name = "operation_logs", indexes = {
+    @Index(name = "idx_operation_logs_timestamp", columnList = "timestamp, id"),
+    @Index(name = "idx_operation_logs_entity",
+        columnList = "entity_type, entity_id, timestamp, id"),
+    @Index(name = "idx_operation_logs_operation_type",
+        columnList = "operation_type, timestamp, id"),
+    @Index(name = "idx_operation_logs_username", columnList = "username, timestamp, id")})
 public class OperationLog {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_logs_id_seq")
+  @SequenceGenerator(name = "operation_logs_id_seq", sequenceName = "operation_logs_id_seq",
+      allocationSize = 50)
   private Long id;
 
   @Enumerated(EnumType.STRING)
@@ -41,12 +54,12 @@ public class OperationLog {
   @Column(columnDefinition = "TEXT")
   private String description;
 
-  @Lob
-  @Column(name = "previous_state")
+  @Convert(converter = SnapshotConverter.class)
+  @Column(name = "previous_state", columnDefinition = "BYTEA")
   private String previousState;
 
-  @Lob
-  @Column(name = "new_state")
+  @Convert(converter = SnapshotConverter.class)
+  @Column(name = "new_state", columnDefinition = "BYTEA")
   private String newState;
 
   public OperationLog() {
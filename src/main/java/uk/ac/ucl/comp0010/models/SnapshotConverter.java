@@ -0,0 +1,84 @@
+package uk.ac.ucl.comp0010.models;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores operation log snapshots as binary, Deflate-compressing the large ones.
+ *
+ * <p>Snapshots shorter than {@value #THRESHOLD} bytes, and those that would not shrink, are
+ * stored as plain UTF-8. Compressed values start with a zero byte followed by a format byte;
+ * JSON text never starts with a zero byte, so values without the header, including rows written
+ * before compression, are read back as plain text.
+ */
+@Converter
+public class SnapshotConverter implements AttributeConverter<String, byte[]> {
+  static final int THRESHOLD = 512;
+  static final byte HEADER = 0;
+  static final byte DEFLATE = 1;
+
+  @Override
+  public byte[] convertToDatabaseColumn(String attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    byte[] text = attribute.getBytes(StandardCharsets.UTF_8);
+    if (text.length < THRESHOLD) {
+      return text;
+    }
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(text);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(text.length / 4);
+      out.write(HEADER);
+      out.write(DEFLATE);
+      byte[] chunk = new byte[4096];
+      while (!deflater.finished()) {
+        out.write(chunk, 0, deflater.deflate(chunk));
+        if (out.size() >= text.length) {
+          return text;
+        }
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  @Override
+  public String convertToEntityAttribute(byte[] dbData) {
+    if (dbData == null) {
+      return null;
+    }
+    if (dbData.length < 2 || dbData[0] != HEADER) {
+      return new String(dbData, StandardCharsets.UTF_8);
+    }
+    if (dbData[1] != DEFLATE) {
+      throw new IllegalStateException("Unknown snapshot format " + dbData[1]);
+    }
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(dbData, 2, dbData.length - 2);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(dbData.length * 4);
+      byte[] chunk = new byte[4096];
+      while (!inflater.finished()) {
+        int inflated = inflater.inflate(chunk);
+        if (inflated == 0 && inflater.needsInput()) {
+          throw new IllegalStateException("Truncated compressed snapshot");
+        }
+        out.write(chunk, 0, inflated);
+      }
+      return out.toString(StandardCharsets.UTF_8);
+    } catch (DataFormatException ex) {
+      throw new IllegalStateException("Unable to decompress snapshot", ex);
+    } finally {
+      inflater.end();
+    }
+  }
+}
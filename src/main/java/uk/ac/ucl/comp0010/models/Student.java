@@ -10,6 +10,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,7 +25,9 @@ import java.util.Set;
 @Table(name = "students")
 public class Student {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_id_seq")
+  @SequenceGenerator(name = "students_id_seq", sequenceName = "students_id_seq",
+      allocationSize = 50)
   @Schema(accessMode = Schema.AccessMode.WRITE_ONLY, description = "Auto-generated Student ID",
       example = "-1", type = "integer", format = "int64")
   private Long id;
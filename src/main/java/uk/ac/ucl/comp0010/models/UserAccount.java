@@ -6,17 +6,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.time.Instant;
 
 /**
  * Minimal user model for authenticating write operations.
+ *
+ * <p>Tokens expire; the index on the expiry lets the background sweep find expired tokens
+ * without scanning every account.
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_token_expires_at", columnList = "tokenExpiresAt")})
 public class UserAccount {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+  @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq",
+      allocationSize = 50)
   @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "Auto-generated user ID")
   private Long id;
 
@@ -30,6 +39,10 @@ public class UserAccount {
   @Column(unique = true)
   private String authToken;
 
+  private Instant tokenIssuedAt;
+
+  private Instant tokenExpiresAt;
+
   /**
    * Default constructor for JPA.
    */
@@ -76,4 +89,20 @@ public class UserAccount {
   public void setAuthToken(String authToken) {
     this.authToken = authToken;
   }
+
+  public Instant getTokenIssuedAt() {
+    return tokenIssuedAt;
+  }
+
+  public void setTokenIssuedAt(Instant tokenIssuedAt) {
+    this.tokenIssuedAt = tokenIssuedAt;
+  }
+
+  public Instant getTokenExpiresAt() {
+    return tokenExpiresAt;
+  }
+
+  public void setTokenExpiresAt(Instant tokenExpiresAt) {
+    this.tokenExpiresAt = tokenExpiresAt;
+  }
 }
@@ -1,25 +1,81 @@
 package uk.ac.ucl.comp0010.repositories;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Module;
 import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.projections.GradeExportRow;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleScoreCount;
+import uk.ac.ucl.comp0010.repositories.projections.StudentModuleKey;
+import uk.ac.ucl.comp0010.repositories.projections.StudentScoreAggregate;
+import uk.ac.ucl.comp0010.services.GpaScale;
 
 /**
  * Repository for Grade.
  *
+ * <p>List methods fetch the student, module and module prerequisite in the same query, because
+ * every one of them is serialised with the grade.
+ *
  * @author YUNQ
  */
 @Repository
-public interface GradeRepository extends CrudRepository<Grade, Long> {
+public interface GradeRepository extends CrudRepository<Grade, Long>,
+    PagingAndSortingRepository<Grade, Long> {
+  @Override
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
+  List<Grade> findAll();
+
+  @Override
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
+  Page<Grade> findAll(Pageable pageable);
+
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
+  List<Grade> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
   List<Grade> findAllByStudent(Student student);
 
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
   List<Grade> findAllByModule(Module module);
 
   Optional<Grade> findByStudentAndModule(Student student, Module module);
 
   boolean existsByStudentAndModule(Student student, Module module);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.ModuleScoreCount("
+      + "g.module.id, g.score, count(g)) from Grade g group by g.module.id, g.score")
+  List<ModuleScoreCount> countScoresByModule();
+
+  @Query("select g.student.id as studentId, avg(g.score) as averageScore, avg("
+      + GpaScale.GRADE_POINTS_JPQL + ") as gpa from Grade g "
+      + "where :moduleId is null or g.module.id = :moduleId group by g.student.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<StudentScoreAggregate> streamStudentAggregates(@Param("moduleId") Long moduleId);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.StudentModuleKey(g.id, "
+      + "g.student.id, g.module.id, g.score) from Grade g "
+      + "where g.student.id in :studentIds and g.module.id in :moduleIds")
+  List<StudentModuleKey> findKeys(@Param("studentIds") Collection<Long> studentIds,
+      @Param("moduleIds") Collection<Long> moduleIds);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.GradeExportRow(g.id, s.id, "
+      + "s.userName, m.id, m.code, g.score) from Grade g join g.student s join g.module m "
+      + "order by g.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<GradeExportRow> streamExportRows();
 }
@@ -1,9 +1,21 @@
 package uk.ac.ucl.comp0010.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.repositories.projections.DepartmentSummary;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleDepartment;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleIdentity;
 
 /**
  * Repository for module.
@@ -11,8 +23,48 @@ import uk.ac.ucl.comp0010.models.Module;
  * @author Rain Zhao
  */
 @Repository
-public interface ModuleRepository extends CrudRepository<Module, Long> {
+public interface ModuleRepository extends CrudRepository<Module, Long>,
+    PagingAndSortingRepository<Module, Long> {
   Optional<Module> findByCode(String code);
 
   boolean existsByCode(String code);
+
+  @Override
+  @EntityGraph(attributePaths = "prerequisiteModule")
+  Page<Module> findAll(Pageable pageable);
+
+  @EntityGraph(attributePaths = "prerequisiteModule")
+  List<Module> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+  @Query("select m from Module m left join fetch m.prerequisiteModule")
+  List<Module> findAllWithPrerequisite();
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.ModuleIdentity(m.id, m.code, "
+      + "m.requiredYear, p.id, p.code) from Module m left join m.prerequisiteModule p "
+      + "where m.code in :codes")
+  List<ModuleIdentity> findIdentitiesByCode(@Param("codes") Collection<String> codes);
+
+  String DEPARTMENT_SUMMARY_SQL = "select m.department as department, count(*) as moduleCount, "
+      + "coalesce(sum(r.total), 0) as registrationCount, "
+      + "coalesce(sum(g.total), 0) as gradeCount, "
+      + "coalesce(sum(g.passing), 0) as passingGrades, "
+      + "coalesce(sum(g.score_sum), 0) as scoreSum "
+      + "from modules m "
+      + "left join (select module_id, count(*) as total from registrations "
+      + "group by module_id) r on r.module_id = m.id "
+      + "left join (select module_id, count(*) as total, "
+      + "sum(case when score >= 60 then 1 else 0 end) as passing, sum(score) as score_sum "
+      + "from grades group by module_id) g on g.module_id = m.id ";
+
+  @Query(value = DEPARTMENT_SUMMARY_SQL + "group by m.department", nativeQuery = true)
+  List<DepartmentSummary> summariseByDepartment();
+
+  @Query(value = DEPARTMENT_SUMMARY_SQL + "where m.department in (:departments) "
+      + "group by m.department", nativeQuery = true)
+  List<DepartmentSummary> summariseDepartments(
+      @Param("departments") Collection<String> departments);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.ModuleDepartment("
+      + "m.id, m.department) from Module m")
+  List<ModuleDepartment> findAllDepartments();
 }
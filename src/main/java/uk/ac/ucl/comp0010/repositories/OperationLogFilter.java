@@ -0,0 +1,19 @@
+package uk.ac.ucl.comp0010.repositories;
+
+import java.time.Instant;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationType;
+
+/**
+ * Optional conditions on an operation history query. Null fields are not filtered on.
+ *
+ * @param entityType type of the affected entity
+ * @param entityId identifier of the affected entity, only used together with an entity type
+ * @param operationType kind of operation
+ * @param username user who performed the operation
+ * @param from earliest timestamp, inclusive
+ * @param to latest timestamp, exclusive
+ */
+public record OperationLogFilter(OperationEntityType entityType, Long entityId,
+    OperationType operationType, String username, Instant from, Instant to) {
+}
@@ -0,0 +1,37 @@
+package uk.ac.ucl.comp0010.repositories;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
+
+/**
+ * Operation log queries whose conditions depend on the filters supplied.
+ */
+public interface OperationLogQueries {
+
+  /**
+   * Reads entries newest first, in descending (timestamp, id) order, seeking past a cursor
+   * instead of skipping rows. A filter on one entity also matches the import entry that created
+   * it, although import entries carry no entity id.
+   *
+   * @param filter conditions to apply
+   * @param cursorTimestamp timestamp of the last entry already read, or null for the first page
+   * @param cursorId id of the last entry already read, ignored without a timestamp
+   * @param limit maximum number of rows
+   * @return matching entries without their state snapshots
+   */
+  List<OperationLogSummary> findSummaries(OperationLogFilter filter, Instant cursorTimestamp,
+      Long cursorId, Limit limit);
+
+  /**
+   * Indexes the rows an import entry lists, so entity filters can find the entry. Pending
+   * changes are flushed first, as the index references the entry.
+   *
+   * @param logId id of the saved import entry
+   * @param entityType type of the imported rows
+   * @param ids identifiers of the imported rows
+   */
+  void saveImportedIds(Long logId, OperationEntityType entityType, List<Long> ids);
+}
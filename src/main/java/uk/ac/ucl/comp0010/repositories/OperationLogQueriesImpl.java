@@ -0,0 +1,117 @@
+package uk.ac.ucl.comp0010.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationType;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
+
+/**
+ * Builds the history query from the filters that are actually set, so each combination is a
+ * plain conjunction the matching {@code operation_logs} index can serve, rather than a single
+ * query full of {@code :param is null or ...} branches.
+ *
+ * <p>Import entries are found for an entity through {@code operation_log_imports} with a second
+ * query, and merged with the entity's own entries.
+ */
+class OperationLogQueriesImpl implements OperationLogQueries {
+  private static final String SELECT = "select new "
+      + "uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary(o.id, o.operationType, "
+      + "o.entityType, o.entityId, o.timestamp, o.username, o.description) "
+      + "from OperationLog o where 1 = 1";
+  private static final String SELECT_IMPORTS = "select log_id from operation_log_imports "
+      + "where entity_type = ? and entity_id = ?";
+  private static final String INSERT_IMPORT = "insert into operation_log_imports "
+      + "(entity_type, entity_id, log_id) values (?, ?, ?)";
+  private static final Comparator<OperationLogSummary> NEWEST_FIRST = Comparator
+      .comparing(OperationLogSummary::timestamp).thenComparing(OperationLogSummary::id)
+      .reversed();
+
+  private final EntityManager entityManager;
+  private final JdbcTemplate jdbcTemplate;
+
+  OperationLogQueriesImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+    this.entityManager = entityManager;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public List<OperationLogSummary> findSummaries(OperationLogFilter filter,
+      Instant cursorTimestamp, Long cursorId, Limit limit) {
+    List<OperationLogSummary> rows = query(filter, null, cursorTimestamp, cursorId, limit);
+    if (filter.entityType() == null || filter.entityId() == null
+        || (filter.operationType() != null && filter.operationType() != OperationType.IMPORT)) {
+      return rows;
+    }
+    List<Long> importIds = jdbcTemplate.queryForList(SELECT_IMPORTS, Long.class,
+        filter.entityType().name(), filter.entityId());
+    if (importIds.isEmpty()) {
+      return rows;
+    }
+    List<OperationLogSummary> merged = new ArrayList<>(rows);
+    merged.addAll(query(filter, importIds, cursorTimestamp, cursorId, limit));
+    merged.sort(NEWEST_FIRST);
+    if (limit.isLimited() && merged.size() > limit.max()) {
+      return merged.subList(0, limit.max());
+    }
+    return merged;
+  }
+
+  @Override
+  public void saveImportedIds(Long logId, OperationEntityType entityType, List<Long> ids) {
+    entityManager.flush();
+    jdbcTemplate.batchUpdate(INSERT_IMPORT, ids, ids.size(), (statement, id) -> {
+      statement.setString(1, entityType.name());
+      statement.setLong(2, id);
+      statement.setLong(3, logId);
+    });
+  }
+
+  private List<OperationLogSummary> query(OperationLogFilter filter, List<Long> importIds,
+      Instant cursorTimestamp, Long cursorId, Limit limit) {
+    StringBuilder jpql = new StringBuilder(SELECT);
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    condition(jpql, parameters, "o.entityType = :entityType", "entityType", filter.entityType());
+    if (importIds != null) {
+      condition(jpql, parameters, "o.id in :importIds", "importIds", importIds);
+    } else if (filter.entityType() != null) {
+      condition(jpql, parameters, "o.entityId = :entityId", "entityId", filter.entityId());
+    }
+    condition(jpql, parameters, "o.operationType = :operationType", "operationType",
+        filter.operationType());
+    condition(jpql, parameters, "o.username = :username", "username", filter.username());
+    condition(jpql, parameters, "o.timestamp >= :from", "from", filter.from());
+    condition(jpql, parameters, "o.timestamp < :to", "to", filter.to());
+    if (cursorTimestamp != null) {
+      jpql.append(" and (o.timestamp < :cursorTimestamp"
+          + " or (o.timestamp = :cursorTimestamp and o.id < :cursorId))");
+      parameters.put("cursorTimestamp", cursorTimestamp);
+      parameters.put("cursorId", cursorId);
+    }
+    jpql.append(" order by o.timestamp desc, o.id desc");
+
+    TypedQuery<OperationLogSummary> query = entityManager.createQuery(jpql.toString(),
+        OperationLogSummary.class);
+    parameters.forEach(query::setParameter);
+    if (limit.isLimited()) {
+      query.setMaxResults(limit.max());
+    }
+    return query.getResultList();
+  }
+
+  private static void condition(StringBuilder jpql, Map<String, Object> parameters,
+      String clause, String name, Object value) {
+    if (value != null) {
+      jpql.append(" and ").append(clause);
+      parameters.put(name, value);
+    }
+  }
+}
@@ -1,7 +1,15 @@
 package uk.ac.ucl.comp0010.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.ac.ucl.comp0010.models.OperationLog;
 
@@ -9,7 +17,19 @@ import uk.ac.ucl.comp0010.models.OperationLog;
  * Repository for operation logs.
  */
 @Repository
-public interface OperationLogRepository extends CrudRepository<OperationLog, Long> {
+public interface OperationLogRepository extends CrudRepository<OperationLog, Long>,
+    PagingAndSortingRepository<OperationLog, Long>, OperationLogQueries {
 
   List<OperationLog> findAllByOrderByTimestampDesc();
+
+  @Query("select o.timestamp from OperationLog o where o.id = :id")
+  Optional<Instant> findTimestampById(@Param("id") Long id);
+
+  List<OperationLog> findByTimestampBeforeOrderByTimestampAscIdAsc(Instant cutoff, Limit limit);
+
+  List<OperationLog> findByTimestampAfter(Instant after, Limit limit);
+
+  @Modifying
+  @Query("delete from OperationLog o where o.id in :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
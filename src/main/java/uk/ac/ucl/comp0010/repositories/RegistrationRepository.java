@@ -1,25 +1,73 @@
 package uk.ac.ucl.comp0010.repositories;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.ac.ucl.comp0010.models.Module;
 import uk.ac.ucl.comp0010.models.Registration;
 import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleRegistrationCount;
+import uk.ac.ucl.comp0010.repositories.projections.RegistrationExportRow;
+import uk.ac.ucl.comp0010.repositories.projections.StudentModuleKey;
 
 /**
  * Repository for Registration.
  *
+ * <p>List methods fetch the student, module and module prerequisite in the same query, because
+ * every one of them is serialised with the registration.
+ *
  * @author YUNQ
  */
 @Repository
-public interface RegistrationRepository extends CrudRepository<Registration, Long> {
+public interface RegistrationRepository extends CrudRepository<Registration, Long>,
+    PagingAndSortingRepository<Registration, Long> {
+  @Override
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
+  List<Registration> findAll();
+
+  @Override
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
+  Page<Registration> findAll(Pageable pageable);
+
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
+  List<Registration> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
   List<Registration> findAllByStudent(Student student);
 
+  @EntityGraph(attributePaths = {"student", "module", "module.prerequisiteModule"})
   List<Registration> findAllByModule(Module module);
 
   Optional<Registration> findByStudentAndModule(Student student, Module module);
 
   boolean existsByStudentAndModule(Student student, Module module);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.ModuleRegistrationCount("
+      + "r.module.id, count(r)) from Registration r group by r.module.id")
+  List<ModuleRegistrationCount> countByModuleGrouped();
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.StudentModuleKey(r.id, "
+      + "r.student.id, r.module.id) from Registration r "
+      + "where r.student.id in :studentIds and r.module.id in :moduleIds")
+  List<StudentModuleKey> findKeys(@Param("studentIds") Collection<Long> studentIds,
+      @Param("moduleIds") Collection<Long> moduleIds);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.RegistrationExportRow(r.id, "
+      + "s.id, s.userName, m.id, m.code) from Registration r join r.student s join r.module m "
+      + "order by r.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<RegistrationExportRow> streamExportRows();
 }
@@ -1,9 +1,24 @@
 package uk.ac.ucl.comp0010.repositories;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.projections.StudentGradeAggregate;
+import uk.ac.ucl.comp0010.repositories.projections.StudentIdentity;
+import uk.ac.ucl.comp0010.services.GpaScale;
 
 /**
  * Repository for student.
@@ -11,7 +26,8 @@ import uk.ac.ucl.comp0010.models.Student;
  * @author YUNQ
  */
 @Repository
-public interface StudentRepository extends CrudRepository<Student, Long> {
+public interface StudentRepository extends CrudRepository<Student, Long>,
+    PagingAndSortingRepository<Student, Long> {
   Optional<Student> findByUserName(String userName);
 
   Optional<Student> findByEmail(String email);
@@ -19,4 +35,26 @@ public interface StudentRepository extends CrudRepository<Student, Long> {
   boolean existsByUserName(String userName);
 
   boolean existsByEmail(String email);
+
+  List<Student> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+  @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+  Stream<Student> streamAllByOrderByIdAsc();
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.StudentIdentity(s.id, "
+      + "s.userName, s.email, s.entryYear) from Student s "
+      + "where s.userName in :userNames or s.email in :emails")
+  List<StudentIdentity> findIdentities(@Param("userNames") Collection<String> userNames,
+      @Param("emails") Collection<String> emails);
+
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.StudentIdentity(s.id, "
+      + "s.userName, s.email, s.entryYear) from Student s where s.userName in :userNames")
+  List<StudentIdentity> findIdentitiesByUserName(
+      @Param("userNames") Collection<String> userNames);
+
+  @Query(value = "select s as student, avg(g.score) as averageScore, avg("
+      + GpaScale.GRADE_POINTS_JPQL + ") as gpa from Student s left join s.grades g group by s",
+      countQuery = "select count(s) from Student s")
+  Page<StudentGradeAggregate> findAllWithGradeAggregates(Pageable pageable);
 }
@@ -1,9 +1,17 @@
 package uk.ac.ucl.comp0010.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.ac.ucl.comp0010.models.UserAccount;
+import uk.ac.ucl.comp0010.repositories.projections.TokenOwner;
 
 /**
  * Repository for persisted users.
@@ -12,5 +20,23 @@ import uk.ac.ucl.comp0010.models.UserAccount;
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
   Optional<UserAccount> findByUsername(String username);
 
-  Optional<UserAccount> findByAuthToken(String authToken);
+  @Query("select new uk.ac.ucl.comp0010.repositories.projections.TokenOwner("
+      + "u.username, u.tokenExpiresAt) from UserAccount u "
+      + "where u.authToken = :authToken and u.tokenExpiresAt > :now")
+  Optional<TokenOwner> findTokenOwner(@Param("authToken") String authToken,
+      @Param("now") Instant now);
+
+  @Query("select u.tokenIssuedAt from UserAccount u where u.username = :username")
+  Optional<Instant> findTokenIssuedAt(@Param("username") String username);
+
+  @Query("select u.id from UserAccount u where u.tokenExpiresAt <= :now "
+      + "or (u.tokenExpiresAt is null and u.authToken is not null) "
+      + "order by u.tokenExpiresAt nulls first")
+  List<Long> findIdsWithTokenExpiredBy(@Param("now") Instant now, Limit limit);
+
+  @Modifying
+  @Query("update UserAccount u set u.authToken = null, u.tokenIssuedAt = null, "
+      + "u.tokenExpiresAt = null where u.id in :ids and (u.tokenExpiresAt <= :now "
+      + "or (u.tokenExpiresAt is null and u.authToken is not null))")
+  int clearTokensExpiredBy(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 }
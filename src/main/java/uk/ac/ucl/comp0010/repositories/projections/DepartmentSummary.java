@@ -0,0 +1,18 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Registration and grade totals for one department, produced by a grouped aggregate query.
+ */
+public interface DepartmentSummary {
+  String getDepartment();
+
+  Long getModuleCount();
+
+  Long getRegistrationCount();
+
+  Long getGradeCount();
+
+  Long getPassingGrades();
+
+  Long getScoreSum();
+}
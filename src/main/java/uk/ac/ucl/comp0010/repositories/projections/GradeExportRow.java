@@ -0,0 +1,15 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Flat grade row streamed by the grade export.
+ *
+ * @param id grade identifier
+ * @param studentId student identifier
+ * @param userName student user name
+ * @param moduleId module identifier
+ * @param moduleCode module code
+ * @param score the score awarded
+ */
+public record GradeExportRow(Long id, Long studentId, String userName, Long moduleId,
+    String moduleCode, Integer score) {
+}
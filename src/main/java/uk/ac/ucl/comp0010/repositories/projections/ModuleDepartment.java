@@ -0,0 +1,10 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * The department a module belongs to.
+ *
+ * @param moduleId module identifier
+ * @param department department name
+ */
+public record ModuleDepartment(Long moduleId, String department) {
+}
@@ -0,0 +1,14 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Identifying columns of a module, used to resolve and de-duplicate imported rows.
+ *
+ * @param id module identifier
+ * @param code module code
+ * @param requiredYear earliest study year allowed, may be null
+ * @param prerequisiteId identifier of the prerequisite module, may be null
+ * @param prerequisiteCode code of the prerequisite module, may be null
+ */
+public record ModuleIdentity(Long id, String code, Integer requiredYear, Long prerequisiteId,
+    String prerequisiteCode) {
+}
@@ -0,0 +1,10 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Registration total for a single module, produced by a grouped aggregate query.
+ *
+ * @param moduleId module identifier
+ * @param registrationCount number of registrations for the module
+ */
+public record ModuleRegistrationCount(Long moduleId, Long registrationCount) {
+}
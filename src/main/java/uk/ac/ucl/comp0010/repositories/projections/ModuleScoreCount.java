@@ -0,0 +1,11 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Number of grades holding one score within a module, produced by a grouped aggregate query.
+ *
+ * @param moduleId module identifier
+ * @param score the score awarded
+ * @param gradeCount number of grades in the module with that score
+ */
+public record ModuleScoreCount(Long moduleId, Integer score, Long gradeCount) {
+}
@@ -0,0 +1,21 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+import java.time.Instant;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationType;
+
+/**
+ * Operation log entry without its state snapshots, used by history listings.
+ *
+ * @param id log identifier
+ * @param operationType kind of operation
+ * @param entityType type of the affected entity
+ * @param entityId identifier of the affected entity, may be null
+ * @param timestamp when the operation was recorded
+ * @param username user who performed the operation
+ * @param description summary of the operation
+ */
+public record OperationLogSummary(Long id, OperationType operationType,
+    OperationEntityType entityType, Long entityId, Instant timestamp, String username,
+    String description) {
+}
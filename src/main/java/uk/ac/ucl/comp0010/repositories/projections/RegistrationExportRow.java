@@ -0,0 +1,14 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Flat registration row streamed by the registration export.
+ *
+ * @param id registration identifier
+ * @param studentId student identifier
+ * @param userName student user name
+ * @param moduleId module identifier
+ * @param moduleCode module code
+ */
+public record RegistrationExportRow(Long id, Long studentId, String userName, Long moduleId,
+    String moduleCode) {
+}
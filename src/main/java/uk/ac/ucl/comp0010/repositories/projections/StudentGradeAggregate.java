@@ -0,0 +1,14 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+import uk.ac.ucl.comp0010.models.Student;
+
+/**
+ * A student together with the average score and GPA computed over their grades.
+ */
+public interface StudentGradeAggregate {
+  Student getStudent();
+
+  Double getAverageScore();
+
+  Double getGpa();
+}
@@ -0,0 +1,12 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Identifying columns of a student, used to resolve and de-duplicate imported rows.
+ *
+ * @param id student identifier
+ * @param userName student user name
+ * @param email student email
+ * @param entryYear year the student started, may be null
+ */
+public record StudentIdentity(Long id, String userName, String email, Integer entryYear) {
+}
@@ -0,0 +1,15 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * A row linking one student to one module, with its score when the row is a grade.
+ *
+ * @param id registration or grade identifier
+ * @param studentId student identifier
+ * @param moduleId module identifier
+ * @param score grade score, null for registrations
+ */
+public record StudentModuleKey(Long id, Long studentId, Long moduleId, Integer score) {
+  public StudentModuleKey(Long id, Long studentId, Long moduleId) {
+    this(id, studentId, moduleId, null);
+  }
+}
@@ -0,0 +1,12 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+/**
+ * Average score and GPA for one student, without loading the student itself.
+ */
+public interface StudentScoreAggregate {
+  Long getStudentId();
+
+  Double getAverageScore();
+
+  Double getGpa();
+}
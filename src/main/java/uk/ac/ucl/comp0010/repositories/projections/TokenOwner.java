@@ -0,0 +1,12 @@
+package uk.ac.ucl.comp0010.repositories.projections;
+
+import java.time.Instant;
+
+/**
+ * Account a bearer token belongs to, used to authenticate requests.
+ *
+ * @param username username of the account
+ * @param expiresAt when the token stops being accepted
+ */
+public record TokenOwner(String username, Instant expiresAt) {
+}
@@ -0,0 +1,448 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.models.OperationType;
+
+/**
+ * Immutable file of archived operation log entries in ascending (timestamp, id) order.
+ *
+ * <p>The file holds a header, Deflate-compressed blocks of up to {@value #BLOCK_RECORDS} entries,
+ * a sparse index giving the offset, timestamp range and id range of every block, and a trailer
+ * pointing at the index. It is written under a temporary name and moved into place, so a
+ * segment is either complete or absent. Reads go through a read-only memory mapping and inflate
+ * only the blocks the index cannot rule out.
+ *
+ * <p>Each index entry also carries a Bloom filter of the (entity type, entity id) pairs in its
+ * block, counting every row an import entry lists, and the segment keeps their union, so entity
+ * lookups skip segments and blocks that cannot hold the entity.
+ */
+final class ArchiveSegment {
+  static final String SUFFIX = ".olseg";
+  static final int BLOCK_RECORDS = 256;
+  static final Comparator<OperationLog> ORDER = Comparator.comparing(OperationLog::getTimestamp)
+      .thenComparing(OperationLog::getId);
+
+  private static final int MAGIC = 0x4f4c5347;
+  private static final int VERSION = 1;
+  private static final int FILTER_WORDS = 32;
+  private static final int FILTER_BITS = FILTER_WORDS * Long.SIZE;
+  private static final int FILTER_HASHES = 3;
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int BLOCK_HEADER_BYTES = 3 * Integer.BYTES;
+  private static final int TRAILER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+  private static final int INDEX_ENTRY_BYTES = (5 + FILTER_WORDS) * Long.BYTES
+      + 2 * Integer.BYTES;
+
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final int[] offsets;
+  private final Instant[] minTimestamps;
+  private final Instant[] maxTimestamps;
+  private final long[] minIds;
+  private final long[] maxIds;
+  private final long[][] filters;
+  private final long[] segmentFilter;
+
+  private ArchiveSegment(Path path, MappedByteBuffer buffer, int blocks) {
+    this.path = path;
+    this.buffer = buffer;
+    this.offsets = new int[blocks];
+    this.minTimestamps = new Instant[blocks];
+    this.maxTimestamps = new Instant[blocks];
+    this.minIds = new long[blocks];
+    this.maxIds = new long[blocks];
+    this.filters = new long[blocks][];
+    this.segmentFilter = new long[FILTER_WORDS];
+  }
+
+  /**
+   * Writes entries to a new segment file and opens it.
+   *
+   * @param path final location of the segment
+   * @param logs entries to archive, each with an id and timestamp
+   * @return the opened segment
+   * @throws IOException if the file cannot be written
+   */
+  static ArchiveSegment write(Path path, List<OperationLog> logs) throws IOException {
+    List<OperationLog> sorted = new ArrayList<>(logs);
+    sorted.sort(ORDER);
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      long position = HEADER_BYTES;
+      ByteArrayOutputStream index = new ByteArrayOutputStream();
+      DataOutputStream indexOut = new DataOutputStream(index);
+      int blocks = 0;
+      for (int start = 0; start < sorted.size(); start += BLOCK_RECORDS) {
+        List<OperationLog> block = sorted.subList(start,
+            Math.min(start + BLOCK_RECORDS, sorted.size()));
+        byte[] raw = encode(block);
+        byte[] compressed = deflate(raw);
+        indexOut.writeLong(position);
+        writeInstant(indexOut, block.get(0).getTimestamp());
+        writeInstant(indexOut, block.get(block.size() - 1).getTimestamp());
+        indexOut.writeLong(block.stream().mapToLong(OperationLog::getId).min().orElseThrow());
+        indexOut.writeLong(block.stream().mapToLong(OperationLog::getId).max().orElseThrow());
+        long[] filter = new long[FILTER_WORDS];
+        for (OperationLog log : block) {
+          if (log.getEntityId() != null) {
+            addToFilter(filter, log.getEntityType(), log.getEntityId());
+          }
+          for (long id : importedIds(log)) {
+            addToFilter(filter, log.getEntityType(), id);
+          }
+        }
+        for (long word : filter) {
+          indexOut.writeLong(word);
+        }
+        out.writeInt(block.size());
+        out.writeInt(raw.length);
+        out.writeInt(compressed.length);
+        out.write(compressed);
+        position += BLOCK_HEADER_BYTES + compressed.length;
+        blocks++;
+      }
+      out.write(index.toByteArray());
+      out.writeInt(blocks);
+      out.writeLong(position);
+      out.writeInt(MAGIC);
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+    return open(path);
+  }
+
+  /**
+   * Maps an existing segment file and reads its index.
+   *
+   * @param path segment file
+   * @return the opened segment
+   * @throws IOException if the file cannot be read or is not a complete segment
+   */
+  static ArchiveSegment open(Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Segment too large: " + path);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    int size = buffer.capacity();
+    if (size < HEADER_BYTES + TRAILER_BYTES || buffer.getInt(0) != MAGIC
+        || buffer.getInt(size - Integer.BYTES) != MAGIC) {
+      throw new IOException("Not an operation log segment: " + path);
+    }
+    if (buffer.getInt(Integer.BYTES) != VERSION) {
+      throw new IOException("Unsupported segment version in " + path);
+    }
+    int trailer = size - TRAILER_BYTES;
+    ArchiveSegment segment = new ArchiveSegment(path, buffer, buffer.getInt(trailer));
+    int entry = (int) buffer.getLong(trailer + Integer.BYTES);
+    for (int block = 0; block < segment.offsets.length; block++) {
+      segment.offsets[block] = (int) buffer.getLong(entry);
+      segment.minTimestamps[block] = readInstant(buffer, entry + Long.BYTES);
+      segment.maxTimestamps[block] = readInstant(buffer, entry + 2 * Long.BYTES + Integer.BYTES);
+      segment.minIds[block] = buffer.getLong(entry + 3 * Long.BYTES + 2 * Integer.BYTES);
+      segment.maxIds[block] = buffer.getLong(entry + 4 * Long.BYTES + 2 * Integer.BYTES);
+      long[] filter = new long[FILTER_WORDS];
+      for (int word = 0; word < FILTER_WORDS; word++) {
+        filter[word] = buffer.getLong(entry + 5 * Long.BYTES + 2 * Integer.BYTES
+            + word * Long.BYTES);
+        segment.segmentFilter[word] |= filter[word];
+      }
+      segment.filters[block] = filter;
+      entry += INDEX_ENTRY_BYTES;
+    }
+    return segment;
+  }
+
+  /**
+   * Looks up an entry by id, inflating only blocks whose id range covers it.
+   *
+   * @param id entry identifier
+   * @return the entry, if archived in this segment
+   */
+  Optional<OperationLog> find(long id) {
+    for (int block = 0; block < offsets.length; block++) {
+      if (id >= minIds[block] && id <= maxIds[block]) {
+        for (OperationLog log : read(block)) {
+          if (log.getId() == id) {
+            return Optional.of(log);
+          }
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Latest timestamp in the segment.
+   *
+   * @return timestamp of the newest entry, or null for an empty segment
+   */
+  Instant newest() {
+    return offsets.length == 0 ? null : maxTimestamps[offsets.length - 1];
+  }
+
+  /**
+   * Whether the segment may hold entries for an entity. False positives are possible; false
+   * negatives are not.
+   *
+   * @param entityType type of the entity
+   * @param entityId identifier of the entity
+   * @return false when no entry in the segment refers to the entity
+   */
+  boolean mayContain(OperationEntityType entityType, long entityId) {
+    return filterContains(segmentFilter, entityType, entityId);
+  }
+
+  /**
+   * Collects matching entries newest first. Blocks entirely outside {@code [lower, upper]}, or
+   * whose filter rules out the entity, are skipped using the index; the predicate applies the
+   * exact conditions.
+   *
+   * @param lower earliest timestamp of interest, or null
+   * @param upper latest timestamp of interest, or null
+   * @param entityType type of the entity of interest, or null
+   * @param entityId identifier of the entity of interest, or null for any entity
+   * @param matches exact conditions on an entry
+   * @param limit most entries to collect
+   * @param out list the entries are added to
+   */
+  void collectNewest(Instant lower, Instant upper, OperationEntityType entityType, Long entityId,
+      Predicate<OperationLog> matches, int limit, List<OperationLog> out) {
+    if (entityId != null && !mayContain(entityType, entityId)) {
+      return;
+    }
+    int collected = 0;
+    for (int block = offsets.length - 1; block >= 0 && collected < limit; block--) {
+      if (lower != null && maxTimestamps[block].isBefore(lower)) {
+        return;
+      }
+      if (upper != null && minTimestamps[block].isAfter(upper)) {
+        continue;
+      }
+      if (entityId != null && !filterContains(filters[block], entityType, entityId)) {
+        continue;
+      }
+      List<OperationLog> logs = read(block);
+      for (int index = logs.size() - 1; index >= 0 && collected < limit; index--) {
+        if (matches.test(logs.get(index))) {
+          out.add(logs.get(index));
+          collected++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Identifiers of the rows an import entry lists in its new state.
+   *
+   * @param log archived entry
+   * @return the imported ids, or none when the entry is not an import
+   */
+  static long[] importedIds(OperationLog log) {
+    if (log.getOperationType() != OperationType.IMPORT || log.getNewState() == null) {
+      return new long[0];
+    }
+    String ids = log.getNewState().replaceAll("[\\[\\]\\s]", "");
+    if (ids.isEmpty()) {
+      return new long[0];
+    }
+    return Arrays.stream(ids.split(",")).mapToLong(Long::parseLong).toArray();
+  }
+
+  /**
+   * Reads every entry.
+   *
+   * @return entries in ascending (timestamp, id) order
+   */
+  List<OperationLog> readAll() {
+    List<OperationLog> logs = new ArrayList<>();
+    for (int block = 0; block < offsets.length; block++) {
+      logs.addAll(read(block));
+    }
+    return logs;
+  }
+
+  private List<OperationLog> read(int block) {
+    int offset = offsets[block];
+    int count = buffer.getInt(offset);
+    int rawLength = buffer.getInt(offset + Integer.BYTES);
+    byte[] compressed = new byte[buffer.getInt(offset + 2 * Integer.BYTES)];
+    buffer.get(offset + BLOCK_HEADER_BYTES, compressed);
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(inflate(compressed, rawLength)))) {
+      List<OperationLog> logs = new ArrayList<>(count);
+      for (int index = 0; index < count; index++) {
+        logs.add(readLog(in));
+      }
+      return logs;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Corrupt block " + block + " in " + path, ex);
+    }
+  }
+
+  private static void addToFilter(long[] filter, OperationEntityType entityType, long entityId) {
+    long hash = hash(entityType, entityId);
+    for (int index = 0; index < FILTER_HASHES; index++) {
+      int bit = filterBit(hash, index);
+      filter[bit / Long.SIZE] |= 1L << (bit % Long.SIZE);
+    }
+  }
+
+  private static boolean filterContains(long[] filter, OperationEntityType entityType,
+      long entityId) {
+    long hash = hash(entityType, entityId);
+    for (int index = 0; index < FILTER_HASHES; index++) {
+      int bit = filterBit(hash, index);
+      if ((filter[bit / Long.SIZE] & (1L << (bit % Long.SIZE))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int filterBit(long hash, int index) {
+    return Math.floorMod((int) hash + index * (int) (hash >>> 32), FILTER_BITS);
+  }
+
+  private static long hash(OperationEntityType entityType, long entityId) {
+    long hash = entityId * 0x9e3779b97f4a7c15L + entityType.ordinal();
+    hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb34fe88bc0e5L;
+    return hash ^ (hash >>> 33);
+  }
+
+  private static byte[] encode(List<OperationLog> logs) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (OperationLog log : logs) {
+      out.writeLong(log.getId());
+      writeString(out, log.getOperationType().name());
+      writeString(out, log.getEntityType().name());
+      out.writeBoolean(log.getEntityId() != null);
+      out.writeLong(log.getEntityId() == null ? 0 : log.getEntityId());
+      writeInstant(out, log.getTimestamp());
+      writeString(out, log.getUsername());
+      writeString(out, log.getDescription());
+      writeString(out, log.getPreviousState());
+      writeString(out, log.getNewState());
+    }
+    return bytes.toByteArray();
+  }
+
+  private static OperationLog readLog(DataInputStream in) throws IOException {
+    long id = in.readLong();
+    OperationType operationType = OperationType.valueOf(readString(in));
+    OperationEntityType entityType = OperationEntityType.valueOf(readString(in));
+    boolean hasEntityId = in.readBoolean();
+    long entityId = in.readLong();
+    Instant timestamp = Instant.ofEpochSecond(in.readLong(), in.readInt());
+    OperationLog log = new OperationLog(operationType, entityType,
+        hasEntityId ? entityId : null, timestamp, readString(in), readString(in),
+        readString(in), readString(in));
+    log.setId(id);
+    return log;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+    out.writeLong(instant.getEpochSecond());
+    out.writeInt(instant.getNano());
+  }
+
+  private static Instant readInstant(MappedByteBuffer buffer, int position) {
+    return Instant.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + Long.BYTES));
+  }
+
+  private static byte[] deflate(byte[] raw) {
+    Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(chunk, 0, deflater.deflate(chunk));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      byte[] raw = new byte[rawLength];
+      int read = 0;
+      while (read < rawLength && !inflater.finished()) {
+        int inflated = inflater.inflate(raw, read, rawLength - read);
+        if (inflated == 0 && inflater.needsInput()) {
+          break;
+        }
+        read += inflated;
+      }
+      if (read != rawLength) {
+        throw new IOException("Truncated block");
+      }
+      return raw;
+    } catch (DataFormatException ex) {
+      throw new IOException("Invalid compressed block", ex);
+    } finally {
+      inflater.end();
+    }
+  }
+}
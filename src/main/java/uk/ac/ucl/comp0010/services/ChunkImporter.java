@@ -0,0 +1,24 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Validates and inserts one chunk of an import inside the caller's transaction.
+ *
+ * <p>Implementations resolve and de-duplicate the whole chunk with set-based queries and insert
+ * the accepted rows in a single JDBC batch. Rows that fail validation are passed to the reject
+ * callback with a message and skipped.
+ */
+interface ChunkImporter {
+  ImportDataset dataset();
+
+  /**
+   * Imports the valid rows of a chunk.
+   *
+   * @param rows rows of the chunk in file order
+   * @param reject receives each skipped row and the reason
+   * @return identifiers of the inserted rows
+   */
+  List<Long> importChunk(List<ImportRow> rows, BiConsumer<ImportRow, String> reject);
+}
@@ -0,0 +1,96 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers shared by the CSV export and import.
+ */
+final class Csv {
+  private Csv() {}
+
+  /**
+   * Quotes a field when it contains a delimiter, quote or line break.
+   *
+   * @param value raw field value, may be null
+   * @return field ready to be written, empty for null
+   */
+  static String escape(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value.toString();
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+
+  /**
+   * Reads CSV records one at a time, so a file is never held in memory. Quoted fields may contain
+   * delimiters, doubled quotes and line breaks.
+   */
+  static final class RecordReader {
+    private final Reader reader;
+
+    RecordReader(Reader reader) {
+      this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return fields of the record, or null at the end of input
+     * @throws IOException if the input cannot be read
+     */
+    List<String> next() throws IOException {
+      int ch = read();
+      while (ch == '\r' || ch == '\n') {
+        ch = read();
+      }
+      if (ch < 0) {
+        return null;
+      }
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      while (true) {
+        if (quoted) {
+          if (ch < 0) {
+            throw new IOException("Unterminated quoted field");
+          }
+          if (ch == '"') {
+            int following = read();
+            if (following == '"') {
+              field.append('"');
+            } else {
+              quoted = false;
+              ch = following;
+              continue;
+            }
+          } else {
+            field.append((char) ch);
+          }
+        } else if (ch == '"' && field.isEmpty()) {
+          quoted = true;
+        } else if (ch == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else if (ch < 0 || ch == '\n' || ch == '\r') {
+          fields.add(field.toString());
+          return fields;
+        } else {
+          field.append((char) ch);
+        }
+        ch = read();
+      }
+    }
+
+    private int read() throws IOException {
+      return reader.read();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.Locale;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+
+/**
+ * File formats supported by the bulk export and import endpoints.
+ */
+public enum DataFormat {
+  NDJSON("application/x-ndjson"),
+  CSV("text/csv");
+
+  private final String mediaType;
+
+  DataFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  public String getExtension() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Resolves a format from a file extension.
+   *
+   * @param extension {@code ndjson} or {@code csv}, in any case
+   * @return matching format
+   */
+  public static DataFormat fromExtension(String extension) {
+    for (DataFormat format : values()) {
+      if (format.getExtension().equalsIgnoreCase(extension)) {
+        return format;
+      }
+    }
+    throw new InvalidRequestException("Unsupported file format: " + extension);
+  }
+}
@@ -0,0 +1,106 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ucl.comp0010.controllers.responses.DepartmentStatisticsResponse;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.projections.DepartmentSummary;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleDepartment;
+
+/**
+ * Rolls module statistics up to department level.
+ *
+ * <p>Department totals come from one grouped query and are cached per department. The cache
+ * listens to {@link ModuleStatisticsStore}: a committed registration or grade change evicts only
+ * the department owning that module, and the next read re-queries just the evicted departments.
+ * Module creation, edits and deletes can move modules between departments, so they drop the
+ * whole cache.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DepartmentStatisticsService implements ModuleStatisticsStore.ChangeListener {
+  private final ModuleRepository moduleRepository;
+  private final Object refreshLock = new Object();
+  private final Map<String, DepartmentStatisticsResponse> cache = new ConcurrentHashMap<>();
+  private final Set<String> evicted = ConcurrentHashMap.newKeySet();
+  private final AtomicLong generation = new AtomicLong();
+
+  private volatile Map<Long, String> moduleDepartments = Map.of();
+  private volatile long loadedGeneration = -1;
+
+  /**
+   * Creates the service and subscribes it to module statistics changes.
+   *
+   * @param moduleRepository repository providing the department aggregates
+   * @param moduleStatisticsStore store publishing committed changes
+   */
+  public DepartmentStatisticsService(ModuleRepository moduleRepository,
+      ModuleStatisticsStore moduleStatisticsStore) {
+    this.moduleRepository = moduleRepository;
+    moduleStatisticsStore.addListener(this);
+  }
+
+  /**
+   * Returns statistics for every department, ordered by department name.
+   *
+   * @return department statistics
+   */
+  public List<DepartmentStatisticsResponse> getAllStatistics() {
+    refresh();
+    List<DepartmentStatisticsResponse> responses = new ArrayList<>(cache.values());
+    responses.sort(Comparator.comparing(DepartmentStatisticsResponse::getDepartment));
+    return responses;
+  }
+
+  @Override
+  public void moduleChanged(Long moduleId) {
+    String department = moduleDepartments.get(moduleId);
+    if (department == null) {
+      allChanged();
+    } else {
+      evicted.add(department);
+    }
+  }
+
+  @Override
+  public void allChanged() {
+    generation.incrementAndGet();
+  }
+
+  private void refresh() {
+    synchronized (refreshLock) {
+      long current = generation.get();
+      if (current != loadedGeneration) {
+        evicted.clear();
+        Map<Long, String> departments = new HashMap<>();
+        for (ModuleDepartment row : moduleRepository.findAllDepartments()) {
+          departments.put(row.moduleId(), row.department());
+        }
+        cache.clear();
+        store(moduleRepository.summariseByDepartment());
+        moduleDepartments = departments;
+        loadedGeneration = current;
+      } else if (!evicted.isEmpty()) {
+        Set<String> stale = new HashSet<>(evicted);
+        evicted.removeAll(stale);
+        stale.forEach(cache::remove);
+        store(moduleRepository.summariseDepartments(stale));
+      }
+    }
+  }
+
+  private void store(List<DepartmentSummary> summaries) {
+    for (DepartmentSummary summary : summaries) {
+      cache.put(summary.getDepartment(), DepartmentStatisticsResponse.from(summary));
+    }
+  }
+}
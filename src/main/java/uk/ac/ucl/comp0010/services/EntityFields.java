@@ -0,0 +1,198 @@
+package uk.ac.ucl.comp0010.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.models.Student;
+
+/**
+ * Accessor table for the persistent scalar fields of an entity, with associations represented by
+ * their ids.
+ *
+ * <p>Each entry pairs a field name with a getter and setter method reference, so capturing,
+ * comparing, copying and restoring state costs direct calls rather than reflection or a JSON
+ * round trip. Updates are logged as the changed fields only, and reverted by writing the previous
+ * values back onto the current entity. Copies never touch the lazy collections.
+ *
+ * @param <T> entity type
+ */
+final class EntityFields<T> {
+  static final EntityFields<Student> STUDENT = new EntityFields<>(Student::new, Student::getId,
+      Student::setId)
+      .field("firstName", String.class, Student::getFirstName, Student::setFirstName)
+      .field("lastName", String.class, Student::getLastName, Student::setLastName)
+      .field("userName", String.class, Student::getUserName, Student::setUserName)
+      .field("email", String.class, Student::getEmail, Student::setEmail)
+      .field("entryYear", Integer.class, Student::getEntryYear, Student::setEntryYear)
+      .field("graduateYear", Integer.class, Student::getGraduateYear, Student::setGraduateYear)
+      .field("major", String.class, Student::getMajor, Student::setMajor)
+      .field("tuitionFee", BigDecimal.class, Student::getTuitionFee, Student::setTuitionFee)
+      .field("paidTuitionFee", BigDecimal.class, Student::getPaidTuitionFee,
+          Student::setPaidTuitionFee)
+      .field("birthDate", LocalDate.class, Student::getBirthDate, Student::setBirthDate)
+      .field("homeStudent", Boolean.class, Student::getHomeStudent, Student::setHomeStudent)
+      .field("sex", String.class, Student::getSex, Student::setSex);
+
+  static final EntityFields<Module> MODULE = new EntityFields<>(Module::new, Module::getId,
+      Module::setId)
+      .field("code", String.class, Module::getCode, Module::setCode)
+      .field("name", String.class, Module::getName, Module::setName)
+      .field("mnc", Boolean.class, Module::getMnc, Module::setMnc)
+      .field("department", String.class, Module::getDepartment, Module::setDepartment)
+      .field("requiredYear", Integer.class, Module::getRequiredYear, Module::setRequiredYear)
+      .field("prerequisiteModuleId", Long.class, EntityFields::prerequisiteId,
+          EntityFields::setPrerequisiteId);
+
+  private final Supplier<T> factory;
+  private final Function<T, Long> idGetter;
+  private final BiConsumer<T, Long> idSetter;
+  private final List<Field<T, ?>> fields = new ArrayList<>();
+
+  private EntityFields(Supplier<T> factory, Function<T, Long> idGetter,
+      BiConsumer<T, Long> idSetter) {
+    this.factory = factory;
+    this.idGetter = idGetter;
+    this.idSetter = idSetter;
+  }
+
+  /**
+   * Returns the table for an entity type.
+   *
+   * @param type entity class
+   * @param <T> entity type
+   * @return the table, or null when the type has none
+   */
+  @SuppressWarnings("unchecked")
+  static <T> EntityFields<T> forType(Class<T> type) {
+    if (type == Student.class) {
+      return (EntityFields<T>) STUDENT;
+    }
+    if (type == Module.class) {
+      return (EntityFields<T>) MODULE;
+    }
+    return null;
+  }
+
+  private <V> EntityFields<T> field(String name, Class<V> type, Function<T, V> getter,
+      BiConsumer<T, V> setter) {
+    fields.add(new Field<>(name, type, getter, setter));
+    return this;
+  }
+
+  /**
+   * Reads every field of an entity.
+   *
+   * @param entity entity to read
+   * @return field values in table order
+   */
+  Object[] capture(T entity) {
+    Object[] values = new Object[fields.size()];
+    for (int index = 0; index < values.length; index++) {
+      values[index] = fields.get(index).getter().apply(entity);
+    }
+    return values;
+  }
+
+  /**
+   * Creates a detached copy holding the id and every field in the table. An association is
+   * copied as a reference carrying only its id.
+   *
+   * @param source entity to copy
+   * @return new instance
+   */
+  T copy(T source) {
+    T target = factory.get();
+    idSetter.accept(target, idGetter.apply(source));
+    for (Field<T, ?> field : fields) {
+      copy(field, source, target);
+    }
+    return target;
+  }
+
+  /**
+   * Compares captured values with the current state of an entity.
+   *
+   * @param before values returned by {@link #capture}
+   * @param after entity after the update
+   * @return previous and new values of the fields that changed
+   */
+  Delta diff(Object[] before, T after) {
+    Map<String, Object> previous = new LinkedHashMap<>();
+    Map<String, Object> current = new LinkedHashMap<>();
+    for (int index = 0; index < before.length; index++) {
+      Field<T, ?> field = fields.get(index);
+      Object value = field.getter().apply(after);
+      if (!Objects.equals(before[index], value)) {
+        previous.put(field.name(), before[index]);
+        current.put(field.name(), value);
+      }
+    }
+    return new Delta(previous, current);
+  }
+
+  /**
+   * Writes the fields named in a logged state onto an entity. Names outside the table are
+   * ignored.
+   *
+   * @param entity entity to update
+   * @param state JSON object of field values
+   * @param objectMapper mapper converting the JSON values to field types
+   */
+  void apply(T entity, JsonNode state, ObjectMapper objectMapper) {
+    for (Field<T, ?> field : fields) {
+      if (state.has(field.name())) {
+        set(field, entity, state.get(field.name()), objectMapper);
+      }
+    }
+  }
+
+  private static <T, V> void copy(Field<T, V> field, T source, T target) {
+    field.setter().accept(target, field.getter().apply(source));
+  }
+
+  private static <T, V> void set(Field<T, V> field, T entity, JsonNode value,
+      ObjectMapper objectMapper) {
+    try {
+      field.setter().accept(entity, objectMapper.treeToValue(value, field.type()));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Unable to read logged value of " + field.name(), ex);
+    }
+  }
+
+  private static Long prerequisiteId(Module module) {
+    return module.getPrerequisiteModule() == null ? null : module.getPrerequisiteModule().getId();
+  }
+
+  private static void setPrerequisiteId(Module module, Long id) {
+    Module prerequisite = null;
+    if (id != null) {
+      prerequisite = new Module();
+      prerequisite.setId(id);
+    }
+    module.setPrerequisiteModule(prerequisite);
+  }
+
+  private record Field<T, V>(String name, Class<V> type, Function<T, V> getter,
+      BiConsumer<T, V> setter) {
+  }
+
+  /**
+   * Fields changed by an update.
+   *
+   * @param previous values before the update, keyed by field name
+   * @param current values after the update, keyed by field name
+   */
+  record Delta(Map<String, Object> previous, Map<String, Object> current) {
+  }
+}
@@ -0,0 +1,171 @@
+package uk.ac.ucl.comp0010.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.GradeExportRow;
+import uk.ac.ucl.comp0010.repositories.projections.RegistrationExportRow;
+
+/**
+ * Streams whole tables out as newline-delimited JSON or CSV.
+ *
+ * <p>Rows are read from a database cursor and written as they arrive, so no result list is ever
+ * built. Every {@value #FLUSH_INTERVAL} rows the output is flushed and the persistence context
+ * cleared, keeping memory flat regardless of table size. Methods must be called on the thread
+ * that writes the response, as the cursor lives in their transaction.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+  static final int FLUSH_INTERVAL = 500;
+
+  private static final List<String> GRADE_COLUMNS = List.of("id", "studentId", "userName",
+      "moduleId", "moduleCode", "score");
+  private static final List<String> REGISTRATION_COLUMNS = List.of("id", "studentId",
+      "userName", "moduleId", "moduleCode");
+  private static final List<String> STUDENT_COLUMNS = List.of("id", "firstName", "lastName",
+      "userName", "email", "entryYear", "graduateYear", "major", "tuitionFee", "paidTuitionFee",
+      "birthDate", "homeStudent", "sex");
+
+  private final GradeRepository gradeRepository;
+  private final RegistrationRepository registrationRepository;
+  private final StudentRepository studentRepository;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates an export service.
+   *
+   * @param gradeRepository repository streaming grade rows
+   * @param registrationRepository repository streaming registration rows
+   * @param studentRepository repository streaming students
+   * @param entityManager persistence context cleared while streaming
+   * @param objectMapper mapper providing JSON generators
+   */
+  public ExportService(GradeRepository gradeRepository,
+      RegistrationRepository registrationRepository, StudentRepository studentRepository,
+      EntityManager entityManager, ObjectMapper objectMapper) {
+    this.gradeRepository = gradeRepository;
+    this.registrationRepository = registrationRepository;
+    this.studentRepository = studentRepository;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes every grade in id order.
+   *
+   * @param format output format
+   * @param out response stream
+   * @throws IOException if the client stops reading
+   */
+  public void exportGrades(DataFormat format, OutputStream out) throws IOException {
+    try (Stream<GradeExportRow> rows = gradeRepository.streamExportRows()) {
+      write(format, GRADE_COLUMNS, rows.iterator(), row -> Arrays.asList(row.id(),
+          row.studentId(), row.userName(), row.moduleId(), row.moduleCode(), row.score()), out);
+    }
+  }
+
+  /**
+   * Writes every registration in id order.
+   *
+   * @param format output format
+   * @param out response stream
+   * @throws IOException if the client stops reading
+   */
+  public void exportRegistrations(DataFormat format, OutputStream out) throws IOException {
+    try (Stream<RegistrationExportRow> rows = registrationRepository.streamExportRows()) {
+      write(format, REGISTRATION_COLUMNS, rows.iterator(), row -> Arrays.asList(row.id(),
+          row.studentId(), row.userName(), row.moduleId(), row.moduleCode()), out);
+    }
+  }
+
+  /**
+   * Writes every student profile in id order.
+   *
+   * @param format output format
+   * @param out response stream
+   * @throws IOException if the client stops reading
+   */
+  public void exportStudents(DataFormat format, OutputStream out) throws IOException {
+    try (Stream<Student> rows = studentRepository.streamAllByOrderByIdAsc()) {
+      write(format, STUDENT_COLUMNS, rows.iterator(), student -> Arrays.asList(student.getId(),
+          student.getFirstName(), student.getLastName(), student.getUserName(),
+          student.getEmail(), student.getEntryYear(), student.getGraduateYear(),
+          student.getMajor(), student.getTuitionFee(), student.getPaidTuitionFee(),
+          student.getBirthDate(), student.getHomeStudent(), student.getSex()), out);
+    }
+  }
+
+  private <T> void write(DataFormat format, List<String> columns, Iterator<T> rows,
+      Function<T, List<Object>> values, OutputStream out) throws IOException {
+    if (format == DataFormat.CSV) {
+      writeCsv(columns, rows, values, out);
+    } else {
+      writeNdjson(columns, rows, values, out);
+    }
+  }
+
+  private <T> void writeCsv(List<String> columns, Iterator<T> rows,
+      Function<T, List<Object>> values, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(String.join(",", columns));
+    writer.write("\r\n");
+    long written = 0;
+    while (rows.hasNext()) {
+      List<Object> row = values.apply(rows.next());
+      for (int column = 0; column < row.size(); column++) {
+        if (column > 0) {
+          writer.write(',');
+        }
+        writer.write(Csv.escape(row.get(column)));
+      }
+      writer.write("\r\n");
+      if (++written % FLUSH_INTERVAL == 0) {
+        writer.flush();
+        entityManager.clear();
+      }
+    }
+    writer.flush();
+  }
+
+  private <T> void writeNdjson(List<String> columns, Iterator<T> rows,
+      Function<T, List<Object>> values, OutputStream out) throws IOException {
+    JsonGenerator generator = objectMapper.createGenerator(out);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+    long written = 0;
+    while (rows.hasNext()) {
+      List<Object> row = values.apply(rows.next());
+      generator.writeStartObject();
+      for (int column = 0; column < columns.size(); column++) {
+        generator.writeFieldName(columns.get(column));
+        generator.writeObject(row.get(column));
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+      if (++written % FLUSH_INTERVAL == 0) {
+        generator.flush();
+        entityManager.clear();
+      }
+    }
+    generator.close();
+  }
+}
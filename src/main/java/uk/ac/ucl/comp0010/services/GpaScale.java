@@ -0,0 +1,52 @@
+package uk.ac.ucl.comp0010.services;
+
+/**
+ * UK grade bands mapped onto a 4.0 GPA scale.
+ *
+ * <p>70+ -> 4.0, 60-69 -> 3.3, 50-59 -> 2.7, 40-49 -> 2.0, else 0.0. The same bands are exposed
+ * as a JPQL expression so aggregate queries compute GPA in the database with identical rules.
+ */
+public final class GpaScale {
+  private static final int FIRST_BAND = 70;
+  private static final int SECOND_BAND = 60;
+  private static final int THIRD_BAND = 50;
+  private static final int FOURTH_BAND = 40;
+  private static final double FIRST_POINTS = 4.0;
+  private static final double SECOND_POINTS = 3.3;
+  private static final double THIRD_POINTS = 2.7;
+  private static final double FOURTH_POINTS = 2.0;
+  private static final double FAIL_POINTS = 0.0;
+
+  /**
+   * JPQL expression giving the grade points of a grade aliased {@code g}, or null when the alias
+   * is unmatched in an outer join.
+   */
+  public static final String GRADE_POINTS_JPQL = "case when g.score is null then null"
+      + " when g.score >= " + FIRST_BAND + " then " + FIRST_POINTS
+      + " when g.score >= " + SECOND_BAND + " then " + SECOND_POINTS
+      + " when g.score >= " + THIRD_BAND + " then " + THIRD_POINTS
+      + " when g.score >= " + FOURTH_BAND + " then " + FOURTH_POINTS
+      + " else " + FAIL_POINTS + " end";
+
+  private GpaScale() {
+  }
+
+  /**
+   * Converts a score into grade points.
+   *
+   * @param score grade score
+   * @return grade points between 0.0 and 4.0
+   */
+  public static double pointsFor(int score) {
+    if (score >= FIRST_BAND) {
+      return FIRST_POINTS;
+    } else if (score >= SECOND_BAND) {
+      return SECOND_POINTS;
+    } else if (score >= THIRD_BAND) {
+      return THIRD_POINTS;
+    } else if (score >= FOURTH_BAND) {
+      return FOURTH_POINTS;
+    }
+    return FAIL_POINTS;
+  }
+}
@@ -0,0 +1,105 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.projections.StudentModuleKey;
+import uk.ac.ucl.comp0010.services.ImportLookups.Pair;
+import uk.ac.ucl.comp0010.services.ImportLookups.Resolved;
+import uk.ac.ucl.comp0010.services.ImportLookups.Target;
+
+/**
+ * Imports grades identified by student user name and module code. As with
+ * {@link GradeService}, the student must already be registered for the module and may hold only
+ * one grade for it.
+ */
+@Component
+class GradeImporter implements ChunkImporter {
+  static final String INSERT_SQL = "insert into grades (student_id, module_id, score) "
+      + "values (?, ?, ?)";
+
+  private final ImportLookups lookups;
+  private final RegistrationRepository registrationRepository;
+  private final GradeRepository gradeRepository;
+  private final ModuleStatisticsStore moduleStatisticsStore;
+  private final JdbcTemplate jdbcTemplate;
+
+  GradeImporter(ImportLookups lookups, RegistrationRepository registrationRepository,
+      GradeRepository gradeRepository, ModuleStatisticsStore moduleStatisticsStore,
+      JdbcTemplate jdbcTemplate) {
+    this.lookups = lookups;
+    this.registrationRepository = registrationRepository;
+    this.gradeRepository = gradeRepository;
+    this.moduleStatisticsStore = moduleStatisticsStore;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public ImportDataset dataset() {
+    return ImportDataset.GRADES;
+  }
+
+  @Override
+  public List<Long> importChunk(List<ImportRow> rows, BiConsumer<ImportRow, String> reject) {
+    Map<ImportRow, Integer> scores = new HashMap<>();
+    List<ImportRow> scored = new ArrayList<>();
+    for (ImportRow row : rows) {
+      try {
+        Integer score = row.integer("score");
+        if (score == null) {
+          throw new InvalidRequestException("score is required");
+        }
+        scores.put(row, score);
+        scored.add(row);
+      } catch (InvalidRequestException ex) {
+        reject.accept(row, ex.getMessage());
+      }
+    }
+    Resolved resolved = lookups.resolve(scored, reject);
+    if (resolved.isEmpty()) {
+      return List.of();
+    }
+    Set<Pair> registered = new HashSet<>();
+    for (StudentModuleKey key : registrationRepository.findKeys(resolved.studentIds(),
+        resolved.moduleIds())) {
+      registered.add(new Pair(key.studentId(), key.moduleId()));
+    }
+    Set<Pair> graded = new HashSet<>();
+    for (StudentModuleKey key : gradeRepository.findKeys(resolved.studentIds(),
+        resolved.moduleIds())) {
+      graded.add(new Pair(key.studentId(), key.moduleId()));
+    }
+
+    List<Object[]> batch = new ArrayList<>();
+    Set<Pair> inserted = new HashSet<>();
+    for (Map.Entry<ImportRow, Target> entry : resolved.targets().entrySet()) {
+      Target target = entry.getValue();
+      Pair pair = new Pair(target.student().id(), target.module().id());
+      if (!registered.contains(pair)) {
+        reject.accept(entry.getKey(), "Student must be registered before receiving a grade");
+      } else if (!graded.add(pair)) {
+        reject.accept(entry.getKey(), "Grade already recorded for student in module");
+      } else {
+        batch.add(new Object[] {pair.studentId(), pair.moduleId(), scores.get(entry.getKey())});
+        inserted.add(pair);
+      }
+    }
+    if (batch.isEmpty()) {
+      return List.of();
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    moduleStatisticsStore.invalidate();
+    return gradeRepository.findKeys(resolved.studentIds(), resolved.moduleIds()).stream()
+        .filter(key -> inserted.contains(new Pair(key.studentId(), key.moduleId())))
+        .map(StudentModuleKey::id).toList();
+  }
+}
@@ -1,6 +1,11 @@
 package uk.ac.ucl.comp0010.services;
 
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
@@ -21,11 +26,14 @@ import uk.ac.ucl.comp0010.services.OperationLogService.GradeSnapshot;
 @Service
 @Transactional
 public class GradeService {
+  private static final Set<String> SORT_PROPERTIES = Set.of("id", "score");
+
   private final GradeRepository gradeRepository;
   private final StudentRepository studentRepository;
   private final ModuleRepository moduleRepository;
   private final RegistrationRepository registrationRepository;
   private final OperationLogService operationLogService;
+  private final ModuleStatisticsStore moduleStatisticsStore;
 
   /**
    * CTR for Grade Service.
@@ -34,20 +42,48 @@ public class GradeService {
    * @param studentRepository deps inj
    * @param moduleRepository deps inj
    * @param registrationRepository deps inj
+   * @param moduleStatisticsStore deps inj
    */
   public GradeService(GradeRepository gradeRepository, StudentRepository studentRepository,
       ModuleRepository moduleRepository, RegistrationRepository registrationRepository,
-      OperationLogService operationLogService) {
+      OperationLogService operationLogService, ModuleStatisticsStore moduleStatisticsStore) {
     this.gradeRepository = gradeRepository;
     this.studentRepository = studentRepository;
     this.moduleRepository = moduleRepository;
     this.registrationRepository = registrationRepository;
     this.operationLogService = operationLogService;
+    this.moduleStatisticsStore = moduleStatisticsStore;
   }
 
   @Transactional(readOnly = true)
   public List<Grade> getAllGrades() {
-    return (List<Grade>) gradeRepository.findAll();
+    return gradeRepository.findAll();
+  }
+
+  /**
+   * Retrieves one page of grades.
+   *
+   * @param pageable page request; sortable by id and score
+   * @return page of grades
+   */
+  @Transactional(readOnly = true)
+  public Page<Grade> getGradesPage(Pageable pageable) {
+    Paging.checkSort(pageable, SORT_PROPERTIES, "grades");
+    return gradeRepository.findAll(pageable);
+  }
+
+  /**
+   * Retrieves grades in ascending id order, seeking past an id instead of skipping rows.
+   *
+   * @param after id of the last grade already read, or null to start from the beginning
+   * @param size page size
+   * @return slice of grades
+   */
+  @Transactional(readOnly = true)
+  public Slice<Grade> getGradesAfter(Long after, int size) {
+    Limit limit = Paging.keysetLimit(size);
+    Long from = after == null ? 0L : after;
+    return Paging.keysetSlice(gradeRepository.findByIdGreaterThanOrderByIdAsc(from, limit), size);
   }
 
   /**
@@ -89,6 +125,7 @@ public class GradeService {
 
     Grade grade = new Grade(student, module, score);
     Grade saved = gradeRepository.save(grade);
+    moduleStatisticsStore.gradeRecorded(moduleId, saved.getScore());
     operationLogService.logCreation(OperationEntityType.GRADE, saved.getId(),
         new GradeSnapshot(saved.getId(), studentId, moduleId, saved.getScore()),
         String.format("Created grade for %s in %s", student.getUserName(), module.getCode()));
@@ -108,6 +145,7 @@ public class GradeService {
         grade.getModule().getId(), grade.getScore());
     grade.setScore(score);
     Grade saved = gradeRepository.save(grade);
+    moduleStatisticsStore.gradeChanged(snapshot.moduleId(), snapshot.score(), saved.getScore());
     operationLogService.logUpdate(OperationEntityType.GRADE, saved.getId(), snapshot,
         new GradeSnapshot(saved.getId(), grade.getStudent().getId(), grade.getModule().getId(),
             saved.getScore()), String.format("Updated grade %d", saved.getId()));
@@ -124,6 +162,7 @@ public class GradeService {
     GradeSnapshot snapshot = new GradeSnapshot(grade.getId(), grade.getStudent().getId(),
         grade.getModule().getId(), grade.getScore());
     gradeRepository.delete(grade);
+    moduleStatisticsStore.gradeRemoved(snapshot.moduleId(), snapshot.score());
     operationLogService.logDeletion(OperationEntityType.GRADE, id, snapshot,
         String.format("Deleted grade %d", id));
   }
@@ -186,10 +225,12 @@ public class GradeService {
     target.setScore(score);
     Grade saved = gradeRepository.save(target);
     if (previous == null) {
+      moduleStatisticsStore.gradeRecorded(moduleId, saved.getScore());
       operationLogService.logCreation(OperationEntityType.GRADE, saved.getId(),
           new GradeSnapshot(saved.getId(), studentId, moduleId, saved.getScore()),
           String.format("Created grade for %s in %s", student.getUserName(), module.getCode()));
     } else {
+      moduleStatisticsStore.gradeChanged(moduleId, previous.score(), saved.getScore());
       operationLogService.logUpdate(OperationEntityType.GRADE, saved.getId(), previous,
           new GradeSnapshot(saved.getId(), studentId, moduleId, saved.getScore()),
           String.format("Updated grade for %s in %s", student.getUserName(), module.getCode()));
@@ -0,0 +1,44 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.Locale;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+
+/**
+ * Tables that can be loaded through the bulk import endpoint.
+ */
+public enum ImportDataset {
+  STUDENTS(OperationEntityType.STUDENT),
+  MODULES(OperationEntityType.MODULE),
+  REGISTRATIONS(OperationEntityType.REGISTRATION),
+  GRADES(OperationEntityType.GRADE);
+
+  private final OperationEntityType entityType;
+
+  ImportDataset(OperationEntityType entityType) {
+    this.entityType = entityType;
+  }
+
+  public OperationEntityType getEntityType() {
+    return entityType;
+  }
+
+  public String getName() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Resolves a dataset from its path name.
+   *
+   * @param name {@code students}, {@code modules}, {@code registrations} or {@code grades}
+   * @return matching dataset
+   */
+  public static ImportDataset fromName(String name) {
+    for (ImportDataset dataset : values()) {
+      if (dataset.getName().equalsIgnoreCase(name)) {
+        return dataset;
+      }
+    }
+    throw new InvalidRequestException("Unsupported import dataset: " + name);
+  }
+}
@@ -0,0 +1,129 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.stereotype.Component;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleIdentity;
+import uk.ac.ucl.comp0010.repositories.projections.StudentIdentity;
+
+/**
+ * Resolves the student user names and module codes of an import chunk with one query each.
+ */
+@Component
+class ImportLookups {
+  private final StudentRepository studentRepository;
+  private final ModuleRepository moduleRepository;
+
+  ImportLookups(StudentRepository studentRepository, ModuleRepository moduleRepository) {
+    this.studentRepository = studentRepository;
+    this.moduleRepository = moduleRepository;
+  }
+
+  /**
+   * Resolves the {@code userName} and {@code moduleCode} columns of each row, rejecting rows
+   * that leave either blank or name an unknown student or module.
+   *
+   * @param rows rows of the chunk
+   * @param reject receives rejected rows
+   * @return resolved rows in file order
+   */
+  Resolved resolve(List<ImportRow> rows, BiConsumer<ImportRow, String> reject) {
+    Map<ImportRow, String[]> keys = new LinkedHashMap<>();
+    Set<String> userNames = new HashSet<>();
+    Set<String> codes = new HashSet<>();
+    for (ImportRow row : rows) {
+      try {
+        String[] key = {row.required("userName"), row.required("moduleCode")};
+        keys.put(row, key);
+        userNames.add(key[0]);
+        codes.add(key[1]);
+      } catch (InvalidRequestException ex) {
+        reject.accept(row, ex.getMessage());
+      }
+    }
+    Map<ImportRow, Target> targets = new LinkedHashMap<>();
+    if (keys.isEmpty()) {
+      return new Resolved(targets);
+    }
+
+    Map<String, StudentIdentity> students = new HashMap<>();
+    for (StudentIdentity student : studentRepository.findIdentitiesByUserName(userNames)) {
+      students.put(student.userName(), student);
+    }
+    Map<String, ModuleIdentity> modules = new HashMap<>();
+    for (ModuleIdentity module : moduleRepository.findIdentitiesByCode(codes)) {
+      modules.put(module.code(), module);
+    }
+    keys.forEach((row, key) -> {
+      StudentIdentity student = students.get(key[0]);
+      ModuleIdentity module = modules.get(key[1]);
+      if (student == null) {
+        reject.accept(row, "Student not found: " + key[0]);
+      } else if (module == null) {
+        reject.accept(row, "Module not found: " + key[1]);
+      } else {
+        targets.put(row, new Target(student, module));
+      }
+    });
+    return new Resolved(targets);
+  }
+
+  /**
+   * Student and module a row refers to.
+   *
+   * @param student resolved student
+   * @param module resolved module
+   */
+  record Target(StudentIdentity student, ModuleIdentity module) {
+  }
+
+  /**
+   * Student and module identifiers, used to match rows against existing links.
+   *
+   * @param studentId student identifier
+   * @param moduleId module identifier
+   */
+  record Pair(Long studentId, Long moduleId) {
+  }
+
+  /**
+   * Rows of a chunk that resolved to a known student and module.
+   *
+   * @param targets resolved rows in file order
+   */
+  record Resolved(Map<ImportRow, Target> targets) {
+    boolean isEmpty() {
+      return targets.isEmpty();
+    }
+
+    Set<Long> studentIds() {
+      Set<Long> ids = new HashSet<>();
+      targets.values().forEach(target -> ids.add(target.student().id()));
+      return ids;
+    }
+
+    Set<Long> moduleIds() {
+      Set<Long> ids = new HashSet<>();
+      targets.values().forEach(target -> ids.add(target.module().id()));
+      return ids;
+    }
+
+    Set<Long> prerequisiteIds() {
+      Set<Long> ids = new HashSet<>();
+      for (Target target : targets.values()) {
+        if (target.module().prerequisiteId() != null) {
+          ids.add(target.module().prerequisiteId());
+        }
+      }
+      return ids;
+    }
+  }
+}
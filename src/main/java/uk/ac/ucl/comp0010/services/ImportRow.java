@@ -0,0 +1,84 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+
+/**
+ * One row of an import file, keyed by column name. Typed accessors reject malformed values with
+ * an {@link InvalidRequestException} naming the column, which the importer records against the
+ * row.
+ */
+final class ImportRow {
+  private final long number;
+  private final Map<String, String> values;
+
+  ImportRow(long number, Map<String, String> values) {
+    this.number = number;
+    this.values = values;
+  }
+
+  long getNumber() {
+    return number;
+  }
+
+  String text(String column) {
+    String value = values.get(column);
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+
+  String required(String column) {
+    String value = text(column);
+    if (value == null) {
+      throw new InvalidRequestException(column + " is required");
+    }
+    return value;
+  }
+
+  Integer integer(String column) {
+    String value = text(column);
+    try {
+      return value == null ? null : Integer.valueOf(value);
+    } catch (NumberFormatException ex) {
+      throw invalid(column, value);
+    }
+  }
+
+  BigDecimal decimal(String column) {
+    String value = text(column);
+    try {
+      return value == null ? null : new BigDecimal(value);
+    } catch (NumberFormatException ex) {
+      throw invalid(column, value);
+    }
+  }
+
+  LocalDate date(String column) {
+    String value = text(column);
+    try {
+      return value == null ? null : LocalDate.parse(value);
+    } catch (DateTimeParseException ex) {
+      throw invalid(column, value);
+    }
+  }
+
+  Boolean bool(String column) {
+    String value = text(column);
+    if (value == null) {
+      return null;
+    }
+    if ("true".equalsIgnoreCase(value)) {
+      return Boolean.TRUE;
+    }
+    if ("false".equalsIgnoreCase(value)) {
+      return Boolean.FALSE;
+    }
+    throw invalid(column, value);
+  }
+
+  private static InvalidRequestException invalid(String column, String value) {
+    return new InvalidRequestException("Invalid " + column + ": " + value);
+  }
+}
@@ -0,0 +1,129 @@
+package uk.ac.ucl.comp0010.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+
+/**
+ * Pulls rows off an uploaded file one at a time. CSV files name their columns in a header
+ * record; NDJSON files hold one JSON object per line.
+ */
+abstract class ImportRowReader implements Closeable {
+  private long rowNumber;
+
+  /**
+   * Opens a reader for the given format.
+   *
+   * @param format file format
+   * @param in uploaded file
+   * @param objectMapper mapper used to parse NDJSON
+   * @return row reader
+   * @throws IOException if the input cannot be read
+   */
+  static ImportRowReader open(DataFormat format, InputStream in, ObjectMapper objectMapper)
+      throws IOException {
+    return format == DataFormat.CSV ? new CsvRows(in) : new JsonRows(in, objectMapper);
+  }
+
+  /**
+   * Number of the row most recently read, or about to be read when reading fails.
+   *
+   * @return one-based row number
+   */
+  long getRowNumber() {
+    return rowNumber;
+  }
+
+  /**
+   * Reads the next row.
+   *
+   * @return next row, or null at the end of input
+   * @throws InvalidRequestException if this row is malformed but later rows can still be read
+   * @throws IOException if the input is malformed beyond recovery or cannot be read
+   */
+  ImportRow next() throws IOException {
+    rowNumber++;
+    Map<String, String> values = readValues();
+    return values == null ? null : new ImportRow(rowNumber, values);
+  }
+
+  abstract Map<String, String> readValues() throws IOException;
+
+  private static final class CsvRows extends ImportRowReader {
+    private final BufferedReader reader;
+    private final Csv.RecordReader records;
+    private List<String> header;
+
+    private CsvRows(InputStream in) {
+      this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+      this.records = new Csv.RecordReader(reader);
+    }
+
+    @Override
+    Map<String, String> readValues() throws IOException {
+      if (header == null) {
+        header = records.next();
+        if (header == null) {
+          return null;
+        }
+      }
+      List<String> fields = records.next();
+      if (fields == null) {
+        return null;
+      }
+      if (fields.size() != header.size()) {
+        throw new InvalidRequestException("Expected " + header.size() + " fields but found "
+            + fields.size());
+      }
+      Map<String, String> values = new HashMap<>();
+      for (int column = 0; column < header.size(); column++) {
+        values.put(header.get(column).trim(), fields.get(column));
+      }
+      return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+
+  private static final class JsonRows extends ImportRowReader {
+    private final MappingIterator<JsonNode> nodes;
+
+    private JsonRows(InputStream in, ObjectMapper objectMapper) throws IOException {
+      this.nodes = objectMapper.readerFor(JsonNode.class).readValues(in);
+    }
+
+    @Override
+    Map<String, String> readValues() throws IOException {
+      if (!nodes.hasNextValue()) {
+        return null;
+      }
+      JsonNode node = nodes.nextValue();
+      if (!node.isObject()) {
+        throw new InvalidRequestException("Expected a JSON object");
+      }
+      Map<String, String> values = new HashMap<>();
+      for (Map.Entry<String, JsonNode> field : node.properties()) {
+        values.put(field.getKey(), field.getValue().isNull() ? null : field.getValue().asText());
+      }
+      return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+      nodes.close();
+    }
+  }
+}
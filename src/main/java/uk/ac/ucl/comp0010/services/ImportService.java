@@ -0,0 +1,148 @@
+package uk.ac.ucl.comp0010.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.ac.ucl.comp0010.controllers.responses.ImportResultResponse;
+import uk.ac.ucl.comp0010.controllers.responses.ImportResultResponse.RowError;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+
+/**
+ * Loads students, modules, registrations and grades from uploaded NDJSON or CSV files.
+ *
+ * <p>The file is read one row at a time and imported in chunks of {@value #CHUNK_SIZE} rows.
+ * Each chunk is validated with set-based queries, inserted as one JDBC batch and recorded as a
+ * single operation log entry, all in its own transaction. Rejected rows are skipped and reported
+ * without stopping the import; chunks committed before a later failure stay imported.
+ */
+@Service
+public class ImportService {
+  static final int CHUNK_SIZE = 1000;
+  static final int MAX_REPORTED_ERRORS = 200;
+
+  private final Map<ImportDataset, ChunkImporter> importers = new EnumMap<>(ImportDataset.class);
+  private final OperationLogService operationLogService;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates an import service.
+   *
+   * @param importers importer for each dataset
+   * @param operationLogService service recording one entry per imported chunk
+   * @param transactionManager manager used to run each chunk in its own transaction
+   * @param objectMapper mapper used to parse NDJSON
+   */
+  ImportService(List<ChunkImporter> importers, OperationLogService operationLogService,
+      PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+    importers.forEach(importer -> this.importers.put(importer.dataset(), importer));
+    this.operationLogService = operationLogService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Imports every row of a file.
+   *
+   * @param dataset table the rows belong to
+   * @param format file format
+   * @param in uploaded file
+   * @return counts, operation log ids and the first {@value #MAX_REPORTED_ERRORS} row errors
+   * @throws IOException if the upload cannot be read
+   */
+  public ImportResultResponse importFile(ImportDataset dataset, DataFormat format,
+      InputStream in) throws IOException {
+    ChunkImporter importer = importers.get(dataset);
+    if (importer == null) {
+      throw new InvalidRequestException("Unsupported import dataset: " + dataset.getName());
+    }
+    Progress progress = new Progress(dataset);
+    List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+    try (ImportRowReader reader = ImportRowReader.open(format, in, objectMapper)) {
+      while (true) {
+        ImportRow row;
+        try {
+          row = reader.next();
+        } catch (InvalidRequestException ex) {
+          progress.rowsRead++;
+          progress.reject(reader.getRowNumber(), ex.getMessage());
+          continue;
+        } catch (IOException ex) {
+          progress.reject(reader.getRowNumber(), "Unreadable input, import stopped: "
+              + ex.getMessage());
+          break;
+        }
+        if (row == null) {
+          break;
+        }
+        progress.rowsRead++;
+        chunk.add(row);
+        if (chunk.size() == CHUNK_SIZE) {
+          importChunk(importer, chunk, progress);
+          chunk.clear();
+        }
+      }
+    }
+    if (!chunk.isEmpty()) {
+      importChunk(importer, chunk, progress);
+    }
+    return ImportResultResponse.from(dataset.getName(), progress.rowsRead, progress.imported,
+        progress.failed, progress.operationIds, progress.errors);
+  }
+
+  private void importChunk(ChunkImporter importer, List<ImportRow> chunk, Progress progress) {
+    List<RowError> rejected = new ArrayList<>();
+    List<Long> ids;
+    try {
+      ids = transactionTemplate.execute(status -> {
+        List<Long> inserted = importer.importChunk(chunk,
+            (row, message) -> rejected.add(new RowError(row.getNumber(), message)));
+        if (!inserted.isEmpty()) {
+          progress.operationIds.add(operationLogService.logImport(
+              progress.dataset.getEntityType(), inserted, describe(progress.dataset, chunk,
+                  inserted.size())).getId());
+        }
+        return inserted;
+      });
+    } catch (DataAccessException ex) {
+      chunk.forEach(row -> progress.reject(row.getNumber(),
+          "Chunk rolled back: " + ex.getMostSpecificCause().getMessage()));
+      return;
+    }
+    progress.imported += ids == null ? 0 : ids.size();
+    rejected.forEach(error -> progress.reject(error.row(), error.message()));
+  }
+
+  private static String describe(ImportDataset dataset, List<ImportRow> chunk, int inserted) {
+    return String.format("Imported %d %s from rows %d-%d", inserted, dataset.getName(),
+        chunk.get(0).getNumber(), chunk.get(chunk.size() - 1).getNumber());
+  }
+
+  private static final class Progress {
+    private final ImportDataset dataset;
+    private final List<Long> operationIds = new ArrayList<>();
+    private final List<RowError> errors = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long failed;
+
+    private Progress(ImportDataset dataset) {
+      this.dataset = dataset;
+    }
+
+    private void reject(long row, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new RowError(row, message));
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ucl.comp0010.controllers.responses.LeaderboardEntryResponse;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.StudentScoreAggregate;
+
+/**
+ * Ranks students by GPA or average score.
+ *
+ * <p>Per-student aggregates are streamed from the database and passed through a heap bounded at
+ * K entries, so only the K best (or worst) rows are held and ranking costs O(n log K) rather
+ * than a full sort. Student details are then loaded for the selected rows only.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LeaderboardService {
+  static final int MAX_SIZE = 1000;
+
+  private final GradeRepository gradeRepository;
+  private final StudentRepository studentRepository;
+  private final ModuleRepository moduleRepository;
+
+  /**
+   * Creates a leaderboard service.
+   *
+   * @param gradeRepository repository streaming per-student aggregates
+   * @param studentRepository repository for student details
+   * @param moduleRepository repository for module lookups
+   */
+  public LeaderboardService(GradeRepository gradeRepository, StudentRepository studentRepository,
+      ModuleRepository moduleRepository) {
+    this.gradeRepository = gradeRepository;
+    this.studentRepository = studentRepository;
+    this.moduleRepository = moduleRepository;
+  }
+
+  /**
+   * Builds a leaderboard.
+   *
+   * @param metric {@code gpa} or {@code average}
+   * @param size number of students to return, between 1 and {@value #MAX_SIZE}
+   * @param order {@code top} for the highest values or {@code bottom} for the lowest
+   * @param moduleId restricts grades to one module when not null
+   * @return ranked entries, best first for {@code top} and worst first for {@code bottom}
+   */
+  public List<LeaderboardEntryResponse> getLeaderboard(String metric, int size, String order,
+      Long moduleId) {
+    Metric selectedMetric = Metric.parse(metric);
+    boolean top = parseOrder(order);
+    if (size < 1 || size > MAX_SIZE) {
+      throw new InvalidRequestException("Leaderboard size must be between 1 and " + MAX_SIZE);
+    }
+    if (moduleId != null && !moduleRepository.existsById(moduleId)) {
+      throw new ResourceNotFoundException("Module not found with id " + moduleId);
+    }
+
+    // Ranking order: best first for top, worst first for bottom; ties go to the lower id.
+    Comparator<StudentScoreAggregate> ranking =
+        Comparator.comparingDouble(selectedMetric::extract);
+    if (top) {
+      ranking = ranking.reversed();
+    }
+    ranking = ranking.thenComparing(StudentScoreAggregate::getStudentId);
+
+    List<StudentScoreAggregate> selected = selectTop(moduleId, size, ranking);
+    return toResponses(selected);
+  }
+
+  private List<StudentScoreAggregate> selectTop(Long moduleId, int size,
+      Comparator<StudentScoreAggregate> ranking) {
+    // The heap head is the weakest retained entry so it can be evicted in O(log K).
+    Comparator<StudentScoreAggregate> weakestFirst = ranking.reversed();
+    PriorityQueue<StudentScoreAggregate> heap = new PriorityQueue<>(size + 1, weakestFirst);
+    try (Stream<StudentScoreAggregate> rows = gradeRepository.streamStudentAggregates(moduleId)) {
+      rows.forEach(row -> {
+        if (heap.size() < size) {
+          heap.add(row);
+        } else if (ranking.compare(row, heap.peek()) < 0) {
+          heap.poll();
+          heap.add(row);
+        }
+      });
+    }
+    List<StudentScoreAggregate> selected = new ArrayList<>(heap);
+    selected.sort(ranking);
+    return selected;
+  }
+
+  private List<LeaderboardEntryResponse> toResponses(List<StudentScoreAggregate> selected) {
+    List<Long> ids = selected.stream().map(StudentScoreAggregate::getStudentId).toList();
+    Map<Long, Student> students = new HashMap<>();
+    for (Student student : studentRepository.findAllById(ids)) {
+      students.put(student.getId(), student);
+    }
+
+    List<LeaderboardEntryResponse> responses = new ArrayList<>(selected.size());
+    int rank = 1;
+    for (StudentScoreAggregate row : selected) {
+      Student student = students.get(row.getStudentId());
+      if (student == null) {
+        // Deleted between streaming the aggregates and loading the details.
+        continue;
+      }
+      responses.add(LeaderboardEntryResponse.from(rank++, student, row.getAverageScore(),
+          row.getGpa()));
+    }
+    return responses;
+  }
+
+  private static boolean parseOrder(String order) {
+    if ("top".equalsIgnoreCase(order)) {
+      return true;
+    }
+    if ("bottom".equalsIgnoreCase(order)) {
+      return false;
+    }
+    throw new InvalidRequestException("Leaderboard order must be top or bottom");
+  }
+
+  private enum Metric {
+    GPA,
+    AVERAGE;
+
+    private static Metric parse(String value) {
+      try {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException ex) {
+        throw new InvalidRequestException("Leaderboard metric must be gpa or average");
+      }
+    }
+
+    private double extract(StudentScoreAggregate row) {
+      return this == GPA ? row.getGpa() : row.getAverageScore();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleIdentity;
+
+/**
+ * Imports modules. Codes must be unique, and a prerequisite may name an existing module or one
+ * earlier in the same chunk.
+ */
+@Component
+class ModuleImporter implements ChunkImporter {
+  static final String DEFAULT_DEPARTMENT = "Undeclared";
+  static final String INSERT_SQL = "insert into modules (code, name, mnc, department, "
+      + "required_year, prerequisite_module_id) values (?, ?, ?, ?, ?, ?)";
+  static final String LINK_PREREQUISITE_SQL = "update modules set prerequisite_module_id = "
+      + "(select p.id from modules p where p.code = ?) where code = ?";
+
+  private final ModuleRepository moduleRepository;
+  private final ModuleStatisticsStore moduleStatisticsStore;
+  private final JdbcTemplate jdbcTemplate;
+
+  ModuleImporter(ModuleRepository moduleRepository, ModuleStatisticsStore moduleStatisticsStore,
+      JdbcTemplate jdbcTemplate) {
+    this.moduleRepository = moduleRepository;
+    this.moduleStatisticsStore = moduleStatisticsStore;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public ImportDataset dataset() {
+    return ImportDataset.MODULES;
+  }
+
+  @Override
+  public List<Long> importChunk(List<ImportRow> rows, BiConsumer<ImportRow, String> reject) {
+    Map<ImportRow, Object[]> parsed = new LinkedHashMap<>();
+    Map<ImportRow, String> prerequisites = new HashMap<>();
+    for (ImportRow row : rows) {
+      try {
+        Boolean mnc = row.bool("mnc");
+        if (mnc == null) {
+          throw new InvalidRequestException("mnc is required");
+        }
+        String department = row.text("department");
+        parsed.put(row, new Object[] {row.required("code"), row.required("name"), mnc,
+            department == null ? DEFAULT_DEPARTMENT : department, row.integer("requiredYear"),
+            null});
+        String prerequisite = row.text("prerequisiteCode");
+        if (prerequisite != null) {
+          prerequisites.put(row, prerequisite);
+        }
+      } catch (InvalidRequestException ex) {
+        reject.accept(row, ex.getMessage());
+      }
+    }
+    if (parsed.isEmpty()) {
+      return List.of();
+    }
+
+    Set<String> codes = new HashSet<>(prerequisites.values());
+    parsed.values().forEach(values -> codes.add((String) values[0]));
+    Map<String, Long> existing = new HashMap<>();
+    for (ModuleIdentity module : moduleRepository.findIdentitiesByCode(codes)) {
+      existing.put(module.code(), module.id());
+    }
+
+    Set<String> accepted = new HashSet<>();
+    List<Object[]> batch = new ArrayList<>();
+    List<Object[]> links = new ArrayList<>();
+    parsed.forEach((row, values) -> {
+      String code = (String) values[0];
+      String prerequisite = prerequisites.get(row);
+      if (existing.containsKey(code) || accepted.contains(code)) {
+        reject.accept(row, "Module code already exists: " + code);
+      } else if (code.equals(prerequisite)) {
+        reject.accept(row, "Module cannot be its own prerequisite");
+      } else if (prerequisite != null && !existing.containsKey(prerequisite)
+          && !accepted.contains(prerequisite)) {
+        reject.accept(row, "Prerequisite module not found: " + prerequisite);
+      } else {
+        if (prerequisite != null && existing.containsKey(prerequisite)) {
+          values[5] = existing.get(prerequisite);
+        } else if (prerequisite != null) {
+          links.add(new Object[] {prerequisite, code});
+        }
+        accepted.add(code);
+        batch.add(values);
+      }
+    });
+    if (batch.isEmpty()) {
+      return List.of();
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    if (!links.isEmpty()) {
+      jdbcTemplate.batchUpdate(LINK_PREREQUISITE_SQL, links);
+    }
+    moduleStatisticsStore.moduleSaved();
+    return moduleRepository.findIdentitiesByCode(accepted).stream()
+        .map(ModuleIdentity::id).toList();
+  }
+}
@@ -1,6 +1,11 @@
 package uk.ac.ucl.comp0010.services;
 
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ucl.comp0010.exceptions.ResourceConflictException;
@@ -15,12 +20,25 @@ import uk.ac.ucl.comp0010.repositories.ModuleRepository;
 @Service
 @Transactional
 public class ModuleService {
+  private static final Set<String> SORT_PROPERTIES = Set.of("id", "code", "name", "department",
+      "requiredYear");
+
   private final ModuleRepository moduleRepository;
   private final OperationLogService operationLogService;
+  private final ModuleStatisticsStore moduleStatisticsStore;
 
-  public ModuleService(ModuleRepository moduleRepository, OperationLogService operationLogService) {
+  /**
+   * CTR for Module Service.
+   *
+   * @param moduleRepository repository for modules
+   * @param operationLogService operation history recorder
+   * @param moduleStatisticsStore per-module counters notified when modules change
+   */
+  public ModuleService(ModuleRepository moduleRepository, OperationLogService operationLogService,
+      ModuleStatisticsStore moduleStatisticsStore) {
     this.moduleRepository = moduleRepository;
     this.operationLogService = operationLogService;
+    this.moduleStatisticsStore = moduleStatisticsStore;
   }
 
   @Transactional(readOnly = true)
@@ -28,6 +46,32 @@ public class ModuleService {
     return (List<Module>) moduleRepository.findAll();
   }
 
+  /**
+   * Retrieves one page of modules.
+   *
+   * @param pageable page request; sortable by id, code, name, department and requiredYear
+   * @return page of modules
+   */
+  @Transactional(readOnly = true)
+  public Page<Module> getModulesPage(Pageable pageable) {
+    Paging.checkSort(pageable, SORT_PROPERTIES, "modules");
+    return moduleRepository.findAll(pageable);
+  }
+
+  /**
+   * Retrieves modules in ascending id order, seeking past an id instead of skipping rows.
+   *
+   * @param after id of the last module already read, or null to start from the beginning
+   * @param size page size
+   * @return slice of modules
+   */
+  @Transactional(readOnly = true)
+  public Slice<Module> getModulesAfter(Long after, int size) {
+    Limit limit = Paging.keysetLimit(size);
+    Long from = after == null ? 0L : after;
+    return Paging.keysetSlice(moduleRepository.findByIdGreaterThanOrderByIdAsc(from, limit), size);
+  }
+
   /**
    * Retrieves a module by id.
    *
@@ -58,6 +102,7 @@ public class ModuleService {
     validatePrerequisite(module);
     ensureDepartmentProvided(module);
     Module saved = moduleRepository.save(module);
+    moduleStatisticsStore.moduleSaved();
     operationLogService.logCreation(OperationEntityType.MODULE, saved.getId(), saved,
         String.format("Created module %s", saved.getCode()));
     return saved;
@@ -79,10 +124,13 @@ public class ModuleService {
 
     validatePrerequisite(updated);
     ensureDepartmentProvided(updated);
-    Module snapshot = operationLogService.copyOf(existing, Module.class);
+    Object[] before = EntityFields.MODULE.capture(existing);
     applyUpdatedFields(existing, updated);
     Module saved = moduleRepository.save(existing);
-    operationLogService.logUpdate(OperationEntityType.MODULE, saved.getId(), snapshot, saved,
+    moduleStatisticsStore.moduleSaved();
+    EntityFields.Delta changes = EntityFields.MODULE.diff(before, saved);
+    operationLogService.logChanges(OperationEntityType.MODULE, saved.getId(),
+        changes.previous(), changes.current(),
         String.format("Updated module %s", saved.getCode()));
     return saved;
   }
@@ -96,6 +144,7 @@ public class ModuleService {
     Module module = getModule(id);
     Module snapshot = operationLogService.copyOf(module, Module.class);
     moduleRepository.delete(module);
+    moduleStatisticsStore.moduleRemoved(id);
     operationLogService.logDeletion(OperationEntityType.MODULE, id, snapshot,
         String.format("Deleted module %s", module.getCode()));
   }
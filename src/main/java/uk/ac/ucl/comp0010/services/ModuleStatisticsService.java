@@ -2,17 +2,17 @@ package uk.ac.ucl.comp0010.services;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ucl.comp0010.controllers.responses.ModuleDistributionResponse;
 import uk.ac.ucl.comp0010.controllers.responses.ModuleStatisticsResponse;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
-import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Module;
-import uk.ac.ucl.comp0010.models.Registration;
-import uk.ac.ucl.comp0010.repositories.GradeRepository;
 import uk.ac.ucl.comp0010.repositories.ModuleRepository;
-import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
 import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.services.ModuleStatisticsStore.ModuleCounts;
 
 /**
  * Computes statistics for modules.
@@ -22,33 +22,49 @@ import uk.ac.ucl.comp0010.repositories.StudentRepository;
 public class ModuleStatisticsService {
   private final ModuleRepository moduleRepository;
   private final StudentRepository studentRepository;
-  private final RegistrationRepository registrationRepository;
-  private final GradeRepository gradeRepository;
+  private final ModuleStatisticsStore moduleStatisticsStore;
+  private final WriteEpoch writeEpoch;
+  private final VersionedCache<Long, ModuleStatisticsResponse> statisticsCache =
+      new VersionedCache<>();
+  private final VersionedCache<Boolean, List<ModuleStatisticsResponse>> allStatisticsCache =
+      new VersionedCache<>();
 
   /**
-   * Creates a statistics service with access to module, student, registration, and grade data.
+   * Creates a statistics service backed by the incrementally maintained module counters.
+   * Responses are cached until the next committed write advances the {@link WriteEpoch}.
    */
   public ModuleStatisticsService(ModuleRepository moduleRepository,
-      StudentRepository studentRepository, RegistrationRepository registrationRepository,
-      GradeRepository gradeRepository) {
+      StudentRepository studentRepository, ModuleStatisticsStore moduleStatisticsStore,
+      WriteEpoch writeEpoch) {
     this.moduleRepository = moduleRepository;
     this.studentRepository = studentRepository;
-    this.registrationRepository = registrationRepository;
-    this.gradeRepository = gradeRepository;
+    this.moduleStatisticsStore = moduleStatisticsStore;
+    this.writeEpoch = writeEpoch;
   }
 
   /**
    * Builds statistics for every module available.
    *
+   * <p>Registration and grade figures are read from {@link ModuleStatisticsStore}, so no grade
+   * or registration rows are scanned.
+   *
    * @return list of module statistics
    */
   public List<ModuleStatisticsResponse> getAllStatistics() {
-    Iterable<Module> modules = moduleRepository.findAll();
+    return allStatisticsCache.get(writeEpoch.current(), Boolean.TRUE,
+        this::computeAllStatistics);
+  }
+
+  private List<ModuleStatisticsResponse> computeAllStatistics() {
+    long totalStudents = studentRepository.count();
+    Map<Long, ModuleCounts> counts = moduleStatisticsStore.allCounts();
+
     List<ModuleStatisticsResponse> responses = new ArrayList<>();
-    for (Module module : modules) {
-      responses.add(buildStatisticsFor(module));
+    for (Module module : moduleRepository.findAllWithPrerequisite()) {
+      responses.add(buildStatisticsFor(module, totalStudents,
+          counts.getOrDefault(module.getId(), ModuleCounts.EMPTY)));
     }
-    return responses;
+    return List.copyOf(responses);
   }
 
   /**
@@ -58,25 +74,77 @@ public class ModuleStatisticsService {
    * @return populated statistics response
    */
   public ModuleStatisticsResponse getStatistics(Long moduleId) {
+    return statisticsCache.get(writeEpoch.current(), moduleId,
+        () -> computeStatistics(moduleId));
+  }
+
+  private ModuleStatisticsResponse computeStatistics(Long moduleId) {
     Module module = moduleRepository.findById(moduleId).orElseThrow(
         () -> new ResourceNotFoundException("Module not found with id " + moduleId));
-    return buildStatisticsFor(module);
+    return buildStatisticsFor(module, studentRepository.count(),
+        moduleStatisticsStore.countsFor(moduleId));
   }
 
-  private ModuleStatisticsResponse buildStatisticsFor(Module module) {
-    long totalStudents = studentRepository.count();
-    List<Registration> registrations = registrationRepository.findAllByModule(module);
+  /**
+   * Builds the score distribution for every module available.
+   *
+   * @param bucketWidth number of scores per histogram bucket
+   * @param percentiles additional percentiles to report, each between 0 and 100
+   * @return list of module distributions
+   */
+  public List<ModuleDistributionResponse> getAllDistributions(int bucketWidth,
+      List<Double> percentiles) {
+    validateDistributionRequest(bucketWidth, percentiles);
+    Map<Long, ScoreHistogram> histograms = moduleStatisticsStore.allHistograms();
+
+    List<ModuleDistributionResponse> responses = new ArrayList<>();
+    for (Module module : moduleRepository.findAllWithPrerequisite()) {
+      responses.add(ModuleDistributionResponse.from(module,
+          histograms.getOrDefault(module.getId(), ScoreHistogram.EMPTY), bucketWidth,
+          percentiles));
+    }
+    return responses;
+  }
+
+  /**
+   * Builds the score distribution for a single module.
+   *
+   * @param moduleId module identifier
+   * @param bucketWidth number of scores per histogram bucket
+   * @param percentiles additional percentiles to report, each between 0 and 100
+   * @return populated distribution response
+   */
+  public ModuleDistributionResponse getDistribution(Long moduleId, int bucketWidth,
+      List<Double> percentiles) {
+    validateDistributionRequest(bucketWidth, percentiles);
+    Module module = moduleRepository.findById(moduleId).orElseThrow(
+        () -> new ResourceNotFoundException("Module not found with id " + moduleId));
+    return ModuleDistributionResponse.from(module, moduleStatisticsStore.histogramFor(moduleId),
+        bucketWidth, percentiles);
+  }
+
+  private static void validateDistributionRequest(int bucketWidth, List<Double> percentiles) {
+    if (bucketWidth < 1 || bucketWidth > ScoreHistogram.MAX_SCORE) {
+      throw new InvalidRequestException(
+          "Bucket width must be between 1 and " + ScoreHistogram.MAX_SCORE);
+    }
+    for (Double percentile : percentiles) {
+      if (percentile == null || percentile < 0 || percentile > 100) {
+        throw new InvalidRequestException("Percentiles must be between 0 and 100");
+      }
+    }
+  }
+
+  private ModuleStatisticsResponse buildStatisticsFor(Module module, long totalStudents,
+      ModuleCounts counts) {
     double selectionRate = totalStudents == 0 ? 0.0
-        : (double) registrations.size() / (double) totalStudents;
+        : (double) counts.registrationCount() / (double) totalStudents;
 
-    List<Grade> grades = gradeRepository.findAllByModule(module);
-    long totalGrades = grades.size();
-    long passingGrades = grades.stream().filter(grade -> grade.getScore() >= 60).count();
+    long totalGrades = counts.totalGrades();
+    long passingGrades = counts.passingGrades();
     Double passRate = totalGrades == 0 ? null : (double) passingGrades / (double) totalGrades;
-    Double averageGrade = totalGrades == 0 ? null
-        : grades.stream().mapToInt(Grade::getScore).average().orElse(0.0);
 
-    return ModuleStatisticsResponse.from(module, (long) registrations.size(), totalStudents,
-        selectionRate, totalGrades, passingGrades, passRate, averageGrade);
+    return ModuleStatisticsResponse.from(module, counts.registrationCount(), totalStudents,
+        selectionRate, totalGrades, passingGrades, passRate, counts.averageGrade());
   }
 }
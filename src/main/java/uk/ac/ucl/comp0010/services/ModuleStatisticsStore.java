@@ -0,0 +1,360 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleRegistrationCount;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleScoreCount;
+
+/**
+ * In-memory per-module counters kept current by the grade and registration write paths.
+ *
+ * <p>Alongside the running totals each module keeps a {@link ScoreHistogram} slot per possible
+ * score, so distributions can be answered without loading grades.
+ *
+ * <p>Deltas are applied once the writing transaction commits, so rolled back changes never reach
+ * the counters. Writes whose effect cannot be expressed as a delta (such as cascading deletes)
+ * mark the store stale, and the next read rebuilds it from grouped aggregate queries. A scheduled
+ * reconciliation performs the same rebuild, reports any drift it finds and advances the
+ * {@link WriteEpoch} when it corrects some.
+ *
+ * <p>A transaction carrying deltas holds the shared side of a commit gate from just before it
+ * commits until its deltas are applied, and a rebuild holds the exclusive side while the aggregate
+ * queries run and the counters are swapped. Every delta is therefore either committed and applied
+ * before the queries read, or committed after the new counters are in place, so none is lost or
+ * counted twice. Delta-carrying commits wait for the queries; writes made outside a transaction
+ * are applied under the gate but their rows may already be visible to a running rebuild.
+ *
+ * <p>Registered {@link ChangeListener}s are told about every committed change, so caches
+ * derived from the same data can be evicted at the same point.
+ */
+@Service
+public class ModuleStatisticsStore {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModuleStatisticsStore.class);
+  private static final int PASS_MARK = 60;
+
+  private final RegistrationRepository registrationRepository;
+  private final GradeRepository gradeRepository;
+  private final WriteEpoch writeEpoch;
+  private final Object rebuildLock = new Object();
+  private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock(true);
+  private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+  private volatile Map<Long, Counters> counters = new ConcurrentHashMap<>();
+  private volatile boolean stale = true;
+
+  /**
+   * Creates a store that rebuilds itself from registration and grade aggregates.
+   *
+   * @param registrationRepository repository for registrations
+   * @param gradeRepository repository for grades
+   * @param writeEpoch version advanced when reconciliation corrects the counters
+   */
+  public ModuleStatisticsStore(RegistrationRepository registrationRepository,
+      GradeRepository gradeRepository, WriteEpoch writeEpoch) {
+    this.registrationRepository = registrationRepository;
+    this.gradeRepository = gradeRepository;
+    this.writeEpoch = writeEpoch;
+  }
+
+  public void addListener(ChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  public void registrationAdded(Long moduleId) {
+    applyAfterCommit(moduleId, target -> target.registrations.incrementAndGet());
+  }
+
+  public void registrationRemoved(Long moduleId) {
+    applyAfterCommit(moduleId, target -> target.registrations.decrementAndGet());
+  }
+
+  public void gradeRecorded(Long moduleId, int score) {
+    applyAfterCommit(moduleId, target -> target.add(score, 1));
+  }
+
+  public void gradeRemoved(Long moduleId, int score) {
+    applyAfterCommit(moduleId, target -> target.add(score, -1));
+  }
+
+  /**
+   * Records a score change on an existing grade.
+   *
+   * @param moduleId module the grade belongs to
+   * @param previousScore score before the change
+   * @param newScore score after the change
+   */
+  public void gradeChanged(Long moduleId, int previousScore, int newScore) {
+    applyAfterCommit(moduleId, target -> {
+      target.add(previousScore, -1);
+      target.add(newScore, 1);
+    });
+  }
+
+  /**
+   * Records that a module was created or its details changed. Counters are unaffected, but
+   * listeners are told because the module may have moved between departments.
+   */
+  public void moduleSaved() {
+    TransactionHooks.afterCommit(this::notifyAllChanged);
+  }
+
+  /**
+   * Drops the counters of a deleted module.
+   *
+   * @param moduleId module identifier
+   */
+  public void moduleRemoved(Long moduleId) {
+    TransactionHooks.afterCommit(() -> {
+      counters.remove(moduleId);
+      notifyAllChanged();
+    }, commitGate.readLock());
+  }
+
+  /**
+   * Marks the store stale so the next read rebuilds it from the database.
+   */
+  public void invalidate() {
+    TransactionHooks.afterCommit(() -> {
+      stale = true;
+      notifyAllChanged();
+    }, commitGate.readLock());
+  }
+
+  /**
+   * Returns the current counts for a module.
+   *
+   * @param moduleId module identifier
+   * @return counts, all zero if nothing has been recorded for the module
+   */
+  public ModuleCounts countsFor(Long moduleId) {
+    ensureFresh();
+    Counters current = counters.get(moduleId);
+    return current == null ? ModuleCounts.EMPTY : current.toCounts();
+  }
+
+  /**
+   * Returns the current counts for every module with recorded activity.
+   *
+   * @return counts keyed by module identifier
+   */
+  public Map<Long, ModuleCounts> allCounts() {
+    ensureFresh();
+    Map<Long, ModuleCounts> result = new HashMap<>();
+    counters.forEach((moduleId, value) -> result.put(moduleId, value.toCounts()));
+    return result;
+  }
+
+  /**
+   * Returns the current score distribution for a module.
+   *
+   * @param moduleId module identifier
+   * @return histogram, empty if nothing has been recorded for the module
+   */
+  public ScoreHistogram histogramFor(Long moduleId) {
+    ensureFresh();
+    Counters current = counters.get(moduleId);
+    return current == null ? ScoreHistogram.EMPTY : current.toHistogram();
+  }
+
+  /**
+   * Returns the current score distribution for every module with recorded activity.
+   *
+   * @return histograms keyed by module identifier
+   */
+  public Map<Long, ScoreHistogram> allHistograms() {
+    ensureFresh();
+    Map<Long, ScoreHistogram> result = new HashMap<>();
+    counters.forEach((moduleId, value) -> result.put(moduleId, value.toHistogram()));
+    return result;
+  }
+
+  /**
+   * Rebuilds the counters from scratch and reports how many modules had drifted.
+   *
+   * @return number of modules whose counts differed from the rebuilt values
+   */
+  @Scheduled(initialDelayString = "${statistics.reconcile-interval-ms:600000}",
+      fixedDelayString = "${statistics.reconcile-interval-ms:600000}")
+  public int reconcile() {
+    int drifted;
+    synchronized (rebuildLock) {
+      drifted = rebuild();
+    }
+    if (drifted > 0) {
+      LOGGER.warn("Module statistics drifted for {} module(s); counters rebuilt", drifted);
+      writeEpoch.advance();
+      notifyAllChanged();
+    }
+    return drifted;
+  }
+
+  private void ensureFresh() {
+    // A read made from another commit hook while this thread holds the gate cannot wait for the
+    // exclusive side, so it is answered from the current counters.
+    if (stale && commitGate.getReadHoldCount() == 0) {
+      synchronized (rebuildLock) {
+        if (stale) {
+          rebuild();
+        }
+      }
+    }
+  }
+
+  /**
+   * Reloads the counters from the database with delta-carrying commits held at the gate. The
+   * caller holds {@code rebuildLock}.
+   *
+   * @return number of modules whose counts differed, or zero if the old counters were stale
+   */
+  private int rebuild() {
+    commitGate.writeLock().lock();
+    try {
+      Map<Long, Counters> rebuilt = load();
+      int drifted = stale ? 0 : countDrifted(counters, rebuilt);
+      counters = rebuilt;
+      stale = false;
+      return drifted;
+    } finally {
+      commitGate.writeLock().unlock();
+    }
+  }
+
+  private Map<Long, Counters> load() {
+    Map<Long, Counters> rebuilt = new ConcurrentHashMap<>();
+    for (ModuleRegistrationCount count : registrationRepository.countByModuleGrouped()) {
+      rebuilt.computeIfAbsent(count.moduleId(), id -> new Counters())
+          .registrations.set(count.registrationCount());
+    }
+    for (ModuleScoreCount count : gradeRepository.countScoresByModule()) {
+      rebuilt.computeIfAbsent(count.moduleId(), id -> new Counters())
+          .add(count.score(), count.gradeCount());
+    }
+    return rebuilt;
+  }
+
+  private void applyAfterCommit(Long moduleId, Consumer<Counters> change) {
+    TransactionHooks.afterCommit(() -> {
+      change.accept(counters.computeIfAbsent(moduleId, id -> new Counters()));
+      for (ChangeListener listener : listeners) {
+        listener.moduleChanged(moduleId);
+      }
+    }, commitGate.readLock());
+  }
+
+  private void notifyAllChanged() {
+    for (ChangeListener listener : listeners) {
+      listener.allChanged();
+    }
+  }
+
+  private static int countDrifted(Map<Long, Counters> current, Map<Long, Counters> rebuilt) {
+    int drifted = 0;
+    for (Long moduleId : union(current, rebuilt)) {
+      if (!sameValues(rebuilt.get(moduleId), current.get(moduleId))) {
+        drifted++;
+      }
+    }
+    return drifted;
+  }
+
+  private static Set<Long> union(Map<Long, Counters> first, Map<Long, Counters> second) {
+    Set<Long> keys = new HashSet<>(first.keySet());
+    keys.addAll(second.keySet());
+    return keys;
+  }
+
+  private static boolean sameValues(Counters first, Counters second) {
+    Counters left = first == null ? new Counters() : first;
+    Counters right = second == null ? new Counters() : second;
+    return left.toCounts().equals(right.toCounts())
+        && Arrays.equals(left.snapshotHistogram(), right.snapshotHistogram());
+  }
+
+  private static final class Counters {
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicLong grades = new AtomicLong();
+    private final AtomicLong passing = new AtomicLong();
+    private final AtomicLong scoreSum = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(ScoreHistogram.SLOTS);
+
+    private void add(int score, long delta) {
+      grades.addAndGet(delta);
+      scoreSum.addAndGet(score * delta);
+      if (score >= PASS_MARK) {
+        passing.addAndGet(delta);
+      }
+      histogram.addAndGet(ScoreHistogram.slotFor(score), delta);
+    }
+
+    private long[] snapshotHistogram() {
+      long[] copy = new long[ScoreHistogram.SLOTS];
+      for (int slot = 0; slot < copy.length; slot++) {
+        copy[slot] = histogram.get(slot);
+      }
+      return copy;
+    }
+
+    private ScoreHistogram toHistogram() {
+      return new ScoreHistogram(snapshotHistogram());
+    }
+
+    private ModuleCounts toCounts() {
+      return new ModuleCounts(registrations.get(), grades.get(), passing.get(), scoreSum.get());
+    }
+  }
+
+  /**
+   * Callback for caches that must be evicted when module statistics change.
+   */
+  public interface ChangeListener {
+    /**
+     * Called after a committed registration or grade change in one module.
+     *
+     * @param moduleId module whose figures changed
+     */
+    void moduleChanged(Long moduleId);
+
+    /**
+     * Called after a committed change that may affect any module.
+     */
+    void allChanged();
+  }
+
+  /**
+   * Immutable view of the counters held for one module.
+   *
+   * @param registrationCount number of registrations
+   * @param totalGrades number of grades
+   * @param passingGrades number of grades at or above the pass mark
+   * @param scoreSum sum of all grade scores
+   */
+  public record ModuleCounts(long registrationCount, long totalGrades, long passingGrades,
+      long scoreSum) {
+    static final ModuleCounts EMPTY = new ModuleCounts(0, 0, 0, 0);
+
+    /**
+     * Mean score, or null when no grades are recorded.
+     *
+     * @return average grade
+     */
+    public Double averageGrade() {
+      return totalGrades == 0 ? null : (double) scoreSum / (double) totalGrades;
+    }
+  }
+}
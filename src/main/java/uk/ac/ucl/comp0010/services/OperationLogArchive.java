@@ -0,0 +1,257 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.repositories.OperationLogFilter;
+import uk.ac.ucl.comp0010.repositories.OperationLogRepository;
+
+/**
+ * Moves operation log entries past their retention period out of the database into
+ * {@link ArchiveSegment} files, and answers lookups against them.
+ *
+ * <p>Each archival pass writes the oldest entries to a new segment and deletes them from
+ * {@code operation_logs} in the same transaction, so the live table only holds recent history.
+ * If the process stops after a segment is written but before the delete commits, the next pass
+ * finds those entries in the newest segment and only deletes them. Segments in the directory
+ * are opened at startup whether or not archival is enabled, so archived entries stay readable.
+ */
+@Service
+public class OperationLogArchive {
+  static final int SEGMENT_RECORDS = 10_000;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OperationLogArchive.class);
+  private static final String PREFIX = "segment-";
+
+  private final OperationLogRepository operationLogRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Path directory;
+  private final Duration retention;
+  private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+  private Set<Long> lastSegmentIds = Set.of();
+  private long nextSequence = 1;
+
+  /**
+   * Creates the archive and opens the segments already in its directory.
+   *
+   * @param operationLogRepository repository entries are moved out of
+   * @param transactionManager manager for the archival transactions
+   * @param enabled whether scheduled archival runs
+   * @param directory directory holding the segment files
+   * @param retentionDays age in days after which entries are archived
+   */
+  public OperationLogArchive(OperationLogRepository operationLogRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${operation-log.archive.enabled:false}") boolean enabled,
+      @Value("${operation-log.archive.directory:operation-log-archive}") String directory,
+      @Value("${operation-log.archive.retention-days:90}") int retentionDays) {
+    this.operationLogRepository = operationLogRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+    this.retention = Duration.ofDays(retentionDays);
+    openSegments();
+  }
+
+  /**
+   * Whether any entries have been archived.
+   *
+   * @return true when at least one segment exists
+   */
+  public boolean hasEntries() {
+    return !segments.isEmpty();
+  }
+
+  /**
+   * Archives entries older than the retention period when archival is enabled.
+   *
+   * @return number of entries removed from the live table
+   */
+  @Scheduled(initialDelayString = "${operation-log.archive.interval-ms:3600000}",
+      fixedDelayString = "${operation-log.archive.interval-ms:3600000}")
+  public int archiveExpired() {
+    if (!enabled) {
+      return 0;
+    }
+    return archiveOlderThan(Instant.now().minus(retention));
+  }
+
+  /**
+   * Moves every entry recorded before the cutoff into segments of up to
+   * {@value #SEGMENT_RECORDS} entries.
+   *
+   * @param cutoff entries with an earlier timestamp are archived
+   * @return number of entries removed from the live table
+   */
+  public synchronized int archiveOlderThan(Instant cutoff) {
+    int archived = 0;
+    int moved;
+    do {
+      moved = Objects.requireNonNull(transactionTemplate.execute(status -> archiveBatch(cutoff)));
+      archived += moved;
+    } while (moved > 0);
+    if (archived > 0) {
+      LOGGER.info("Archived {} operation log entries recorded before {}", archived, cutoff);
+    }
+    return archived;
+  }
+
+  /**
+   * Looks up an archived entry.
+   *
+   * @param id entry identifier
+   * @return the entry, if archived
+   */
+  public Optional<OperationLog> find(Long id) {
+    for (int index = segments.size() - 1; index >= 0; index--) {
+      Optional<OperationLog> log = segments.get(index).find(id);
+      if (log.isPresent()) {
+        return log;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Reads archived entries newest first in (timestamp, id) order.
+   *
+   * <p>Segments are visited newest first. Once {@code limit} entries are held, a segment whose
+   * newest entry is older than all of them cannot contribute and is not read; neither are
+   * segments whose entity filter rules out the entity asked for.
+   *
+   * @param filter conditions to apply
+   * @param cursorTimestamp only entries before this (timestamp, id) pair, or null for no cursor
+   * @param cursorId id completing the cursor
+   * @param limit most entries to return
+   * @return matching entries
+   */
+  public List<OperationLog> findNewest(OperationLogFilter filter, Instant cursorTimestamp,
+      Long cursorId, int limit) {
+    if (segments.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    Predicate<OperationLog> matches = matcher(filter, cursorTimestamp, cursorId);
+    Instant upper = earliest(filter.to(), cursorTimestamp);
+    OperationEntityType entityType = filter.entityId() == null ? null : filter.entityType();
+    List<OperationLog> found = new ArrayList<>();
+    for (int index = segments.size() - 1; index >= 0; index--) {
+      ArchiveSegment segment = segments.get(index);
+      Instant newest = segment.newest();
+      if (newest == null || (found.size() == limit
+          && newest.isBefore(found.get(limit - 1).getTimestamp()))) {
+        continue;
+      }
+      segment.collectNewest(filter.from(), upper, entityType, filter.entityId(), matches, limit,
+          found);
+      found.sort(ArchiveSegment.ORDER.reversed());
+      if (found.size() > limit) {
+        found.subList(limit, found.size()).clear();
+      }
+    }
+    return found;
+  }
+
+  private int archiveBatch(Instant cutoff) {
+    List<OperationLog> expired = operationLogRepository
+        .findByTimestampBeforeOrderByTimestampAscIdAsc(cutoff, Limit.of(SEGMENT_RECORDS));
+    if (expired.isEmpty()) {
+      return 0;
+    }
+    List<Long> ids = expired.stream().map(OperationLog::getId).toList();
+    List<OperationLog> fresh = expired.stream()
+        .filter(log -> !lastSegmentIds.contains(log.getId()))
+        .toList();
+    if (!fresh.isEmpty()) {
+      try {
+        Files.createDirectories(directory);
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, nextSequence,
+            ArchiveSegment.SUFFIX));
+        segments.add(ArchiveSegment.write(path, fresh));
+        nextSequence++;
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Unable to write operation log segment", ex);
+      }
+      lastSegmentIds = new HashSet<>(fresh.stream().map(OperationLog::getId).toList());
+    }
+    operationLogRepository.deleteByIdIn(ids);
+    return expired.size();
+  }
+
+  private void openSegments() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Path> paths = files
+          .filter(path -> path.getFileName().toString().startsWith(PREFIX))
+          .filter(path -> path.getFileName().toString().endsWith(ArchiveSegment.SUFFIX))
+          .sorted()
+          .toList();
+      for (Path path : paths) {
+        segments.add(ArchiveSegment.open(path));
+      }
+      if (!paths.isEmpty()) {
+        String last = paths.get(paths.size() - 1).getFileName().toString();
+        nextSequence = Long.parseLong(last.substring(PREFIX.length(),
+            last.length() - ArchiveSegment.SUFFIX.length())) + 1;
+        lastSegmentIds = new HashSet<>(segments.get(segments.size() - 1).readAll().stream()
+            .map(OperationLog::getId).toList());
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Unable to open operation log archive " + directory, ex);
+    }
+  }
+
+  private static Predicate<OperationLog> matcher(OperationLogFilter filter,
+      Instant cursorTimestamp, Long cursorId) {
+    return log -> (filter.entityType() == null || filter.entityType() == log.getEntityType())
+        && (filter.entityType() == null || filter.entityId() == null
+            || filter.entityId().equals(log.getEntityId()) || imports(log, filter.entityId()))
+        && (filter.operationType() == null || filter.operationType() == log.getOperationType())
+        && (filter.username() == null || filter.username().equals(log.getUsername()))
+        && (filter.from() == null || !log.getTimestamp().isBefore(filter.from()))
+        && (filter.to() == null || log.getTimestamp().isBefore(filter.to()))
+        && (cursorTimestamp == null || log.getTimestamp().isBefore(cursorTimestamp)
+            || (log.getTimestamp().equals(cursorTimestamp) && log.getId() < cursorId));
+  }
+
+  private static boolean imports(OperationLog log, long entityId) {
+    for (long id : ArchiveSegment.importedIds(log)) {
+      if (id == entityId) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Instant earliest(Instant first, Instant second) {
+    if (first == null) {
+      return second;
+    }
+    return second == null || first.isBefore(second) ? first : second;
+  }
+}
@@ -1,13 +1,29 @@
 package uk.ac.ucl.comp0010.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Module;
@@ -18,9 +34,11 @@ import uk.ac.ucl.comp0010.models.Registration;
 import uk.ac.ucl.comp0010.models.Student;
 import uk.ac.ucl.comp0010.repositories.GradeRepository;
 import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.OperationLogFilter;
 import uk.ac.ucl.comp0010.repositories.OperationLogRepository;
 import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
 import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
 
 /**
  * Records admin operations and provides reversion support.
@@ -28,12 +46,20 @@ import uk.ac.ucl.comp0010.repositories.StudentRepository;
 @Service
 @Transactional
 public class OperationLogService {
+  static final int MAX_BATCH_REVERT = 10_000;
+  private static final Set<String> SORT_PROPERTIES = Set.of("id", "timestamp", "operationType",
+      "entityType", "username");
+
   private final OperationLogRepository operationLogRepository;
   private final ObjectMapper objectMapper;
   private final StudentRepository studentRepository;
   private final ModuleRepository moduleRepository;
   private final RegistrationRepository registrationRepository;
   private final GradeRepository gradeRepository;
+  private final ModuleStatisticsStore moduleStatisticsStore;
+  private final WriteEpoch writeEpoch;
+  private final OperationLogArchive operationLogArchive;
+  private final EntityManager entityManager;
 
   /**
    * Creates a service for recording and reverting admin operations.
@@ -44,17 +70,27 @@ public class OperationLogService {
    * @param moduleRepository repository for modules
    * @param registrationRepository repository for registrations
    * @param gradeRepository repository for grades
+   * @param moduleStatisticsStore per-module counters kept in step with reverted changes
+   * @param writeEpoch data version advanced with every recorded operation
+   * @param operationLogArchive segment files holding entries past their retention period
+   * @param entityManager persistence context flushed between the steps of a batch revert
    */
   public OperationLogService(OperationLogRepository operationLogRepository,
       ObjectMapper objectMapper, StudentRepository studentRepository,
       ModuleRepository moduleRepository, RegistrationRepository registrationRepository,
-      GradeRepository gradeRepository) {
+      GradeRepository gradeRepository, ModuleStatisticsStore moduleStatisticsStore,
+      WriteEpoch writeEpoch, OperationLogArchive operationLogArchive,
+      EntityManager entityManager) {
     this.operationLogRepository = operationLogRepository;
     this.objectMapper = objectMapper;
     this.studentRepository = studentRepository;
     this.moduleRepository = moduleRepository;
     this.registrationRepository = registrationRepository;
     this.gradeRepository = gradeRepository;
+    this.moduleStatisticsStore = moduleStatisticsStore;
+    this.writeEpoch = writeEpoch;
+    this.operationLogArchive = operationLogArchive;
+    this.entityManager = entityManager;
   }
 
   @Transactional(readOnly = true)
@@ -62,6 +98,95 @@ public class OperationLogService {
     return operationLogRepository.findAllByOrderByTimestampDesc();
   }
 
+  /**
+   * Retrieves one page of the operations still in the live table.
+   *
+   * @param pageable page request; sortable by id, timestamp, operationType, entityType and
+   *     username
+   * @return page of operations
+   */
+  @Transactional(readOnly = true)
+  public Page<OperationLog> getOperationsPage(Pageable pageable) {
+    Paging.checkSort(pageable, SORT_PROPERTIES, "operations");
+    return operationLogRepository.findAll(pageable);
+  }
+
+  /**
+   * Retrieves operations newest first in (timestamp, id) order, seeking past the last entry read
+   * instead of skipping rows. Entries are returned without their state snapshots. Once the live
+   * table runs out, the page continues with archived entries, which are all older.
+   *
+   * @param after id of the last operation already read, or null to start from the newest
+   * @param size page size
+   * @param entityType entity type to filter on, or null
+   * @param entityId entity id to filter on, or null; requires an entity type
+   * @param operationType operation type to filter on, or null
+   * @param username user to filter on, or null
+   * @param from ISO-8601 instant of the earliest entry, inclusive, or null
+   * @param to ISO-8601 instant bounding the latest entry, exclusive, or null
+   * @return slice of operation summaries
+   */
+  @Transactional(readOnly = true)
+  public Slice<OperationLogSummary> getOperationsAfter(Long after, int size, String entityType,
+      Long entityId, String operationType, String username, String from, String to) {
+    if (entityId != null && entityType == null) {
+      throw new InvalidRequestException("entityId can only be filtered together with entityType");
+    }
+    OperationLogFilter filter = new OperationLogFilter(
+        parseEnum(OperationEntityType.class, entityType, "entityType"), entityId,
+        parseEnum(OperationType.class, operationType, "operationType"),
+        username == null || username.isBlank() ? null : username,
+        parseInstant(from, "from"), parseInstant(to, "to"));
+    if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+      throw new InvalidRequestException("from must be before to");
+    }
+    return findPage(filter, after, size);
+  }
+
+  /**
+   * Retrieves the timeline of one entity newest first, a page at a time, in the same order and
+   * with the same cursor as {@link #getOperationsAfter}. The timeline includes archived entries
+   * and the import that created the entity, and outlives the entity itself.
+   *
+   * @param entityType type of the entity
+   * @param entityId identifier of the entity
+   * @param after id of the last operation already read, or null to start from the newest
+   * @param size page size
+   * @return slice of operation summaries for the entity, possibly empty
+   */
+  @Transactional(readOnly = true)
+  public Slice<OperationLogSummary> getEntityHistory(OperationEntityType entityType,
+      Long entityId, Long after, int size) {
+    return findPage(new OperationLogFilter(entityType, entityId, null, null, null, null), after,
+        size);
+  }
+
+  private Slice<OperationLogSummary> findPage(OperationLogFilter filter, Long after, int size) {
+    Limit limit = Paging.keysetLimit(size);
+    Instant cursorTimestamp = null;
+    if (after != null) {
+      cursorTimestamp = operationLogRepository.findTimestampById(after)
+          .or(() -> operationLogArchive.find(after).map(OperationLog::getTimestamp))
+          .orElseThrow(() -> new InvalidRequestException("Unknown operation cursor " + after));
+    }
+    List<OperationLogSummary> rows = operationLogRepository.findSummaries(filter,
+        cursorTimestamp, after, limit);
+    if (rows.size() < limit.max() && operationLogArchive.hasEntries()) {
+      rows = new ArrayList<>(rows);
+      Instant archiveTimestamp = cursorTimestamp;
+      Long archiveId = after;
+      if (!rows.isEmpty()) {
+        archiveTimestamp = rows.get(rows.size() - 1).timestamp();
+        archiveId = rows.get(rows.size() - 1).id();
+      }
+      for (OperationLog log : operationLogArchive.findNewest(filter, archiveTimestamp, archiveId,
+          limit.max() - rows.size())) {
+        rows.add(summarize(log));
+      }
+    }
+    return Paging.keysetSlice(rows, size);
+  }
+
   public OperationLog logCreation(OperationEntityType entityType, Long entityId, Object newState,
       String description) {
     return saveLog(OperationType.CREATE, entityType, entityId, description, null,
@@ -74,12 +199,45 @@ public class OperationLogService {
         serialize(previousState), serialize(newState));
   }
 
+  /**
+   * Records an update as the fields it changed rather than full before and after copies.
+   *
+   * @param entityType type of the updated entity
+   * @param entityId identifier of the updated entity
+   * @param previous values of the changed fields before the update
+   * @param current values of the changed fields after the update
+   * @param description summary of the update
+   * @return the recorded log entry
+   */
+  public OperationLog logChanges(OperationEntityType entityType, Long entityId,
+      Map<String, Object> previous, Map<String, Object> current, String description) {
+    return saveLog(OperationType.UPDATE, entityType, entityId, description, serialize(previous),
+        serialize(current));
+  }
+
   public OperationLog logDeletion(OperationEntityType entityType, Long entityId,
       Object previousState, String description) {
     return saveLog(OperationType.DELETE, entityType, entityId, description,
         serialize(previousState), null);
   }
 
+  /**
+   * Records one chunk of a bulk import as a single entry listing the inserted ids. The ids are
+   * also indexed, so the history of each imported row includes the entry.
+   *
+   * @param entityType type of the imported rows
+   * @param ids identifiers of the inserted rows
+   * @param description summary of the chunk
+   * @return the saved log entry
+   */
+  public OperationLog logImport(OperationEntityType entityType, List<Long> ids,
+      String description) {
+    OperationLog log = saveLog(OperationType.IMPORT, entityType, null, description, null,
+        serialize(ids));
+    operationLogRepository.saveImportedIds(log.getId(), entityType, ids);
+    return log;
+  }
+
   /**
    * Reverts a previously recorded operation by applying the stored snapshot.
    *
@@ -88,21 +246,266 @@ public class OperationLogService {
    */
   public OperationLog revertOperation(Long logId) {
     OperationLog log = operationLogRepository.findById(logId)
+        .or(() -> operationLogArchive.find(logId))
         .orElseThrow(() -> new ResourceNotFoundException("Operation not found with id " + logId));
 
+    apply(log);
+    return saveLog(OperationType.REVERT, log.getEntityType(), log.getEntityId(),
+        "Reverted: " + log.getDescription(), log.getPreviousState(), log.getNewState());
+  }
+
+  /**
+   * Reverts several operations in one transaction, newest first.
+   *
+   * <p>The students, modules, registrations and grades the entries refer to are loaded in bulk
+   * before any revert runs, so the lookups made while reverting are answered from the persistence
+   * context. Changes are flushed once at the end, so deletes and updates go out in JDBC batches,
+   * except that an entry which may insert or change a unique value is preceded by a flush when an
+   * earlier entry may have released one: Hibernate sends deletes after inserts and updates, so
+   * the freed value would otherwise still be taken. The revert entries are inserted together at
+   * the end.
+   *
+   * <p>Reverting by time restores the state at the given instant. A revert recorded after it
+   * cancels out the operation it reverted when that operation is also after the instant, so
+   * neither is applied again; a revert of an earlier operation is itself undone by redoing that
+   * operation.
+   *
+   * @param ids identifiers of the entries to revert, or null to revert by time
+   * @param after revert every operation recorded after this instant, or null
+   * @return the log entries documenting the reverts, in the order applied
+   */
+  public List<OperationLog> revertOperations(List<Long> ids, Instant after) {
+    boolean byId = ids != null && !ids.isEmpty();
+    if (byId == (after != null)) {
+      throw new InvalidRequestException("Provide either ids or after");
+    }
+    List<OperationLog> logs = byId ? findLogs(ids) : findLogsAfter(after);
+    if (logs.size() > MAX_BATCH_REVERT) {
+      throw new InvalidRequestException("At most " + MAX_BATCH_REVERT
+          + " operations can be reverted at once");
+    }
+    if (!byId) {
+      logs = cancelReverts(logs);
+    }
+    logs.sort(ArchiveSegment.ORDER.reversed());
+    prefetch(logs);
+
+    List<OperationLog> reverts = new ArrayList<>(logs.size());
+    boolean released = false;
+    for (OperationLog log : logs) {
+      if (released && takesUniqueValue(log)) {
+        entityManager.flush();
+        released = false;
+      }
+      apply(log);
+      released |= releasesUniqueValue(log);
+      reverts.add(newLog(OperationType.REVERT, log.getEntityType(), log.getEntityId(),
+          "Reverted: " + log.getDescription(), log.getPreviousState(), log.getNewState()));
+    }
+    writeEpoch.advance();
+    List<OperationLog> saved = new ArrayList<>(reverts.size());
+    operationLogRepository.saveAll(reverts).forEach(saved::add);
+    return saved;
+  }
+
+  /**
+   * Whether reverting the entry may write a unique value: deletions are reverted by inserting the
+   * row again, and student and module updates may restore a username, email or code.
+   */
+  private static boolean takesUniqueValue(OperationLog log) {
+    return log.getOperationType() == OperationType.DELETE || changesUniqueColumns(log);
+  }
+
+  /**
+   * Whether reverting the entry may free a unique value: creations and imports are reverted by
+   * deleting rows, and student and module updates may move off a username, email or code.
+   */
+  private static boolean releasesUniqueValue(OperationLog log) {
+    return log.getOperationType() == OperationType.CREATE
+        || log.getOperationType() == OperationType.IMPORT || changesUniqueColumns(log);
+  }
+
+  private static boolean changesUniqueColumns(OperationLog log) {
+    return log.getOperationType() == OperationType.UPDATE
+        && (log.getEntityType() == OperationEntityType.STUDENT
+            || log.getEntityType() == OperationEntityType.MODULE);
+  }
+
+  private List<OperationLog> findLogs(List<Long> ids) {
+    Map<Long, OperationLog> found = new HashMap<>();
+    operationLogRepository.findAllById(ids).forEach(log -> found.put(log.getId(), log));
+    List<OperationLog> logs = new ArrayList<>();
+    for (Long id : new LinkedHashSet<>(ids)) {
+      OperationLog log = found.get(id);
+      if (log == null) {
+        log = operationLogArchive.find(id).orElseThrow(
+            () -> new ResourceNotFoundException("Operation not found with id " + id));
+      }
+      logs.add(log);
+    }
+    return logs;
+  }
+
+  private List<OperationLog> findLogsAfter(Instant after) {
+    List<OperationLog> logs = new ArrayList<>(operationLogRepository
+        .findByTimestampAfter(after, Limit.of(MAX_BATCH_REVERT + 1)));
+    if (operationLogArchive.hasEntries()) {
+      Set<Long> live = new HashSet<>();
+      logs.forEach(log -> live.add(log.getId()));
+      OperationLogFilter filter = new OperationLogFilter(null, null, null, null, after, null);
+      for (OperationLog log : operationLogArchive.findNewest(filter, null, null,
+          MAX_BATCH_REVERT + 1)) {
+        if (log.getTimestamp().isAfter(after) && !live.contains(log.getId())) {
+          logs.add(log);
+        }
+      }
+    }
+    return logs;
+  }
+
+  /**
+   * Pairs each revert with the operation it reverted, oldest first, and drops both when that
+   * operation is in the list. A revert without its operation is replaced by the change it made,
+   * so reverting it redoes the operation.
+   */
+  private static List<OperationLog> cancelReverts(List<OperationLog> logs) {
+    logs.sort(ArchiveSegment.ORDER);
+    List<OperationLog> pending = new ArrayList<>(logs.size());
+    for (OperationLog log : logs) {
+      if (log.getOperationType() != OperationType.REVERT) {
+        pending.add(log);
+        continue;
+      }
+      int target = pending.size() - 1;
+      while (target >= 0 && !reverts(log, pending.get(target))) {
+        target--;
+      }
+      if (target >= 0) {
+        pending.remove(target);
+      } else {
+        pending.add(changeMadeBy(log));
+      }
+    }
+    return pending;
+  }
+
+  /**
+   * Whether a revert entry undid the given change; revert entries copy its entity and states.
+   */
+  private static boolean reverts(OperationLog revert, OperationLog change) {
+    return revert.getEntityType() == change.getEntityType()
+        && Objects.equals(revert.getEntityId(), change.getEntityId())
+        && Objects.equals(revert.getPreviousState(), change.getPreviousState())
+        && Objects.equals(revert.getNewState(), change.getNewState());
+  }
+
+  /**
+   * Describes what a revert entry did as the opposite of the operation it reverted: a reverted
+   * creation is a deletion of the same state, a reverted deletion a creation and a reverted update
+   * an update back. Imports are deleted in bulk and cannot be recreated.
+   */
+  private static OperationLog changeMadeBy(OperationLog revert) {
+    if (revert.getEntityId() == null) {
+      throw new InvalidRequestException("Reverted import " + revert.getId()
+          + " cannot be undone");
+    }
+    OperationType type;
+    if (revert.getPreviousState() == null) {
+      type = OperationType.DELETE;
+    } else if (revert.getNewState() == null) {
+      type = OperationType.CREATE;
+    } else {
+      type = OperationType.UPDATE;
+    }
+    OperationLog change = new OperationLog(type, revert.getEntityType(), revert.getEntityId(),
+        revert.getTimestamp(), revert.getUsername(), revert.getDescription(),
+        revert.getNewState(), revert.getPreviousState());
+    change.setId(revert.getId());
+    return change;
+  }
+
+  /**
+   * Loads every entity the entries may touch with one query per table. The results are not used
+   * directly: they stay managed, so the {@code findById} calls made while reverting need no
+   * further queries.
+   */
+  private void prefetch(List<OperationLog> logs) {
+    Set<Long> studentIds = new HashSet<>();
+    Set<Long> moduleIds = new HashSet<>();
+    Set<Long> registrationIds = new HashSet<>();
+    Set<Long> gradeIds = new HashSet<>();
+    for (OperationLog log : logs) {
+      Set<Long> own = switch (log.getEntityType()) {
+        case STUDENT -> studentIds;
+        case MODULE -> moduleIds;
+        case REGISTRATION -> registrationIds;
+        case GRADE -> gradeIds;
+      };
+      if (log.getOperationType() == OperationType.IMPORT) {
+        own.addAll(List.of(readValue(log.getNewState(), Long[].class)));
+        continue;
+      }
+      if (log.getEntityId() != null) {
+        own.add(log.getEntityId());
+      }
+      if (log.getPreviousState() != null && (own == registrationIds || own == gradeIds)) {
+        JsonNode state = readTree(log.getPreviousState());
+        addId(studentIds, state, "studentId");
+        addId(moduleIds, state, "moduleId");
+      }
+    }
+    studentRepository.findAllById(studentIds);
+    moduleRepository.findAllById(moduleIds);
+    registrationRepository.findAllById(registrationIds);
+    gradeRepository.findAllById(gradeIds);
+  }
+
+  private static void addId(Set<Long> ids, JsonNode state, String field) {
+    if (state.hasNonNull(field)) {
+      ids.add(state.get(field).asLong());
+    }
+  }
+
+  private void apply(OperationLog log) {
     switch (log.getOperationType()) {
       case CREATE -> revertCreate(log);
       case UPDATE -> revertUpdate(log);
       case DELETE -> revertDelete(log);
+      case IMPORT -> revertImport(log);
       default -> throw new ResourceNotFoundException("Operation type cannot be reverted");
     }
+  }
 
-    return saveLog(OperationType.REVERT, log.getEntityType(), log.getEntityId(),
-        "Reverted: " + log.getDescription(), log.getPreviousState(), log.getNewState());
+  private static OperationLogSummary summarize(OperationLog log) {
+    return new OperationLogSummary(log.getId(), log.getOperationType(), log.getEntityType(),
+        log.getEntityId(), log.getTimestamp(), log.getUsername(), log.getDescription());
+  }
+
+  private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidRequestException("Unknown " + name + " " + value);
+    }
+  }
+
+  private static Instant parseInstant(String value, String name) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Instant.parse(value.trim());
+    } catch (DateTimeParseException ex) {
+      throw new InvalidRequestException(name + " must be an ISO-8601 instant");
+    }
   }
 
   /**
-   * Creates a deep copy of the provided value using JSON serialization.
+   * Creates a detached copy of the provided value. Students and modules are copied field by field
+   * through {@link EntityFields}; other types fall back to a JSON round trip.
    *
    * @param value the value to copy
    * @param type type of the value
@@ -113,6 +516,10 @@ public class OperationLogService {
     if (value == null) {
       return null;
     }
+    EntityFields<T> fields = EntityFields.forType(type);
+    if (fields != null) {
+      return fields.copy(value);
+    }
     try {
       return objectMapper.readValue(objectMapper.writeValueAsString(value), type);
     } catch (JsonProcessingException e) {
@@ -132,10 +539,10 @@ public class OperationLogService {
 
   private void revertUpdate(OperationLog log) {
     switch (log.getEntityType()) {
-      case STUDENT -> studentRepository.save(readValue(log.getPreviousState(), Student.class));
-      case MODULE -> moduleRepository.save(readValue(log.getPreviousState(), Module.class));
-      case REGISTRATION -> registrationRepository.save(toRegistration(log.getPreviousState()));
-      case GRADE -> gradeRepository.save(toGrade(log.getPreviousState()));
+      case STUDENT -> revertStudentChanges(log);
+      case MODULE -> revertModuleChanges(log);
+      case REGISTRATION -> restoreRegistration(log.getPreviousState());
+      case GRADE -> restoreGrade(log.getPreviousState());
       default -> throw new ResourceNotFoundException("Unsupported entity for revert");
     }
   }
@@ -143,35 +550,129 @@ public class OperationLogService {
   private void revertDelete(OperationLog log) {
     switch (log.getEntityType()) {
       case STUDENT -> studentRepository.save(readValue(log.getPreviousState(), Student.class));
-      case MODULE -> moduleRepository.save(readValue(log.getPreviousState(), Module.class));
-      case REGISTRATION -> registrationRepository.save(toRegistration(log.getPreviousState()));
-      case GRADE -> gradeRepository.save(toGrade(log.getPreviousState()));
+      case MODULE -> restoreModule(log.getPreviousState());
+      case REGISTRATION -> restoreRegistration(log.getPreviousState());
+      case GRADE -> restoreGrade(log.getPreviousState());
       default -> throw new ResourceNotFoundException("Unsupported entity for revert");
     }
   }
 
+  private void revertStudentChanges(OperationLog log) {
+    JsonNode previous = readTree(log.getPreviousState());
+    if (previous.has("id")) {
+      studentRepository.save(readValue(log.getPreviousState(), Student.class));
+      return;
+    }
+    Student student = studentRepository.findById(log.getEntityId())
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "Student not found with id " + log.getEntityId()));
+    EntityFields.STUDENT.apply(student, previous, objectMapper);
+    studentRepository.save(student);
+  }
+
+  private void revertModuleChanges(OperationLog log) {
+    JsonNode previous = readTree(log.getPreviousState());
+    if (previous.has("id")) {
+      restoreModule(log.getPreviousState());
+      return;
+    }
+    Module module = moduleRepository.findById(log.getEntityId())
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "Module not found with id " + log.getEntityId()));
+    EntityFields.MODULE.apply(module, previous, objectMapper);
+    if (module.getPrerequisiteModule() != null) {
+      Long prerequisiteId = module.getPrerequisiteModule().getId();
+      module.setPrerequisiteModule(moduleRepository.findById(prerequisiteId)
+          .orElseThrow(() -> new ResourceNotFoundException(
+              "Module not found with id " + prerequisiteId)));
+    }
+    moduleRepository.save(module);
+    moduleStatisticsStore.moduleSaved();
+  }
+
+  private void revertImport(OperationLog log) {
+    for (Long id : readValue(log.getNewState(), Long[].class)) {
+      switch (log.getEntityType()) {
+        case STUDENT -> {
+          if (studentRepository.existsById(id)) {
+            deleteStudent(id);
+          }
+        }
+        case MODULE -> {
+          if (moduleRepository.existsById(id)) {
+            deleteModule(id);
+          }
+        }
+        case REGISTRATION -> {
+          if (registrationRepository.existsById(id)) {
+            deleteRegistration(id);
+          }
+        }
+        case GRADE -> {
+          if (gradeRepository.existsById(id)) {
+            deleteGrade(id);
+          }
+        }
+        default -> throw new ResourceNotFoundException("Unsupported entity for revert");
+      }
+    }
+  }
+
+  private void restoreModule(String state) {
+    moduleRepository.save(readValue(state, Module.class));
+    moduleStatisticsStore.moduleSaved();
+  }
+
+  private void restoreRegistration(String state) {
+    Registration registration = toRegistration(state);
+    boolean existed = registration.getId() != null
+        && registrationRepository.existsById(registration.getId());
+    registrationRepository.save(registration);
+    if (!existed) {
+      moduleStatisticsStore.registrationAdded(registration.getModule().getId());
+    }
+  }
+
+  private void restoreGrade(String state) {
+    Grade grade = toGrade(state);
+    Grade current = grade.getId() == null ? null
+        : gradeRepository.findById(grade.getId()).orElse(null);
+    Integer currentScore = current == null ? null : current.getScore();
+    gradeRepository.save(grade);
+    if (currentScore == null) {
+      moduleStatisticsStore.gradeRecorded(grade.getModule().getId(), grade.getScore());
+    } else {
+      moduleStatisticsStore.gradeChanged(grade.getModule().getId(), currentScore,
+          grade.getScore());
+    }
+  }
+
   private void deleteStudent(Long id) {
     Student student = studentRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Student not found with id " + id));
     studentRepository.delete(student);
+    moduleStatisticsStore.invalidate();
   }
 
   private void deleteModule(Long id) {
     Module module = moduleRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Module not found with id " + id));
     moduleRepository.delete(module);
+    moduleStatisticsStore.moduleRemoved(id);
   }
 
   private void deleteRegistration(Long id) {
     Registration registration = registrationRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Registration not found with id " + id));
     registrationRepository.delete(registration);
+    moduleStatisticsStore.registrationRemoved(registration.getModule().getId());
   }
 
   private void deleteGrade(Long id) {
     Grade grade = gradeRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException("Grade not found with id " + id));
     gradeRepository.delete(grade);
+    moduleStatisticsStore.gradeRemoved(grade.getModule().getId(), grade.getScore());
   }
 
   private Registration toRegistration(String state) {
@@ -211,6 +712,14 @@ public class OperationLogService {
     }
   }
 
+  private JsonNode readTree(String json) {
+    try {
+      return objectMapper.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new ResourceNotFoundException("Unable to parse stored operation state");
+    }
+  }
+
   private <T> T readValue(String json, Class<T> type) {
     try {
       return objectMapper.readValue(json, type);
@@ -221,11 +730,17 @@ public class OperationLogService {
 
   private OperationLog saveLog(OperationType type, OperationEntityType entityType, Long entityId,
       String description, String previousState, String newState) {
-    OperationLog log = new OperationLog(type, entityType, entityId, Instant.now(),
-        currentUsername(), description, previousState, newState);
+    OperationLog log = newLog(type, entityType, entityId, description, previousState, newState);
+    writeEpoch.advance();
     return operationLogRepository.save(log);
   }
 
+  private OperationLog newLog(OperationType type, OperationEntityType entityType, Long entityId,
+      String description, String previousState, String newState) {
+    return new OperationLog(type, entityType, entityId, Instant.now(), currentUsername(),
+        description, previousState, newState);
+  }
+
   private String currentUsername() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     return authentication != null ? authentication.getName() : "anonymous";
@@ -0,0 +1,67 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+
+/**
+ * Shared checks and helpers for offset and keyset (seek) pagination.
+ *
+ * <p>Keyset pages are read by asking the repository for one row more than the page size: the
+ * extra row only signals that another page exists and is dropped before returning. No count
+ * query is issued, so the cost of a page does not depend on the size of the table.
+ */
+final class Paging {
+  static final int MAX_PAGE_SIZE = 1000;
+
+  private Paging() {}
+
+  /**
+   * Rejects sort properties outside the given set, so unknown properties surface as a bad request
+   * rather than a query failure.
+   *
+   * @param pageable requested page
+   * @param sortable properties the caller may sort by
+   * @param subject name used in the error message
+   */
+  static void checkSort(Pageable pageable, Set<String> sortable, String subject) {
+    for (Sort.Order order : pageable.getSort()) {
+      if (!sortable.contains(order.getProperty())) {
+        throw new InvalidRequestException("Cannot sort " + subject + " by "
+            + order.getProperty());
+      }
+    }
+  }
+
+  /**
+   * Validates a keyset page size and returns the row limit to query with.
+   *
+   * @param size requested page size
+   * @return limit of one more row than the page size
+   */
+  static Limit keysetLimit(int size) {
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new InvalidRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    return Limit.of(size + 1);
+  }
+
+  /**
+   * Trims rows read with {@link #keysetLimit(int)} down to one page.
+   *
+   * @param rows rows returned by the repository
+   * @param size requested page size
+   * @param <T> row type
+   * @return slice whose {@code hasNext} reports whether the extra row was present
+   */
+  static <T> Slice<T> keysetSlice(List<T> rows, int size) {
+    boolean hasNext = rows.size() > size;
+    List<T> content = hasNext ? rows.subList(0, size) : rows;
+    return new SliceImpl<>(content, Pageable.ofSize(size), hasNext);
+  }
+}
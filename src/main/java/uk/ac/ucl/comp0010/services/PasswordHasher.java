@@ -0,0 +1,112 @@
+package uk.ac.ucl.comp0010.services;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import uk.ac.ucl.comp0010.exceptions.ServiceUnavailableException;
+
+/**
+ * Runs BCrypt hashing on a small dedicated pool instead of the request threads.
+ *
+ * <p>Each hash costs tens of milliseconds of CPU, so a burst of logins on the request threads
+ * would starve every other endpoint. Here at most {@code threads} hashes run at once and at most
+ * {@code queueCapacity} wait; a request arriving when the queue is full fails straight away with
+ * a {@link ServiceUnavailableException} carrying a retry delay. The calling thread still waits
+ * for its own hash, but it waits idle rather than competing for CPU.
+ */
+@Component
+class PasswordHasher {
+  private final BCryptPasswordEncoder encoder;
+  private final ThreadPoolExecutor executor;
+  private final long retryAfterSeconds;
+  private final LongAdder rejected = new LongAdder();
+
+  PasswordHasher(BCryptPasswordEncoder encoder,
+      @Value("${auth.password-hashing.threads:2}") int threads,
+      @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${auth.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+    this.encoder = encoder;
+    this.retryAfterSeconds = retryAfterSeconds;
+    AtomicInteger sequence = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  String encode(String rawPassword) {
+    return run(() -> encoder.encode(rawPassword));
+  }
+
+  boolean matches(String rawPassword, String passwordHash) {
+    return run(() -> encoder.matches(rawPassword, passwordHash));
+  }
+
+  /**
+   * Number of hashes waiting for a thread.
+   *
+   * @return queue depth
+   */
+  int queueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Number of hashes currently running.
+   *
+   * @return busy thread count
+   */
+  int activeCount() {
+    return executor.getActiveCount();
+  }
+
+  /**
+   * Number of requests shed because the queue was full.
+   *
+   * @return rejections since startup
+   */
+  long rejectedCount() {
+    return rejected.sum();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException ex) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Too many sign-in requests, please retry shortly",
+          retryAfterSeconds);
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException("Interrupted while checking password",
+          retryAfterSeconds);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Password hashing failed", ex.getCause());
+    }
+  }
+}
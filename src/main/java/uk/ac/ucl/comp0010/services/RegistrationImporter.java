@@ -0,0 +1,117 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleIdentity;
+import uk.ac.ucl.comp0010.repositories.projections.StudentIdentity;
+import uk.ac.ucl.comp0010.repositories.projections.StudentModuleKey;
+import uk.ac.ucl.comp0010.services.ImportLookups.Pair;
+import uk.ac.ucl.comp0010.services.ImportLookups.Resolved;
+import uk.ac.ucl.comp0010.services.ImportLookups.Target;
+
+/**
+ * Imports registrations identified by student user name and module code. Applies the same
+ * study-year and prerequisite rules as {@link RegistrationService}, checked for the whole chunk
+ * with one query each.
+ */
+@Component
+class RegistrationImporter implements ChunkImporter {
+  static final String INSERT_SQL = "insert into registrations (student_id, module_id) "
+      + "values (?, ?)";
+
+  private final ImportLookups lookups;
+  private final RegistrationRepository registrationRepository;
+  private final GradeRepository gradeRepository;
+  private final ModuleStatisticsStore moduleStatisticsStore;
+  private final JdbcTemplate jdbcTemplate;
+
+  RegistrationImporter(ImportLookups lookups, RegistrationRepository registrationRepository,
+      GradeRepository gradeRepository, ModuleStatisticsStore moduleStatisticsStore,
+      JdbcTemplate jdbcTemplate) {
+    this.lookups = lookups;
+    this.registrationRepository = registrationRepository;
+    this.gradeRepository = gradeRepository;
+    this.moduleStatisticsStore = moduleStatisticsStore;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public ImportDataset dataset() {
+    return ImportDataset.REGISTRATIONS;
+  }
+
+  @Override
+  public List<Long> importChunk(List<ImportRow> rows, BiConsumer<ImportRow, String> reject) {
+    Resolved resolved = lookups.resolve(rows, reject);
+    if (resolved.isEmpty()) {
+      return List.of();
+    }
+    Set<Pair> registered = new HashSet<>();
+    for (StudentModuleKey key : registrationRepository.findKeys(resolved.studentIds(),
+        resolved.moduleIds())) {
+      registered.add(new Pair(key.studentId(), key.moduleId()));
+    }
+    Set<Pair> passed = new HashSet<>();
+    Set<Long> prerequisiteIds = resolved.prerequisiteIds();
+    if (!prerequisiteIds.isEmpty()) {
+      for (StudentModuleKey key : gradeRepository.findKeys(resolved.studentIds(),
+          prerequisiteIds)) {
+        if (key.score() >= 60) {
+          passed.add(new Pair(key.studentId(), key.moduleId()));
+        }
+      }
+    }
+
+    List<Object[]> batch = new ArrayList<>();
+    Set<Pair> inserted = new HashSet<>();
+    for (Map.Entry<ImportRow, Target> entry : resolved.targets().entrySet()) {
+      StudentIdentity student = entry.getValue().student();
+      ModuleIdentity module = entry.getValue().module();
+      Pair pair = new Pair(student.id(), module.id());
+      try {
+        if (!registered.add(pair)) {
+          throw new InvalidRequestException("Student already registered for module");
+        }
+        checkEligibility(student, module, passed);
+        batch.add(new Object[] {student.id(), module.id()});
+        inserted.add(pair);
+      } catch (InvalidRequestException ex) {
+        reject.accept(entry.getKey(), ex.getMessage());
+      }
+    }
+    if (batch.isEmpty()) {
+      return List.of();
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    moduleStatisticsStore.invalidate();
+    return registrationRepository.findKeys(resolved.studentIds(), resolved.moduleIds()).stream()
+        .filter(key -> inserted.contains(new Pair(key.studentId(), key.moduleId())))
+        .map(StudentModuleKey::id).toList();
+  }
+
+  private static void checkEligibility(StudentIdentity student, ModuleIdentity module,
+      Set<Pair> passed) {
+    Integer requiredYear = module.requiredYear();
+    if (requiredYear != null && student.entryYear() != null
+        && student.entryYear() < requiredYear) {
+      throw new InvalidRequestException(
+          String.format("Student year %d is below required year %d for module %s",
+              student.entryYear(), requiredYear, module.code()));
+    }
+    if (module.prerequisiteId() != null
+        && !passed.contains(new Pair(student.id(), module.prerequisiteId()))) {
+      throw new InvalidRequestException(
+          String.format("Prerequisite %s not completed by student %s",
+              module.prerequisiteCode(), student.userName()));
+    }
+  }
+}
@@ -1,6 +1,11 @@
 package uk.ac.ucl.comp0010.services;
 
 import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
@@ -23,11 +28,14 @@ import uk.ac.ucl.comp0010.services.OperationLogService.RegistrationSnapshot;
 @Service
 @Transactional
 public class RegistrationService {
+  private static final Set<String> SORT_PROPERTIES = Set.of("id");
+
   private final RegistrationRepository registrationRepository;
   private final StudentRepository studentRepository;
   private final ModuleRepository moduleRepository;
   private final GradeRepository gradeRepository;
   private final OperationLogService operationLogService;
+  private final ModuleStatisticsStore moduleStatisticsStore;
 
   /**
    * CTR for Registration Service.
@@ -35,15 +43,18 @@ public class RegistrationService {
    * @param registrationRepository Deps inj
    * @param studentRepository Deps inj
    * @param moduleRepository Deps inj
+   * @param moduleStatisticsStore Deps inj
    */
   public RegistrationService(RegistrationRepository registrationRepository,
       StudentRepository studentRepository, ModuleRepository moduleRepository,
-      GradeRepository gradeRepository, OperationLogService operationLogService) {
+      GradeRepository gradeRepository, OperationLogService operationLogService,
+      ModuleStatisticsStore moduleStatisticsStore) {
     this.registrationRepository = registrationRepository;
     this.studentRepository = studentRepository;
     this.moduleRepository = moduleRepository;
     this.gradeRepository = gradeRepository;
     this.operationLogService = operationLogService;
+    this.moduleStatisticsStore = moduleStatisticsStore;
   }
 
   /**
@@ -53,7 +64,34 @@ public class RegistrationService {
    */
   @Transactional(readOnly = true)
   public List<Registration> getAllRegistrations() {
-    return (List<Registration>) registrationRepository.findAll();
+    return registrationRepository.findAll();
+  }
+
+  /**
+   * Retrieves one page of registrations.
+   *
+   * @param pageable page request; sortable by id
+   * @return page of registrations
+   */
+  @Transactional(readOnly = true)
+  public Page<Registration> getRegistrationsPage(Pageable pageable) {
+    Paging.checkSort(pageable, SORT_PROPERTIES, "registrations");
+    return registrationRepository.findAll(pageable);
+  }
+
+  /**
+   * Retrieves registrations in ascending id order, seeking past an id instead of skipping rows.
+   *
+   * @param after id of the last registration already read, or null to start from the beginning
+   * @param size page size
+   * @return slice of registrations
+   */
+  @Transactional(readOnly = true)
+  public Slice<Registration> getRegistrationsAfter(Long after, int size) {
+    Limit limit = Paging.keysetLimit(size);
+    Long from = after == null ? 0L : after;
+    return Paging.keysetSlice(registrationRepository.findByIdGreaterThanOrderByIdAsc(from, limit),
+        size);
   }
 
   /**
@@ -92,6 +130,7 @@ public class RegistrationService {
     validateEligibility(student, module);
 
     Registration saved = registrationRepository.save(new Registration(student, module));
+    moduleStatisticsStore.registrationAdded(moduleId);
     operationLogService.logCreation(OperationEntityType.REGISTRATION, saved.getId(),
         new OperationLogService.RegistrationSnapshot(saved.getId(), studentId, moduleId),
         String.format("Registered %s to %s", student.getUserName(), module.getCode()));
@@ -117,6 +156,7 @@ public class RegistrationService {
     RegistrationSnapshot snapshot = new RegistrationSnapshot(registration.getId(), studentId,
         moduleId);
     registrationRepository.delete(registration);
+    moduleStatisticsStore.registrationRemoved(moduleId);
     operationLogService.logDeletion(OperationEntityType.REGISTRATION, registration.getId(),
         snapshot,
         String.format("Unregistered %s from %s", student.getUserName(), module.getCode()));
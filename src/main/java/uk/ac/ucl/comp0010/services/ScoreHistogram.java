@@ -0,0 +1,139 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable count of grades per score for one module.
+ *
+ * <p>Scores are bounded between {@value #MIN_SCORE} and {@value #MAX_SCORE}, so the distribution
+ * is held as one counter per possible score. Every query is a single scan over those slots; no
+ * grade list is loaded or sorted.
+ */
+public final class ScoreHistogram {
+  public static final int MIN_SCORE = 0;
+  public static final int MAX_SCORE = 100;
+  static final int SLOTS = MAX_SCORE - MIN_SCORE + 1;
+  static final ScoreHistogram EMPTY = new ScoreHistogram(new long[SLOTS]);
+
+  private final long[] counts;
+  private final long total;
+
+  ScoreHistogram(long[] counts) {
+    this.counts = counts;
+    long sum = 0;
+    for (long count : counts) {
+      sum += count;
+    }
+    this.total = sum;
+  }
+
+  /**
+   * Maps a score onto its slot, clamping values outside the supported range.
+   *
+   * @param score raw score
+   * @return slot index
+   */
+  static int slotFor(int score) {
+    return Math.max(MIN_SCORE, Math.min(MAX_SCORE, score)) - MIN_SCORE;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public long countAt(int score) {
+    return counts[slotFor(score)];
+  }
+
+  /**
+   * Lowest recorded score.
+   *
+   * @return minimum score, or null when no grades are recorded
+   */
+  public Integer min() {
+    for (int slot = 0; slot < SLOTS; slot++) {
+      if (counts[slot] > 0) {
+        return slot + MIN_SCORE;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Highest recorded score.
+   *
+   * @return maximum score, or null when no grades are recorded
+   */
+  public Integer max() {
+    for (int slot = SLOTS - 1; slot >= 0; slot--) {
+      if (counts[slot] > 0) {
+        return slot + MIN_SCORE;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Computes a percentile using linear interpolation between the closest ranks.
+   *
+   * @param percentile value between 0 and 100
+   * @return interpolated score, or null when no grades are recorded
+   */
+  public Double percentile(double percentile) {
+    if (total == 0) {
+      return null;
+    }
+    double rank = percentile / 100.0 * (total - 1);
+    long lower = (long) Math.floor(rank);
+    long upper = (long) Math.ceil(rank);
+    int lowerScore = scoreAtRank(lower);
+    int upperScore = lower == upper ? lowerScore : scoreAtRank(upper);
+    return lowerScore + (rank - lower) * (upperScore - lowerScore);
+  }
+
+  /**
+   * Groups the counts into consecutive score ranges of the given width.
+   *
+   * <p>The top bucket is closed at {@value #MAX_SCORE}, so a perfect score is counted with its
+   * neighbours rather than in a bucket of its own.
+   *
+   * @param width number of scores per bucket
+   * @return buckets in ascending score order
+   */
+  public List<ScoreBucket> buckets(int width) {
+    int bucketCount = Math.max(1, (MAX_SCORE - MIN_SCORE + width - 1) / width);
+    List<ScoreBucket> buckets = new ArrayList<>(bucketCount);
+    for (int index = 0; index < bucketCount; index++) {
+      int from = MIN_SCORE + index * width;
+      int to = index == bucketCount - 1 ? MAX_SCORE : from + width - 1;
+      long count = 0;
+      for (int score = from; score <= to; score++) {
+        count += counts[score - MIN_SCORE];
+      }
+      buckets.add(new ScoreBucket(from, to, count));
+    }
+    return buckets;
+  }
+
+  private int scoreAtRank(long rank) {
+    long seen = 0;
+    for (int slot = 0; slot < SLOTS; slot++) {
+      seen += counts[slot];
+      if (seen > rank) {
+        return slot + MIN_SCORE;
+      }
+    }
+    return MAX_SCORE;
+  }
+
+  /**
+   * Number of grades falling within an inclusive score range.
+   *
+   * @param from lowest score in the bucket
+   * @param to highest score in the bucket
+   * @param count number of grades in the range
+   */
+  public record ScoreBucket(int from, int to, long count) {
+  }
+}
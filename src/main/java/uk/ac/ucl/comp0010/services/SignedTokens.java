@@ -0,0 +1,165 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and verifies self-contained bearer tokens signed with HMAC-SHA256.
+ *
+ * <p>A token reads {@code keyId.username.issuedAt.signature}, with the username and signature
+ * Base64url-encoded and the issue time in epoch milliseconds, so it is checked with a
+ * constant-time MAC comparison and no database lookup. Tokens are signed with the active key and
+ * accepted under any configured key, so a key is rotated by adding the new one, making it active,
+ * and removing the old one once its tokens have expired.
+ *
+ * <p>Issuing a token for a user revokes every token issued to them before it. The revocation
+ * list only holds one issue time per user, and entries are dropped once every token they revoke
+ * has expired. It lives in memory and is filled from the stored issue time the first time a user
+ * is seen, so revocations survive a restart; logins served by other instances after that are only
+ * picked up once the entry has been pruned.
+ */
+@Component
+class SignedTokens {
+  static final String ALGORITHM = "HmacSHA256";
+  static final int MIN_KEY_BYTES = 32;
+  private static final int PRUNE_SIZE = 1024;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final boolean enabled;
+  private final Map<String, ThreadLocal<Mac>> macs = new HashMap<>();
+  private final String activeKey;
+  private final long ttlMillis;
+  private final LongSupplier clock;
+  private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+  @Autowired
+  SignedTokens(@Value("${auth.signed-tokens.enabled:false}") boolean enabled,
+      @Value("${auth.signed-tokens.keys:}") String keys,
+      @Value("${auth.signed-tokens.active-key:}") String activeKey,
+      @Value("${auth.token-ttl-ms:43200000}") long ttlMillis) {
+    this(enabled, keys, activeKey, ttlMillis, System::currentTimeMillis);
+  }
+
+  SignedTokens(boolean enabled, String keys, String activeKey, long ttlMillis,
+      LongSupplier clock) {
+    this.enabled = enabled;
+    this.activeKey = activeKey;
+    this.ttlMillis = ttlMillis;
+    this.clock = clock;
+    if (!enabled) {
+      return;
+    }
+    for (String entry : keys.split(",")) {
+      String trimmed = entry.trim();
+      int separator = trimmed.indexOf(':');
+      if (separator <= 0 || trimmed.substring(0, separator).contains(".")) {
+        throw new IllegalStateException("Signing keys must be listed as id:base64-secret");
+      }
+      byte[] secret = Base64.getDecoder().decode(trimmed.substring(separator + 1));
+      if (secret.length < MIN_KEY_BYTES) {
+        throw new IllegalStateException("Signing keys need at least " + MIN_KEY_BYTES + " bytes");
+      }
+      SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+      macs.put(trimmed.substring(0, separator), ThreadLocal.withInitial(() -> newMac(key)));
+    }
+    if (!macs.containsKey(activeKey)) {
+      throw new IllegalStateException("Active signing key " + activeKey + " is not configured");
+    }
+    if (ttlMillis <= 0) {
+      throw new IllegalStateException("Signed tokens need a positive time to live");
+    }
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Whether a token has the signed layout; opaque tokens never contain a dot.
+   *
+   * @param token bearer token
+   * @return true for tokens this class should verify
+   */
+  static boolean isSigned(String token) {
+    return token.indexOf('.') >= 0;
+  }
+
+  /**
+   * Issues a token for a user and revokes the ones issued to them earlier.
+   *
+   * @param username account the token authenticates
+   * @param issuedAt issue time in epoch milliseconds, as recorded against the account
+   * @return signed token
+   */
+  String issue(String username, long issuedAt) {
+    notBefore.merge(username, issuedAt, Math::max);
+    if (notBefore.size() > PRUNE_SIZE) {
+      notBefore.values().removeIf(revokedBefore -> revokedBefore + ttlMillis <= issuedAt);
+    }
+    String payload = activeKey + "." + ENCODER.encodeToString(
+        username.getBytes(StandardCharsets.UTF_8)) + "." + issuedAt;
+    return payload + "." + ENCODER.encodeToString(sign(activeKey, payload));
+  }
+
+  /**
+   * Checks a token's signature, age and revocation, without any I/O once its user is known.
+   *
+   * @param token bearer token
+   * @param storedIssuedAt issue time in epoch milliseconds of the user's latest token, or
+   *     {@link Long#MIN_VALUE} when none is stored; read only for users not yet seen
+   * @return username the token was issued to, if it is valid
+   */
+  Optional<String> verify(String token, ToLongFunction<String> storedIssuedAt) {
+    String[] parts = token.split("\\.", -1);
+    if (parts.length != 4 || !macs.containsKey(parts[0])) {
+      return Optional.empty();
+    }
+    try {
+      String payload = parts[0] + "." + parts[1] + "." + parts[2];
+      if (!MessageDigest.isEqual(sign(parts[0], payload), DECODER.decode(parts[3]))) {
+        return Optional.empty();
+      }
+      long issuedAt = Long.parseLong(parts[2]);
+      String username = new String(DECODER.decode(parts[1]), StandardCharsets.UTF_8);
+      long now = clock.getAsLong();
+      if (now - issuedAt >= ttlMillis) {
+        return Optional.empty();
+      }
+      Long revokedBefore = notBefore.get(username);
+      if (revokedBefore == null) {
+        revokedBefore = notBefore.merge(username, storedIssuedAt.applyAsLong(username), Math::max);
+      }
+      return issuedAt < revokedBefore ? Optional.empty() : Optional.of(username);
+    } catch (IllegalArgumentException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] sign(String keyId, String payload) {
+    return macs.get(keyId).get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Mac newMac(SecretKeySpec key) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac;
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Unable to initialise " + ALGORITHM, ex);
+    }
+  }
+}
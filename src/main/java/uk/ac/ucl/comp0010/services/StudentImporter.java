@@ -0,0 +1,88 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.StudentIdentity;
+
+/**
+ * Imports student profiles. User names and emails must be unique across the table and the file.
+ */
+@Component
+class StudentImporter implements ChunkImporter {
+  static final String INSERT_SQL = "insert into students (first_name, last_name, user_name, "
+      + "email, entry_year, graduate_year, major, tuition_fee, paid_tuition_fee, birth_date, "
+      + "home_student, sex) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final StudentRepository studentRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  StudentImporter(StudentRepository studentRepository, JdbcTemplate jdbcTemplate) {
+    this.studentRepository = studentRepository;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public ImportDataset dataset() {
+    return ImportDataset.STUDENTS;
+  }
+
+  @Override
+  public List<Long> importChunk(List<ImportRow> rows, BiConsumer<ImportRow, String> reject) {
+    Map<ImportRow, Object[]> parsed = new LinkedHashMap<>();
+    for (ImportRow row : rows) {
+      try {
+        parsed.put(row, new Object[] {row.required("firstName"), row.required("lastName"),
+            row.required("userName"), row.required("email"), row.integer("entryYear"),
+            row.integer("graduateYear"), row.text("major"), row.decimal("tuitionFee"),
+            row.decimal("paidTuitionFee"), row.date("birthDate"), row.bool("homeStudent"),
+            row.text("sex")});
+      } catch (InvalidRequestException ex) {
+        reject.accept(row, ex.getMessage());
+      }
+    }
+    if (parsed.isEmpty()) {
+      return List.of();
+    }
+
+    Set<String> takenUserNames = new HashSet<>();
+    Set<String> takenEmails = new HashSet<>();
+    List<String> userNames = parsed.values().stream().map(values -> (String) values[2]).toList();
+    List<String> emails = parsed.values().stream().map(values -> (String) values[3]).toList();
+    for (StudentIdentity existing : studentRepository.findIdentities(userNames, emails)) {
+      takenUserNames.add(existing.userName());
+      takenEmails.add(existing.email());
+    }
+
+    List<Object[]> batch = new ArrayList<>();
+    List<String> inserted = new ArrayList<>();
+    parsed.forEach((row, values) -> {
+      String userName = (String) values[2];
+      String email = (String) values[3];
+      if (takenUserNames.contains(userName)) {
+        reject.accept(row, "Username already taken: " + userName);
+      } else if (takenEmails.contains(email)) {
+        reject.accept(row, "Email already registered: " + email);
+      } else {
+        takenUserNames.add(userName);
+        takenEmails.add(email);
+        batch.add(values);
+        inserted.add(userName);
+      }
+    });
+    if (batch.isEmpty()) {
+      return List.of();
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    return studentRepository.findIdentitiesByUserName(inserted).stream()
+        .map(StudentIdentity::id).toList();
+  }
+}
@@ -2,6 +2,11 @@ package uk.ac.ucl.comp0010.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.ac.ucl.comp0010.controllers.responses.StudentStatisticsResponse;
@@ -27,11 +32,20 @@ import uk.ac.ucl.comp0010.services.OperationLogService.RegistrationSnapshot;
 @Service
 @Transactional
 public class StudentService {
+  private static final Set<String> SORT_PROPERTIES = Set.of("id", "firstName", "lastName",
+      "userName", "email", "entryYear", "graduateYear", "major");
+  private static final Set<String> STATISTICS_SORT_PROPERTIES = Set.of("id", "firstName",
+      "lastName", "userName", "entryYear", "graduateYear", "major", "averageScore", "gpa");
+
   private final StudentRepository studentRepository;
   private final ModuleRepository moduleRepository;
   private final RegistrationRepository registrationRepository;
   private final GradeRepository gradeRepository;
   private final OperationLogService operationLogService;
+  private final ModuleStatisticsStore moduleStatisticsStore;
+  private final WriteEpoch writeEpoch;
+  private final VersionedCache<Long, StudentStatisticsResponse> statisticsCache =
+      new VersionedCache<>();
 
   /**
    * CTR for Student Service.
@@ -40,15 +54,20 @@ public class StudentService {
    * @param moduleRepository repository for module entities
    * @param registrationRepository repository for registrations
    * @param gradeRepository repository for grades
+   * @param moduleStatisticsStore per-module counters updated on grade and registration writes
+   * @param writeEpoch data version used to cache per-student statistics
    */
   public StudentService(StudentRepository studentRepository, ModuleRepository moduleRepository,
       RegistrationRepository registrationRepository, GradeRepository gradeRepository,
-      OperationLogService operationLogService) {
+      OperationLogService operationLogService, ModuleStatisticsStore moduleStatisticsStore,
+      WriteEpoch writeEpoch) {
     this.studentRepository = studentRepository;
     this.moduleRepository = moduleRepository;
     this.registrationRepository = registrationRepository;
     this.gradeRepository = gradeRepository;
     this.operationLogService = operationLogService;
+    this.moduleStatisticsStore = moduleStatisticsStore;
+    this.writeEpoch = writeEpoch;
   }
 
   /**
@@ -61,6 +80,32 @@ public class StudentService {
     return (List<Student>) studentRepository.findAll();
   }
 
+  /**
+   * Retrieves one page of students.
+   *
+   * @param pageable page request; sortable by profile fields
+   * @return page of students
+   */
+  @Transactional(readOnly = true)
+  public Page<Student> getStudentsPage(Pageable pageable) {
+    Paging.checkSort(pageable, SORT_PROPERTIES, "students");
+    return studentRepository.findAll(pageable);
+  }
+
+  /**
+   * Retrieves students in ascending id order, seeking past an id instead of skipping rows.
+   *
+   * @param after id of the last student already read, or null to start from the beginning
+   * @param size page size
+   * @return slice of students
+   */
+  @Transactional(readOnly = true)
+  public Slice<Student> getStudentsAfter(Long after, int size) {
+    Limit limit = Paging.keysetLimit(size);
+    Long from = after == null ? 0L : after;
+    return Paging.keysetSlice(studentRepository.findByIdGreaterThanOrderByIdAsc(from, limit), size);
+  }
+
   /**
    * Loads a single student.
    *
@@ -111,10 +156,12 @@ public class StudentService {
       throw new ResourceConflictException("Email already registered: " + updated.getEmail());
     }
 
-    Student beforeUpdate = operationLogService.copyOf(existing, Student.class);
+    Object[] before = EntityFields.STUDENT.capture(existing);
     applyUpdatedFields(existing, updated);
     Student saved = studentRepository.save(existing);
-    operationLogService.logUpdate(OperationEntityType.STUDENT, saved.getId(), beforeUpdate, saved,
+    EntityFields.Delta changes = EntityFields.STUDENT.diff(before, saved);
+    operationLogService.logChanges(OperationEntityType.STUDENT, saved.getId(),
+        changes.previous(), changes.current(),
         String.format("Updated student %s", saved.getUserName()));
     return saved;
   }
@@ -128,6 +175,7 @@ public class StudentService {
     Student student = getStudent(id);
     Student snapshot = operationLogService.copyOf(student, Student.class);
     studentRepository.delete(student);
+    moduleStatisticsStore.invalidate();
     operationLogService.logDeletion(OperationEntityType.STUDENT, id, snapshot,
         String.format("Deleted student %s", student.getUserName()));
   }
@@ -150,6 +198,7 @@ public class StudentService {
 
     Registration registration = new Registration(student, module);
     Registration saved = registrationRepository.save(registration);
+    moduleStatisticsStore.registrationAdded(moduleId);
     operationLogService.logCreation(OperationEntityType.REGISTRATION, saved.getId(),
         new OperationLogService.RegistrationSnapshot(saved.getId(), studentId, moduleId),
         String.format("Registered %s to %s", student.getUserName(), module.getCode()));
@@ -175,6 +224,7 @@ public class StudentService {
     RegistrationSnapshot snapshot = new RegistrationSnapshot(registration.getId(), studentId,
         moduleId);
     registrationRepository.delete(registration);
+    moduleStatisticsStore.registrationRemoved(moduleId);
     operationLogService.logDeletion(OperationEntityType.REGISTRATION, registration.getId(),
         snapshot,
         String.format("Unregistered %s from %s", student.getUserName(), module.getCode()));
@@ -218,10 +268,12 @@ public class StudentService {
     target.setScore(score);
     Grade saved = gradeRepository.save(target);
     if (previous == null) {
+      moduleStatisticsStore.gradeRecorded(moduleId, saved.getScore());
       operationLogService.logCreation(OperationEntityType.GRADE, saved.getId(),
           new GradeSnapshot(saved.getId(), studentId, moduleId, saved.getScore()),
           String.format("Created grade for %s in %s", student.getUserName(), module.getCode()));
     } else {
+      moduleStatisticsStore.gradeChanged(moduleId, previous.score(), saved.getScore());
       operationLogService.logUpdate(OperationEntityType.GRADE, saved.getId(), previous,
           new GradeSnapshot(saved.getId(), studentId, moduleId, saved.getScore()),
           String.format("Updated grade for %s in %s", student.getUserName(), module.getCode()));
@@ -255,8 +307,7 @@ public class StudentService {
   }
 
   /**
-   * Computes the GPA for a student on a 4.0 scale using common UK bands.
-   * 70+ -> 4.0, 60-69 -> 3.3, 50-59 -> 2.7, 40-49 -> 2.0, else 0.0.
+   * Computes the GPA for a student on a 4.0 scale using the UK bands in {@link GpaScale}.
    *
    * @param studentId student identifier
    * @return GPA between 0.0 and 4.0
@@ -270,19 +321,7 @@ public class StudentService {
     }
 
     double totalPoints = grades.stream()
-        .mapToDouble(grade -> {
-          int score = grade.getScore();
-          if (score >= 70) {
-            return 4.0;
-          } else if (score >= 60) {
-            return 3.3;
-          } else if (score >= 50) {
-            return 2.7;
-          } else if (score >= 40) {
-            return 2.0;
-          }
-          return 0.0;
-        })
+        .mapToDouble(grade -> GpaScale.pointsFor(grade.getScore()))
         .sum();
 
     return totalPoints / grades.size();
@@ -290,18 +329,43 @@ public class StudentService {
 
   /**
    * Builds a statistics view for the given student including personal data and average score.
+   * Views are cached until the next committed write.
    *
    * @param studentId student identifier
    * @return StudentStatisticsResponse containing profile and average score information
    */
   @Transactional(readOnly = true)
   public StudentStatisticsResponse getStudentStatistics(Long studentId) {
+    return statisticsCache.get(writeEpoch.current(), studentId,
+        () -> computeStudentStatistics(studentId));
+  }
+
+  private StudentStatisticsResponse computeStudentStatistics(Long studentId) {
     Student student = getStudent(studentId);
     List<Grade> grades = gradeRepository.findAllByStudent(student);
     Double average = grades.isEmpty()
         ? null
         : grades.stream().mapToInt(Grade::getScore).average().orElse(0.0);
-    return StudentStatisticsResponse.fromStudent(student, average);
+    Double gpa = grades.isEmpty()
+        ? null
+        : grades.stream().mapToDouble(grade -> GpaScale.pointsFor(grade.getScore())).average()
+            .orElse(0.0);
+    return StudentStatisticsResponse.fromStudent(student, average, gpa);
+  }
+
+  /**
+   * Builds statistics for a page of students, computing every average and GPA in one aggregate
+   * query rather than loading grades per student.
+   *
+   * @param pageable page request; sortable by profile fields, averageScore and gpa
+   * @return page of statistics, with null average and GPA for students without grades
+   */
+  @Transactional(readOnly = true)
+  public Page<StudentStatisticsResponse> getAllStudentStatistics(Pageable pageable) {
+    Paging.checkSort(pageable, STATISTICS_SORT_PROPERTIES, "student statistics");
+    return studentRepository.findAllWithGradeAggregates(pageable)
+        .map(row -> StudentStatisticsResponse.fromStudent(row.getStudent(),
+            row.getAverageScore(), row.getGpa()));
   }
 
   private void applyUpdatedFields(Student target, Student source) {
@@ -0,0 +1,124 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import uk.ac.ucl.comp0010.repositories.projections.TokenOwner;
+
+/**
+ * Bounded cache from bearer token to its owner whose entries expire after a fixed time to live.
+ *
+ * <p>Only successful lookups are cached, so a token issued after a miss is found straight away.
+ * Every invalidation bumps a counter that loads read before querying and again after caching; a
+ * load that overlaps an invalidation returns its result but takes its entry back out, so a rotated
+ * token cannot be put back by a lookup that read it just before the rotation committed.
+ *
+ * <p>When the cache is full, one miss purges expired entries and then drops arbitrary entries
+ * until a tenth of the capacity is free, so the scan is paid once per that many misses rather than
+ * on every miss. Misses that arrive while another thread is evicting skip it, so the cache can
+ * briefly hold a few entries more than its bound.
+ */
+final class TokenCache {
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AtomicBoolean evicting = new AtomicBoolean();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final long ttlNanos;
+  private final int maxSize;
+  private final LongSupplier clock;
+
+  TokenCache(long ttlMillis, int maxSize) {
+    this(ttlMillis, maxSize, System::nanoTime);
+  }
+
+  TokenCache(long ttlMillis, int maxSize, LongSupplier clock) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.maxSize = maxSize;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the owner cached for a token, loading and caching it on a miss.
+   *
+   * @param token bearer token
+   * @param loader looks the token up when it is not cached
+   * @return owner of the token, if any
+   */
+  Optional<TokenOwner> get(String token, Supplier<Optional<TokenOwner>> loader) {
+    long now = clock.getAsLong();
+    Entry cached = entries.get(token);
+    if (cached != null && now - cached.expiresAt < 0) {
+      hits.increment();
+      return Optional.of(cached.owner);
+    }
+    misses.increment();
+    if (cached != null) {
+      entries.remove(token, cached);
+    }
+    long seen = invalidations.get();
+    Optional<TokenOwner> loaded = loader.get();
+    if (loaded.isPresent() && maxSize > 0 && ttlNanos > 0) {
+      makeRoom(now);
+      Entry entry = new Entry(loaded.get(), now + ttlNanos);
+      entries.put(token, entry);
+      // Checked after the put: an invalidation racing it either removes the entry itself or has
+      // already bumped the counter, so a rotated token is never left cached.
+      if (invalidations.get() != seen) {
+        entries.remove(token, entry);
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Drops a token so the next lookup reads the database.
+   *
+   * @param token token being rotated or revoked; null is ignored
+   */
+  void invalidate(String token) {
+    invalidations.incrementAndGet();
+    if (token != null) {
+      entries.remove(token);
+    }
+  }
+
+  long hitCount() {
+    return hits.sum();
+  }
+
+  long missCount() {
+    return misses.sum();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private void makeRoom(long now) {
+    if (entries.size() < maxSize || !evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+      int target = maxSize - Math.max(1, maxSize / 10);
+      Iterator<String> tokens = entries.keySet().iterator();
+      while (entries.size() > target && tokens.hasNext()) {
+        tokens.next();
+        tokens.remove();
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  private record Entry(TokenOwner owner, long expiresAt) {
+  }
+}
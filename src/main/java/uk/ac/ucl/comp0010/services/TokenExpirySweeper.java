@@ -0,0 +1,99 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.ac.ucl.comp0010.repositories.UserAccountRepository;
+
+/**
+ * Clears expired bearer tokens from the users table in the background.
+ *
+ * <p>Expired tokens are already rejected at lookup; sweeping them keeps the token index down to
+ * live tokens. Tokens stored before expiry times were recorded have none and are never accepted,
+ * so they are swept as expired too. Each batch reads the ids of the earliest-expiring accounts
+ * through the expiry index and clears them with one update in its own transaction. The update
+ * repeats the expiry check, so an account that logs in between the two statements keeps its new
+ * token.
+ */
+@Service
+public class TokenExpirySweeper {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TokenExpirySweeper.class);
+
+  private final UserAccountRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+
+  /**
+   * Creates the sweeper.
+   *
+   * @param userRepository repository of accounts
+   * @param transactionManager manager for the per-batch transactions
+   * @param enabled whether scheduled sweeps run
+   * @param batchSize accounts cleared per update
+   */
+  public TokenExpirySweeper(UserAccountRepository userRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${auth.token-sweep.enabled:true}") boolean enabled,
+      @Value("${auth.token-sweep.batch-size:500}") int batchSize) {
+    this.userRepository = userRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Clears tokens that have expired when sweeping is enabled.
+   *
+   * @return number of tokens cleared
+   */
+  @Scheduled(initialDelayString = "${auth.token-sweep.interval-ms:300000}",
+      fixedDelayString = "${auth.token-sweep.interval-ms:300000}")
+  public int sweepExpired() {
+    if (!enabled) {
+      return 0;
+    }
+    return sweepExpiredBy(Instant.now());
+  }
+
+  /**
+   * Clears every token expiring at or before the given instant, {@code batchSize} at a time.
+   *
+   * @param now tokens expiring at or before this instant are cleared
+   * @return number of tokens cleared
+   */
+  public int sweepExpiredBy(Instant now) {
+    int cleared = 0;
+    Batch batch;
+    do {
+      batch = Objects.requireNonNull(transactionTemplate.execute(status -> sweepBatch(now)));
+      cleared += batch.cleared();
+    } while (batch.selected() > 0);
+    if (cleared > 0) {
+      LOGGER.info("Cleared {} bearer tokens expired by {}", cleared, now);
+    }
+    return cleared;
+  }
+
+  private Batch sweepBatch(Instant now) {
+    List<Long> ids = userRepository.findIdsWithTokenExpiredBy(now, Limit.of(batchSize));
+    if (ids.isEmpty()) {
+      return new Batch(0, 0);
+    }
+    return new Batch(ids.size(), userRepository.clearTokensExpiredBy(ids, now));
+  }
+
+  /**
+   * Accounts one batch selected, and how many of them still had an expired token when cleared.
+   */
+  private record Batch(int selected, int cleared) {
+  }
+}
@@ -0,0 +1,75 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.concurrent.locks.Lock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for deferring in-memory side effects until the surrounding transaction commits.
+ */
+final class TransactionHooks {
+
+  private TransactionHooks() {
+  }
+
+  /**
+   * Runs the action once the current transaction commits, or immediately when none is active.
+   *
+   * @param action side effect to apply
+   */
+  static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  /**
+   * Runs the action once the current transaction commits, holding the gate from just before the
+   * commit until the action has run. Whoever holds the lock the gate belongs to exclusively
+   * therefore sees either both the committed data and the action's effect or neither. Without a
+   * transaction the action runs under the gate immediately.
+   *
+   * @param action side effect to apply
+   * @param gate shared side of a read-write lock
+   */
+  static void afterCommit(Runnable action, Lock gate) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      gate.lock();
+      try {
+        action.run();
+      } finally {
+        gate.unlock();
+      }
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      private boolean held;
+
+      @Override
+      public void beforeCommit(boolean readOnly) {
+        gate.lock();
+        held = true;
+      }
+
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (held) {
+          held = false;
+          gate.unlock();
+        }
+      }
+    });
+  }
+}
@@ -1,26 +1,58 @@
 package uk.ac.ucl.comp0010.services;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.ac.ucl.comp0010.exceptions.ResourceConflictException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
 import uk.ac.ucl.comp0010.models.UserAccount;
 import uk.ac.ucl.comp0010.repositories.UserAccountRepository;
+import uk.ac.ucl.comp0010.repositories.projections.TokenOwner;
 
 /**
  * Service managing user registration and authentication tokens.
+ *
+ * <p>Token lookups go through a bounded {@link TokenCache}, so repeated requests with the same
+ * token skip the database until the entry expires. Logging in evicts the replaced token from
+ * this instance's cache straight away; other instances serve it until their entry expires.
+ * When {@link SignedTokens} are enabled, new tokens are signed and verified without any lookup;
+ * opaque tokens issued before the switch keep working until their owner logs in again.
+ * Password hashing runs on the bounded {@link PasswordHasher} pool. Every token expires a fixed
+ * time after it is issued; {@link TokenExpirySweeper} clears expired tokens from the table.
  */
 @Service
 public class UserService {
 
   private final UserAccountRepository userRepository;
-  private final BCryptPasswordEncoder passwordEncoder;
+  private final PasswordHasher passwordHasher;
+  private final TokenCache tokenCache;
+  private final SignedTokens signedTokens;
+  private final Duration tokenTtl;
 
-  public UserService(UserAccountRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+  /**
+   * Creates the service.
+   *
+   * @param userRepository repository of accounts
+   * @param passwordHasher pool hashing and checking passwords
+   * @param tokenCacheTtlMs how long a cached token stays valid without a database check
+   * @param tokenCacheMaxSize most tokens cached at once
+   * @param signedTokens issuer of signed tokens, used when enabled
+   * @param tokenTtlMs how long an issued token is accepted
+   */
+  public UserService(UserAccountRepository userRepository, PasswordHasher passwordHasher,
+      @Value("${auth.token-cache.ttl-ms:60000}") long tokenCacheTtlMs,
+      @Value("${auth.token-cache.max-size:10000}") int tokenCacheMaxSize,
+      SignedTokens signedTokens,
+      @Value("${auth.token-ttl-ms:43200000}") long tokenTtlMs) {
     this.userRepository = userRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.passwordHasher = passwordHasher;
+    this.tokenCache = new TokenCache(tokenCacheTtlMs, tokenCacheMaxSize);
+    this.signedTokens = signedTokens;
+    this.tokenTtl = Duration.ofMillis(tokenTtlMs);
   }
 
   /**
@@ -35,8 +67,8 @@ public class UserService {
       throw new ResourceConflictException("Username already exists");
     }
 
-    String token = generateToken();
-    UserAccount account = new UserAccount(username, passwordEncoder.encode(password), token);
+    UserAccount account = new UserAccount(username, passwordHasher.encode(password), null);
+    issueToken(account);
     return userRepository.save(account);
   }
 
@@ -51,25 +83,72 @@ public class UserService {
     UserAccount account = userRepository.findByUsername(username)
         .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-    if (!passwordEncoder.matches(password, account.getPasswordHash())) {
+    if (!passwordHasher.matches(password, account.getPasswordHash())) {
       throw new ResourceConflictException("Invalid credentials");
     }
 
-    account.setAuthToken(generateToken());
-    return userRepository.save(account);
+    String previousToken = account.getAuthToken();
+    issueToken(account);
+    UserAccount saved = userRepository.save(account);
+    tokenCache.invalidate(previousToken);
+    return saved;
   }
 
   /**
    * Validate bearer token.
    *
    * @param token bearer token string
-   * @return optional matching user
+   * @return username of the account holding the token, unless it has expired
+   */
+  public Optional<String> findUsernameByToken(String token) {
+    if (token == null || token.isBlank()) {
+      return Optional.empty();
+    }
+    if (signedTokens.isEnabled() && SignedTokens.isSigned(token)) {
+      return signedTokens.verify(token, this::storedIssuedAt);
+    }
+    Instant now = Instant.now();
+    return tokenCache.get(token, () -> userRepository.findTokenOwner(token, now))
+        .filter(owner -> owner.expiresAt().isAfter(now))
+        .map(TokenOwner::username);
+  }
+
+  /**
+   * Snapshot of the token cache and password hashing counters.
+   *
+   * @return current metrics
    */
-  public Optional<UserAccount> findByToken(String token) {
-    return userRepository.findByAuthToken(token);
+  public Metrics metrics() {
+    return new Metrics(tokenCache.hitCount(), tokenCache.missCount(),
+        passwordHasher.queueDepth(), passwordHasher.activeCount(),
+        passwordHasher.rejectedCount());
   }
 
-  private String generateToken() {
-    return UUID.randomUUID().toString();
+  private long storedIssuedAt(String username) {
+    return userRepository.findTokenIssuedAt(username).map(Instant::toEpochMilli)
+        .orElse(Long.MIN_VALUE);
+  }
+
+  private void issueToken(UserAccount account) {
+    // Millisecond precision so a signed token's issue time matches the stored one exactly.
+    Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    account.setAuthToken(signedTokens.isEnabled()
+        ? signedTokens.issue(account.getUsername(), issuedAt.toEpochMilli())
+        : UUID.randomUUID().toString());
+    account.setTokenIssuedAt(issuedAt);
+    account.setTokenExpiresAt(issuedAt.plus(tokenTtl));
+  }
+
+  /**
+   * Authentication counters.
+   *
+   * @param tokenCacheHits token lookups answered from the cache
+   * @param tokenCacheMisses token lookups that went to the database
+   * @param hashQueueDepth password hashes waiting for a thread
+   * @param hashActive password hashes running
+   * @param hashRejected requests shed because the hashing queue was full
+   */
+  public record Metrics(long tokenCacheHits, long tokenCacheMisses, int hashQueueDepth,
+      int hashActive, long hashRejected) {
   }
 }
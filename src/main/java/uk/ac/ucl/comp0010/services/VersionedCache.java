@@ -0,0 +1,51 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache whose entries are valid for a single {@link WriteEpoch} version.
+ *
+ * <p>All entries are dropped together when a lookup arrives with a newer version. The caller
+ * reads the version before computing a value, so a write committing mid-computation can only
+ * leave an older version attached to newer data, never the reverse.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class VersionedCache<K, V> {
+  private volatile Generation<K, V> generation = new Generation<>("");
+
+  /**
+   * Returns the cached value for the key at the given version, computing it when absent.
+   *
+   * @param version version the value must belong to
+   * @param key cache key
+   * @param loader computes the value on a miss
+   * @return cached or freshly computed value
+   */
+  V get(String version, K key, Supplier<V> loader) {
+    Generation<K, V> current = generation;
+    if (!current.version.equals(version)) {
+      current = new Generation<>(version);
+      generation = current;
+    }
+    V cached = current.values.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    V value = loader.get();
+    current.values.put(key, value);
+    return value;
+  }
+
+  private static final class Generation<K, V> {
+    private final String version;
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+
+    private Generation(String version) {
+      this.version = version;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package uk.ac.ucl.comp0010.services;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+/**
+ * Global version of the data, advanced after every committed write.
+ *
+ * <p>Every mutating service method records an operation log, so the epoch is advanced from
+ * {@link OperationLogService}. The value combines a random per-process nonce with a counter,
+ * which keeps versions handed out before a restart from matching those issued after it.
+ */
+@Service
+public class WriteEpoch {
+  private final String nonce = Long.toHexString(new SecureRandom().nextLong());
+  private final AtomicLong counter = new AtomicLong();
+
+  /**
+   * Returns the current version.
+   *
+   * @return opaque version string, suitable for use as an entity tag
+   */
+  public String current() {
+    return nonce + "-" + counter.get();
+  }
+
+  /**
+   * Advances the version once the surrounding transaction commits.
+   */
+  public void advance() {
+    TransactionHooks.afterCommit(counter::incrementAndGet);
+  }
+}
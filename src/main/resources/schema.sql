@@ -1,14 +1,31 @@
 -- Database schema for COMP0010 Spring application
 
+DROP TABLE IF EXISTS operation_log_imports CASCADE;
 DROP TABLE IF EXISTS operation_logs CASCADE;
 DROP TABLE IF EXISTS grades CASCADE;
 DROP TABLE IF EXISTS registrations CASCADE;
 DROP TABLE IF EXISTS modules CASCADE;
 DROP TABLE IF EXISTS students CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
+DROP SEQUENCE IF EXISTS operation_logs_id_seq;
+DROP SEQUENCE IF EXISTS grades_id_seq;
+DROP SEQUENCE IF EXISTS registrations_id_seq;
+DROP SEQUENCE IF EXISTS modules_id_seq;
+DROP SEQUENCE IF EXISTS students_id_seq;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+-- Ids come from sequences stepped by 50, matching the entities' allocationSize, so
+-- Hibernate reserves a block per round trip and can batch inserts. Rows inserted
+-- directly through JDBC draw from the same sequences via the column defaults.
+CREATE SEQUENCE students_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE modules_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE grades_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE registrations_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE operation_logs_id_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE students (
-  id BIGSERIAL PRIMARY KEY,
+  id BIGINT DEFAULT nextval('students_id_seq') PRIMARY KEY,
   first_name VARCHAR(255) NOT NULL,
   last_name VARCHAR(255) NOT NULL,
   user_name VARCHAR(255) NOT NULL UNIQUE,
@@ -24,7 +41,7 @@ CREATE TABLE students (
 );
 
 CREATE TABLE modules (
-  id BIGSERIAL PRIMARY KEY,
+  id BIGINT DEFAULT nextval('modules_id_seq') PRIMARY KEY,
   code VARCHAR(255) NOT NULL UNIQUE,
   name VARCHAR(255) NOT NULL,
   mnc BOOLEAN NOT NULL,
@@ -32,7 +49,7 @@ CREATE TABLE modules (
 );
 
 CREATE TABLE grades (
-  id BIGSERIAL PRIMARY KEY,
+  id BIGINT DEFAULT nextval('grades_id_seq') PRIMARY KEY,
   score INTEGER NOT NULL,
   student_id BIGINT NOT NULL,
   module_id BIGINT NOT NULL,
@@ -43,7 +60,7 @@ CREATE TABLE grades (
 );
 
 CREATE TABLE registrations (
-  id BIGSERIAL PRIMARY KEY,
+  id BIGINT DEFAULT nextval('registrations_id_seq') PRIMARY KEY,
   student_id BIGINT NOT NULL,
   module_id BIGINT NOT NULL,
   CONSTRAINT unique_registration UNIQUE (student_id, module_id),
@@ -54,20 +71,40 @@ CREATE TABLE registrations (
 );
 
 CREATE TABLE users (
-  id BIGSERIAL PRIMARY KEY,
+  id BIGINT DEFAULT nextval('users_id_seq') PRIMARY KEY,
   username VARCHAR(255) NOT NULL UNIQUE,
   password_hash VARCHAR(255) NOT NULL,
-  auth_token VARCHAR(255) UNIQUE
+  auth_token VARCHAR(255) UNIQUE,
+  token_issued_at TIMESTAMP WITH TIME ZONE,
+  token_expires_at TIMESTAMP WITH TIME ZONE
 );
 
+CREATE INDEX idx_users_token_expires_at ON users (token_expires_at);
+
 CREATE TABLE operation_logs (
-  id BIGSERIAL PRIMARY KEY,
+  id BIGINT DEFAULT nextval('operation_logs_id_seq') PRIMARY KEY,
   operation_type VARCHAR(50) NOT NULL,
   entity_type VARCHAR(50) NOT NULL,
   entity_id BIGINT,
   timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
   username VARCHAR(255),
   description TEXT,
-  previous_state TEXT,
-  new_state TEXT
+  previous_state BYTEA,
+  new_state BYTEA
+);
+
+CREATE INDEX idx_operation_logs_timestamp ON operation_logs (timestamp, id);
+CREATE INDEX idx_operation_logs_entity ON operation_logs (entity_type, entity_id, timestamp, id);
+CREATE INDEX idx_operation_logs_operation_type ON operation_logs (operation_type, timestamp, id);
+CREATE INDEX idx_operation_logs_username ON operation_logs (username, timestamp, id);
+
+-- Import entries list their rows in new_state and have no entity_id; this maps each imported
+-- row back to its entry so entity history can find it. Archiving an entry deletes its rows.
+CREATE TABLE operation_log_imports (
+  entity_type VARCHAR(50) NOT NULL,
+  entity_id BIGINT NOT NULL,
+  log_id BIGINT NOT NULL,
+  PRIMARY KEY (entity_type, entity_id, log_id),
+  FOREIGN KEY (log_id)
+    REFERENCES operation_logs (id) ON DELETE CASCADE
 );
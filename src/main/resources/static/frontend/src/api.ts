@@ -54,6 +54,12 @@ export async function apiFetch<T>(path: string, options: ApiOptions = {}): Promi
 
 export type CollectionResponse<T> = { _embedded?: Record<string, T[]> } | T[];
 
+export interface KeysetPage<T> {
+  content: T[];
+  size: number;
+  nextCursor: number | null;
+}
+
 
 export function formatCurrency(value: number | null | undefined): string {
   if (value == null) return '—';
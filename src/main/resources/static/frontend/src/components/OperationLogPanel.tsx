@@ -1,5 +1,5 @@
 import { useEffect, useState } from 'react';
-import { apiFetch } from '../api';
+import { apiFetch, type KeysetPage } from '../api';
 import { type OperationLog } from '../types';
 
 interface OperationLogPanelProps {
@@ -24,8 +24,8 @@ const OperationLogPanel = ({ refreshToken, onReverted }: OperationLogPanelProps)
   const fetchLogs = async () => {
     setLoading(true);
     try {
-      const response = await apiFetch<OperationLog[]>('/operations');
-      setLogs(response);
+      const page = await apiFetch<KeysetPage<OperationLog>>('/operations?after=&size=1');
+      setLogs(page.content);
     } finally {
       setLoading(false);
     }
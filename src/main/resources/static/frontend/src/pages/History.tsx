@@ -1,13 +1,17 @@
 import { useEffect, useState } from 'react';
-import { apiFetch, unwrapCollection, type CollectionResponse } from '../api';
+import { apiFetch, type KeysetPage } from '../api';
 import ErrorMessage from '../components/ErrorMessage';
 import { useAuth } from '../contexts/AuthContext';
 import { type OperationLog } from '../types';
 
+const PAGE_SIZE = 50;
+
 const History = () => {
   const { requireAuth } = useAuth();
   const [logs, setLogs] = useState<OperationLog[]>([]);
+  const [nextCursor, setNextCursor] = useState<number | null>(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
   const [reverting, setReverting] = useState<number | null>(null);
 
@@ -15,8 +19,9 @@ const History = () => {
     setLoading(true);
     setError('');
     try {
-      const response = await apiFetch<CollectionResponse<OperationLog>>('/operations');
-      setLogs(unwrapCollection(response, 'operationLogs'));
+      const page = await apiFetch<KeysetPage<OperationLog>>(`/operations?after=&size=${PAGE_SIZE}`);
+      setLogs(page.content);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       setError(err instanceof Error ? err.message : 'Unable to load logs');
     } finally {
@@ -24,6 +29,22 @@ const History = () => {
     }
   };
 
+  const loadMore = async () => {
+    if (nextCursor == null) return;
+    setLoadingMore(true);
+    try {
+      const page = await apiFetch<KeysetPage<OperationLog>>(
+        `/operations?after=${nextCursor}&size=${PAGE_SIZE}`,
+      );
+      setLogs((current) => [...current, ...page.content]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'Unable to load logs');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     void fetchLogs();
   }, []);
@@ -84,10 +105,22 @@ const History = () => {
         {loading ? (
           <p className="text-slate-300">Loading history...</p>
         ) : (
-          <div className="grid gap-4 md:grid-cols-2 lg:grid-cols-3">
-            {logs.map(renderLog)}
-            {logs.length === 0 && <p className="text-slate-300">No operations recorded yet.</p>}
-          </div>
+          <>
+            <div className="grid gap-4 md:grid-cols-2 lg:grid-cols-3">
+              {logs.map(renderLog)}
+              {logs.length === 0 && <p className="text-slate-300">No operations recorded yet.</p>}
+            </div>
+            {nextCursor != null && (
+              <button
+                type="button"
+                onClick={() => void loadMore()}
+                disabled={loadingMore}
+                className="self-center rounded-full bg-white/10 px-4 py-2 text-sm font-semibold text-slate-200 ring-1 ring-white/20 transition hover:bg-white/20 disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading…' : 'Load more'}
+              </button>
+            )}
+          </>
         )}
       </div>
     </div>
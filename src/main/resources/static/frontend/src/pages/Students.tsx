@@ -3,7 +3,7 @@ import { useNavigate, useOutletContext } from 'react-router-dom';
 import { apiFetch, unwrapCollection, type CollectionResponse } from '../api';
 import ErrorMessage from '../components/ErrorMessage';
 import { useAuth } from '../contexts/AuthContext';
-import { type Grade, type Student } from '../types';
+import { type PagedResponse, type Student, type StudentStatistics } from '../types';
 
 const emptyStudent: Student = {
   firstName: '',
@@ -30,7 +30,7 @@ const Students = () => {
   const { refreshOps } = useOutletContext() as AppContext;
 
   const [students, setStudents] = useState<Student[]>([]);
-  const [grades, setGrades] = useState<Grade[]>([]);
+  const [statistics, setStatistics] = useState<StudentStatistics[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
 
@@ -53,13 +53,23 @@ const Students = () => {
     setLoading(true);
     setError('');
     try {
-      const [studentsResponse, gradesResponse] = await Promise.all([
+      const loadStatistics = async () => {
+        const rows: StudentStatistics[] = [];
+        for (let page = 0; ; page += 1) {
+          const response = await apiFetch<PagedResponse<StudentStatistics>>(
+            `/students/statistics?page=${page}&size=500`,
+          );
+          rows.push(...response.content);
+          if (page + 1 >= response.totalPages) return rows;
+        }
+      };
+      const [studentsResponse, statisticsRows] = await Promise.all([
         apiFetch<CollectionResponse<Student>>('/students'),
-        apiFetch<CollectionResponse<Grade>>('/grades'),
+        loadStatistics(),
       ]);
 
       setStudents(unwrapCollection(studentsResponse, 'students'));
-      setGrades(unwrapCollection(gradesResponse, 'grades'));
+      setStatistics(statisticsRows);
     } catch (err) {
       setError(err instanceof Error ? err.message : 'Unable to load students');
     } finally {
@@ -72,15 +82,12 @@ const Students = () => {
   }, []);
 
   const studentAverages = useMemo(() => {
-    const totals = new Map<number, { sum: number; count: number }>();
-    grades.forEach((grade) => {
-      const studentId = grade.student?.id;
-      if (!studentId || grade.score == null) return;
-      const current = totals.get(studentId) ?? { sum: 0, count: 0 };
-      totals.set(studentId, { sum: current.sum + grade.score, count: current.count + 1 });
+    const averages = new Map<number, number>();
+    statistics.forEach((row) => {
+      if (row.id != null && row.averageScore != null) averages.set(row.id, row.averageScore);
     });
-    return totals;
-  }, [grades]);
+    return averages;
+  }, [statistics]);
 
   const filteredStudents = useMemo(() => {
     const query = studentQuery.trim().toLowerCase();
@@ -125,7 +132,7 @@ const Students = () => {
 
   const renderStudentCard = (student: Student) => {
     const stats = student.id ? studentAverages.get(student.id) : undefined;
-    const average = stats ? (stats.sum / stats.count).toFixed(1) : '–';
+    const average = stats != null ? stats.toFixed(1) : '–';
     const cohort = student.entryYear && student.graduateYear
       ? `${student.entryYear} – ${student.graduateYear}`
       : student.entryYear
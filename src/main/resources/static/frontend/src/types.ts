@@ -35,6 +35,19 @@ export interface ModuleStatistics extends Module {
   averageGrade: number | null;
 }
 
+export interface StudentStatistics extends Student {
+  averageScore: number | null;
+  gpa: number | null;
+}
+
+export interface PagedResponse<T> {
+  content: T[];
+  page: number;
+  size: number;
+  totalElements: number;
+  totalPages: number;
+}
+
 export interface Grade {
   id?: number;
   score: number;
@@ -62,7 +75,7 @@ export interface HalCollection<T> {
 
 export interface OperationLog {
   id?: number;
-  operationType: 'CREATE' | 'UPDATE' | 'DELETE' | 'REVERT';
+  operationType: 'CREATE' | 'UPDATE' | 'DELETE' | 'REVERT' | 'IMPORT';
   entityType: 'STUDENT' | 'MODULE' | 'REGISTRATION' | 'GRADE';
   entityId?: number | null;
   timestamp: string;
@@ -0,0 +1,115 @@
+package uk.ac.ucl.comp0010;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.models.Registration;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.services.GradeService;
+import uk.ac.ucl.comp0010.services.OperationLogService;
+
+/**
+ * Measures a point-in-time revert of a bulk grade upload.
+ *
+ * <p>The grades are created one by one, as an upload through the API records them, and then
+ * reverted in one batch. The revert must not flush once per entry: the deletes go out in JDBC
+ * batches, so the statement count stays well below the number of grades. Raise
+ * {@code -Dbenchmark.grades} for a longer run.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BatchRevertBenchmarkTest {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchRevertBenchmarkTest.class);
+  private static final int MODULES = 20;
+  private static final int GRADES = Integer.getInteger("benchmark.grades", 1000);
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  @Autowired
+  private ModuleRepository moduleRepository;
+
+  @Autowired
+  private RegistrationRepository registrationRepository;
+
+  @Autowired
+  private GradeRepository gradeRepository;
+
+  @Autowired
+  private GradeService gradeService;
+
+  @Autowired
+  private OperationLogService operationLogService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    gradeRepository.deleteAll();
+    registrationRepository.deleteAll();
+    moduleRepository.deleteAll();
+    studentRepository.deleteAll();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void revertingAGradeUploadIsBatched() throws Exception {
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < GRADES / MODULES; i++) {
+      students.add(new Student("Revert", "Student", "revert" + i, "revert" + i + "@ucl.ac.uk"));
+    }
+    List<Module> modules = new ArrayList<>();
+    for (int i = 0; i < MODULES; i++) {
+      modules.add(new Module("REVERT" + i, "Revert " + i, false));
+    }
+    studentRepository.saveAll(students);
+    moduleRepository.saveAll(modules);
+    List<Registration> registrations = new ArrayList<>();
+    for (Student student : students) {
+      for (Module module : modules) {
+        registrations.add(new Registration(student, module));
+      }
+    }
+    registrationRepository.saveAll(registrations);
+
+    Instant after = Instant.now();
+    Thread.sleep(5);
+    for (Registration registration : registrations) {
+      gradeService.createGrade(registration.getStudent().getId(),
+          registration.getModule().getId(), 40 + (int) (registration.getId() % 60));
+    }
+    assertThat(gradeRepository.count()).isEqualTo(registrations.size());
+
+    statistics.clear();
+    long start = System.nanoTime();
+    List<OperationLog> reverts = operationLogService.revertOperations(null, after);
+    long elapsed = System.nanoTime() - start;
+
+    long statements = statistics.getPrepareStatementCount();
+    LOGGER.info("Reverted {} grades in {} ms using {} statements and {} flushes", reverts.size(),
+        elapsed / 1_000_000, statements, statistics.getFlushCount());
+    assertThat(reverts).hasSize(registrations.size());
+    assertThat(gradeRepository.count()).isZero();
+    assertThat(statistics.getFlushCount()).isLessThan(5);
+    assertThat(statements).isLessThan(registrations.size() / 10);
+  }
+}
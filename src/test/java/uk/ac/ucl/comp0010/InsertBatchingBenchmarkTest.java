@@ -0,0 +1,143 @@
+package uk.ac.ucl.comp0010;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.ac.ucl.comp0010.models.Grade;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.models.Registration;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+
+/**
+ * Measures bulk registration and grade inserts through JPA.
+ *
+ * <p>With identity columns every row needed its own INSERT round trip; sequence ids let
+ * Hibernate send rows in JDBC batches. The test loads the same data with batching turned off and
+ * with the configured batch size, checks that batching cuts the statement count at least tenfold
+ * and logs rows per second for both. Raise {@code -Dbenchmark.rows} for a longer run.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InsertBatchingBenchmarkTest {
+  private static final Logger LOGGER = LoggerFactory.getLogger(InsertBatchingBenchmarkTest.class);
+  private static final int MODULES = 20;
+  private static final int ROWS = Integer.getInteger("benchmark.rows", 2000);
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  @Autowired
+  private ModuleRepository moduleRepository;
+
+  @Autowired
+  private RegistrationRepository registrationRepository;
+
+  @Autowired
+  private GradeRepository gradeRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    gradeRepository.deleteAll();
+    registrationRepository.deleteAll();
+    moduleRepository.deleteAll();
+    studentRepository.deleteAll();
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void registrationAndGradeLoadsAreBatched() {
+    long unbatched = loadRegistrationsAndGrades("plain", 1);
+    long batched = loadRegistrationsAndGrades("batched", null);
+
+    LOGGER.info("Registrations and grades took {} statements unbatched and {} batched",
+        unbatched, batched);
+    assertThat(batched).isLessThan(unbatched / 10);
+    assertThat(gradeRepository.count()).isEqualTo(2L * (ROWS / MODULES) * MODULES);
+  }
+
+  /**
+   * Loads one student per {@value #MODULES} rows into fresh modules, then registers and grades
+   * every student in every module.
+   *
+   * @param prefix keeps usernames and module codes unique across loads
+   * @param batchSize JDBC batch size for the load, or null for the configured one
+   * @return statements prepared for the registrations and grades
+   */
+  private long loadRegistrationsAndGrades(String prefix, Integer batchSize) {
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < ROWS / MODULES; i++) {
+      students.add(new Student("Bench", "Student", prefix + i, prefix + i + "@ucl.ac.uk"));
+    }
+    List<Module> modules = new ArrayList<>();
+    for (int i = 0; i < MODULES; i++) {
+      modules.add(new Module(prefix.toUpperCase() + i, "Benchmark " + i, false));
+    }
+    measure(prefix + " students and modules", students.size() + modules.size(), batchSize,
+        () -> {
+          studentRepository.saveAll(students);
+          moduleRepository.saveAll(modules);
+        });
+
+    List<Registration> registrations = new ArrayList<>();
+    List<Grade> grades = new ArrayList<>();
+    for (Student student : students) {
+      for (Module module : modules) {
+        registrations.add(new Registration(student, module));
+        grades.add(new Grade(student, module, 40 + registrations.size() % 60));
+      }
+    }
+    long statements = measure(prefix + " registrations", registrations.size(), batchSize,
+        () -> registrationRepository.saveAll(registrations));
+    statements += measure(prefix + " grades", grades.size(), batchSize,
+        () -> gradeRepository.saveAll(grades));
+    return statements;
+  }
+
+  private long measure(String label, int rows, Integer batchSize, Runnable load) {
+    statistics.clear();
+    long start = System.nanoTime();
+    transactionTemplate.executeWithoutResult(status -> {
+      if (batchSize != null) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+      }
+      load.run();
+    });
+    long elapsed = System.nanoTime() - start;
+
+    long statements = statistics.getPrepareStatementCount();
+    LOGGER.info("Inserted {} {} in {} ms ({} rows/s) using {} statements", rows, label,
+        elapsed / 1_000_000, rows * 1_000_000_000L / Math.max(elapsed, 1), statements);
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+    return statements;
+  }
+}
@@ -0,0 +1,141 @@
+package uk.ac.ucl.comp0010;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.services.ModuleService;
+import uk.ac.ucl.comp0010.services.ModuleStatisticsStore;
+import uk.ac.ucl.comp0010.services.StudentService;
+
+/**
+ * Verifies that grade and registration list endpoints issue a fixed number of statements no
+ * matter how many rows they return.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class QueryCountTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private StudentService studentService;
+
+  @Autowired
+  private ModuleService moduleService;
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  @Autowired
+  private ModuleRepository moduleRepository;
+
+  @Autowired
+  private RegistrationRepository registrationRepository;
+
+  @Autowired
+  private GradeRepository gradeRepository;
+
+  @Autowired
+  private ModuleStatisticsStore moduleStatisticsStore;
+
+  private final List<Student> students = new ArrayList<>();
+  private final List<Module> modules = new ArrayList<>();
+  private Module prerequisite;
+
+  @BeforeEach
+  void cleanDatabase() {
+    gradeRepository.deleteAll();
+    registrationRepository.deleteAll();
+    moduleRepository.deleteAll();
+    studentRepository.deleteAll();
+    moduleStatisticsStore.invalidate();
+  }
+
+  @Test
+  void listEndpointsUseConstantStatementCount() throws Exception {
+    List<Function<QueryCountTest, String>> paths = List.of(
+        test -> "/api/grades",
+        test -> "/api/registrations",
+        test -> "/api/students/" + test.students.get(0).getId() + "/grades",
+        test -> "/api/students/" + test.students.get(0).getId() + "/registrations",
+        test -> "/api/modules/" + test.modules.get(0).getId() + "/grades",
+        test -> "/api/modules/" + test.modules.get(0).getId() + "/registrations",
+        test -> "/api/registrations/students/" + test.students.get(0).getId(),
+        test -> "/api/registrations/modules/" + test.modules.get(0).getId());
+
+    seed(2, 2);
+    List<Long> small = new ArrayList<>();
+    for (Function<QueryCountTest, String> path : paths) {
+      small.add(statementsFor(path.apply(this)));
+    }
+
+    seed(6, 5);
+    List<Long> large = new ArrayList<>();
+    for (Function<QueryCountTest, String> path : paths) {
+      large.add(statementsFor(path.apply(this)));
+    }
+
+    assertThat(large).isEqualTo(small);
+  }
+
+  /**
+   * Adds students and modules until the given totals are reached, chaining each new module to
+   * the previous one as its prerequisite, and registers and grades every student everywhere.
+   * The first module depends on an ungraded base module, so every graded module has a distinct
+   * prerequisite to load.
+   */
+  private void seed(int studentTotal, int moduleTotal) throws Exception {
+    if (prerequisite == null) {
+      prerequisite = moduleService.createModule(new Module("QCBASE", "Query count base", true));
+    }
+    while (modules.size() < moduleTotal) {
+      int index = modules.size();
+      Module module = new Module("QC" + index, "Query count " + index, true);
+      module.setPrerequisiteModule(index > 0 ? modules.get(index - 1) : prerequisite);
+      modules.add(moduleService.createModule(module));
+    }
+    while (students.size() < studentTotal) {
+      int index = students.size();
+      students.add(studentService.createStudent(
+          new Student("First" + index, "Last" + index, "qc" + index, "qc" + index + "@x.com")));
+    }
+    for (Student student : students) {
+      for (Module module : modules) {
+        if (!registrationRepository.existsByStudentAndModule(student, module)) {
+          studentService.registerStudentToModule(student.getId(), module.getId());
+          studentService.recordGrade(student.getId(), module.getId(), 50 + modules.indexOf(module));
+        }
+      }
+    }
+  }
+
+  private long statementsFor(String path) throws Exception {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    mockMvc.perform(get(path)).andExpect(status().isOk());
+    return statistics.getPrepareStatementCount();
+  }
+}
@@ -1,15 +1,22 @@
 package uk.ac.ucl.comp0010;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +30,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import uk.ac.ucl.comp0010.config.AuthTokenFilter;
+import uk.ac.ucl.comp0010.config.RateLimitFilter;
 import uk.ac.ucl.comp0010.config.RequestLoggingInterceptor;
 import uk.ac.ucl.comp0010.config.SecurityConfig;
 import uk.ac.ucl.comp0010.config.WebConfig;
@@ -41,7 +49,10 @@ import uk.ac.ucl.comp0010.repositories.StudentRepository;
 import uk.ac.ucl.comp0010.repositories.UserAccountRepository;
 import uk.ac.ucl.comp0010.services.GradeService;
 import uk.ac.ucl.comp0010.services.ModuleService;
+import uk.ac.ucl.comp0010.services.ModuleStatisticsStore;
+import uk.ac.ucl.comp0010.services.WriteEpoch;
 import uk.ac.ucl.comp0010.services.StudentService;
+import uk.ac.ucl.comp0010.services.TokenExpirySweeper;
 import uk.ac.ucl.comp0010.services.UserService;
 
 /**
@@ -84,6 +95,15 @@ class SystemTest {
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private ModuleStatisticsStore moduleStatisticsStore;
+
+  @Autowired
+  private WriteEpoch writeEpoch;
+
+  @Autowired
+  private TokenExpirySweeper tokenExpirySweeper;
+
   private static final String PASSWORD = "hunter2";
   private static final String USERNAME = "tester";
 
@@ -100,6 +120,8 @@ class SystemTest {
     moduleRepository.deleteAll();
     studentRepository.deleteAll();
     userAccountRepository.deleteAll();
+    moduleStatisticsStore.invalidate();
+    writeEpoch.advance();
 
     UserAccount account = userService.register(USERNAME + sequence.incrementAndGet(), PASSWORD);
     bearerToken = account.getAuthToken();
@@ -236,6 +258,458 @@ class SystemTest {
         .andExpect(jsonPath("$.length()", org.hamcrest.Matchers.is(0)));
   }
 
+  @Test
+  void testModuleStatisticsEndpoints() throws Exception {
+    Student first = createStudent();
+    Student second = createStudent();
+    Module graded = createModule();
+    Module empty = createModule();
+    registerStudent(first.getId(), graded.getId());
+    registerStudent(second.getId(), graded.getId());
+    gradeService.createGrade(first.getId(), graded.getId(), 80);
+    Grade failing = gradeService.createGrade(second.getId(), graded.getId(), 50);
+
+    mockMvc.perform(get("/api/modules/statistics")).andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()", org.hamcrest.Matchers.is(2)))
+        .andExpect(jsonPath("$[?(@.id == " + graded.getId() + ")].registrationCount")
+            .value(org.hamcrest.Matchers.contains(2)))
+        .andExpect(jsonPath("$[?(@.id == " + graded.getId() + ")].passingGrades")
+            .value(org.hamcrest.Matchers.contains(1)))
+        .andExpect(jsonPath("$[?(@.id == " + graded.getId() + ")].averageGrade")
+            .value(org.hamcrest.Matchers.contains(65.0)))
+        .andExpect(jsonPath("$[?(@.id == " + empty.getId() + ")].totalGrades")
+            .value(org.hamcrest.Matchers.contains(0)));
+
+    mockMvc.perform(get("/api/modules/" + graded.getId() + "/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalStudents").value(2))
+        .andExpect(jsonPath("$.selectionRate").value(1.0))
+        .andExpect(jsonPath("$.passRate").value(0.5));
+
+    mockMvc.perform(authorized(delete("/api/grades/" + failing.getId())))
+        .andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/modules/" + graded.getId() + "/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalGrades").value(1))
+        .andExpect(jsonPath("$.passRate").value(1.0))
+        .andExpect(jsonPath("$.averageGrade").value(80.0));
+  }
+
+  @Test
+  void testStudentStatisticsPageSortedByGpa() throws Exception {
+    Student strong = createStudent();
+    Student weak = createStudent();
+    Student ungraded = createStudent();
+    Module module = createModule();
+    registerStudent(strong.getId(), module.getId());
+    registerStudent(weak.getId(), module.getId());
+    gradeService.createGrade(strong.getId(), module.getId(), 72);
+    gradeService.createGrade(weak.getId(), module.getId(), 45);
+
+    mockMvc.perform(get("/api/students/statistics").param("sort", "gpa,desc")
+            .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(3))
+        .andExpect(jsonPath("$.totalPages").value(2))
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].id").value(strong.getId()))
+        .andExpect(jsonPath("$.content[0].gpa").value(4.0))
+        .andExpect(jsonPath("$.content[0].averageScore").value(72.0))
+        .andExpect(jsonPath("$.content[1].gpa").value(2.0));
+
+    mockMvc.perform(get("/api/students/statistics").param("page", "0"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[2].id").value(ungraded.getId()))
+        .andExpect(jsonPath("$.content[2].averageScore").isEmpty());
+
+    mockMvc.perform(get("/api/students/statistics").param("sort", "email"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testListEndpointsSupportOffsetAndKeysetPaging() throws Exception {
+    Student first = createStudent();
+    Student second = createStudent();
+    Student third = createStudent();
+
+    mockMvc.perform(get("/api/students"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3));
+
+    mockMvc.perform(get("/api/students").param("size", "2").param("sort", "id,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(3))
+        .andExpect(jsonPath("$.totalPages").value(2))
+        .andExpect(jsonPath("$.content[0].id").value(third.getId()))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+    mockMvc.perform(get("/api/students").param("after", "").param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].id").value(first.getId()))
+        .andExpect(jsonPath("$.totalElements").isEmpty())
+        .andExpect(jsonPath("$.nextCursor").value(second.getId()));
+
+    mockMvc.perform(get("/api/students").param("after", second.getId().toString())
+            .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].id").value(third.getId()))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+    mockMvc.perform(get("/api/operations").param("after", "").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].entityId").value(third.getId()))
+        .andExpect(jsonPath("$.nextCursor").isNumber());
+
+    mockMvc.perform(get("/api/students").param("size", "2").param("sort", "tuitionFee"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/grades").param("after", "").param("size", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testOperationHistoryFiltersAndPagesNewestFirst() throws Exception {
+    Student student = createStudent();
+    createStudent();
+    Map<String, Object> rename = Map.of("firstName", "Renamed", "lastName", "Student",
+        "userName", student.getUserName(), "email", student.getEmail());
+    mockMvc.perform(authorized(put("/api/students/" + student.getId()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(rename)))
+        .andExpect(status().isOk());
+
+    MvcResult first = mockMvc.perform(get("/api/operations").param("after", "")
+            .param("size", "1").param("entityType", "student")
+            .param("entityId", student.getId().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].operationType").value("UPDATE"))
+        .andExpect(jsonPath("$.content[0].previousState").doesNotExist())
+        .andExpect(jsonPath("$.nextCursor").isNumber())
+        .andReturn();
+    String cursor = objectMapper.readTree(first.getResponse().getContentAsString())
+        .get("nextCursor").asText();
+
+    mockMvc.perform(get("/api/operations").param("after", cursor).param("size", "1")
+            .param("entityType", "STUDENT").param("entityId", student.getId().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].operationType").value("CREATE"))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+    mockMvc.perform(get("/api/operations").param("after", "").param("operationType", "UPDATE")
+            .param("from", "2000-01-01T00:00:00Z"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].entityId").value(student.getId()));
+
+    mockMvc.perform(get("/api/operations").param("after", "").param("operationType", "MOVE"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testBatchRevertUndoesEverythingAfterAnInstant() throws Exception {
+    Student kept = createStudent();
+    String after = java.time.Instant.now().toString();
+    Thread.sleep(5);
+    Student student = createStudent();
+    Module module = createModule();
+    registerStudent(student.getId(), module.getId());
+    gradeService.createGrade(student.getId(), module.getId(), 64);
+
+    mockMvc.perform(authorized(post("/api/operations/revert"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(Map.of("after", after))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(4))
+        .andExpect(jsonPath("$[0].entityType").value("GRADE"))
+        .andExpect(jsonPath("$[3].entityType").value("STUDENT"));
+
+    org.assertj.core.api.Assertions.assertThat(gradeRepository.count()).isZero();
+    org.assertj.core.api.Assertions.assertThat(registrationRepository.count()).isZero();
+    org.assertj.core.api.Assertions.assertThat(moduleRepository.count()).isZero();
+    org.assertj.core.api.Assertions.assertThat(studentRepository.findAll())
+        .extracting(Student::getId).containsExactly(kept.getId());
+
+    mockMvc.perform(authorized(post("/api/operations/revert"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testBatchRevertAcrossEarlierReverts() throws Exception {
+    Student earlier = createStudent();
+    Map<String, Object> rename = Map.of("firstName", "Renamed", "lastName", "Student",
+        "userName", earlier.getUserName(), "email", earlier.getEmail());
+    mockMvc.perform(authorized(put("/api/students/" + earlier.getId()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(rename)))
+        .andExpect(status().isOk());
+    String after = java.time.Instant.now().toString();
+    Thread.sleep(5);
+    Student student = createStudent();
+    revertLatest("/api/students/" + student.getId());
+    revertLatest("/api/students/" + earlier.getId());
+
+    mockMvc.perform(authorized(post("/api/operations/revert"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(Map.of("after", after))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].entityId").value(earlier.getId()));
+
+    org.assertj.core.api.Assertions.assertThat(studentRepository.findAll())
+        .extracting(Student::getId).containsExactly(earlier.getId());
+    org.assertj.core.api.Assertions.assertThat(
+        studentRepository.findById(earlier.getId()).orElseThrow().getFirstName())
+        .isEqualTo("Renamed");
+  }
+
+  @Test
+  void testEntityHistoryEndpointsOutliveTheEntity() throws Exception {
+    Student student = createStudent();
+    Module module = createModule();
+    mockMvc.perform(authorized(delete("/api/students/" + student.getId())))
+        .andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/students/" + student.getId() + "/history"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].operationType").value("DELETE"))
+        .andExpect(jsonPath("$.content[1].operationType").value("CREATE"))
+        .andExpect(jsonPath("$.content[0].newState").doesNotExist())
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+    MvcResult first = mockMvc.perform(get("/api/students/" + student.getId() + "/history")
+            .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].operationType").value("DELETE"))
+        .andReturn();
+    long cursor = objectMapper.readTree(first.getResponse().getContentAsString())
+        .get("nextCursor").asLong();
+    mockMvc.perform(get("/api/students/" + student.getId() + "/history")
+            .param("size", "1").param("after", String.valueOf(cursor)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].operationType").value("CREATE"))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+    mockMvc.perform(get("/api/modules/" + module.getId() + "/history"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].entityType").value("MODULE"));
+  }
+
+  @Test
+  void testExportEndpointsStreamRows() throws Exception {
+    Student student = createStudent();
+    Module module = createModule();
+    registerStudent(student.getId(), module.getId());
+    gradeService.createGrade(student.getId(), module.getId(), 77);
+
+    MvcResult grades = mockMvc.perform(get("/api/export/grades.ndjson"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(grades))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/x-ndjson"))
+        .andExpect(content().string(containsString(
+            "\"moduleCode\":\"" + module.getCode() + "\",\"score\":77}\n")));
+
+    MvcResult students = mockMvc.perform(get("/api/export/students.csv"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mockMvc.perform(asyncDispatch(students))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition",
+            "attachment; filename=\"students.csv\""))
+        .andExpect(content().string(startsWith("id,firstName,")));
+
+    mockMvc.perform(get("/api/export/registrations.xml"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testImportEndpointsLoadWholeFiles() throws Exception {
+    mockMvc.perform(authorized(post("/api/import/students.csv"))
+            .contentType("text/csv")
+            .content("firstName,lastName,userName,email,entryYear\n"
+                + "Ada,Lovelace,imp-ada,imp-ada@ucl.ac.uk,2023\n"
+                + "Alan,Turing,imp-alan,imp-alan@ucl.ac.uk,2023\n"
+                + "Ada,Byron,imp-ada,imp-byron@ucl.ac.uk,2023\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.errors[0].row").value(3))
+        .andExpect(jsonPath("$.operationIds.length()").value(1));
+    mockMvc.perform(get("/api/students/" + studentRepository.findByUserName("imp-alan")
+            .orElseThrow().getId() + "/history"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].operationType").value("IMPORT"));
+
+    mockMvc.perform(authorized(post("/api/import/modules.ndjson"))
+            .contentType("application/x-ndjson")
+            .content("{\"code\":\"IMP0001\",\"name\":\"Intro\",\"mnc\":true}\n"
+                + "{\"code\":\"IMP0002\",\"name\":\"Next\",\"mnc\":false,"
+                + "\"prerequisiteCode\":\"IMP0001\"}\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2));
+    org.assertj.core.api.Assertions.assertThat(moduleRepository.findByCode("IMP0002")
+        .orElseThrow().getPrerequisiteModule().getCode()).isEqualTo("IMP0001");
+
+    mockMvc.perform(authorized(post("/api/import/registrations.csv"))
+            .contentType("text/csv")
+            .content("userName,moduleCode\nimp-ada,IMP0001\nimp-alan,IMP0001\n"
+                + "imp-ada,IMP0002\nnobody,IMP0001\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.failed").value(2));
+
+    mockMvc.perform(authorized(post("/api/import/grades.csv"))
+            .contentType("text/csv")
+            .content("userName,moduleCode,score\nimp-ada,IMP0001,81\nimp-alan,IMP0001,55\n"
+                + "imp-ada,IMP0001,90\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.errors[0].message")
+            .value("Grade already recorded for student in module"));
+
+    mockMvc.perform(get("/api/modules/" + moduleRepository.findByCode("IMP0001")
+            .orElseThrow().getId() + "/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalGrades").value(2));
+
+    mockMvc.perform(authorized(post("/api/import/lecturers.csv")).content("a\n"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testStudentLeaderboard() throws Exception {
+    Student first = createStudent();
+    Student second = createStudent();
+    Student third = createStudent();
+    Module module = createModule();
+    Module other = createModule();
+    for (Student student : List.of(first, second, third)) {
+      registerStudent(student.getId(), module.getId());
+    }
+    registerStudent(third.getId(), other.getId());
+    gradeService.createGrade(first.getId(), module.getId(), 58);
+    gradeService.createGrade(second.getId(), module.getId(), 91);
+    gradeService.createGrade(third.getId(), module.getId(), 66);
+    gradeService.createGrade(third.getId(), other.getId(), 20);
+
+    mockMvc.perform(get("/api/students/leaderboard").param("metric", "average")
+            .param("k", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].studentId").value(second.getId()))
+        .andExpect(jsonPath("$[1].studentId").value(first.getId()));
+
+    mockMvc.perform(get("/api/students/leaderboard").param("order", "bottom")
+            .param("module", module.getId().toString()).param("k", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].studentId").value(first.getId()))
+        .andExpect(jsonPath("$[0].gpa").value(2.7));
+
+    mockMvc.perform(get("/api/students/leaderboard").param("metric", "median"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testDepartmentStatisticsRefreshAfterWrites() throws Exception {
+    Student first = createStudent();
+    Student second = createStudent();
+    Module module = createModule();
+    registerStudent(first.getId(), module.getId());
+    registerStudent(second.getId(), module.getId());
+    gradeService.createGrade(first.getId(), module.getId(), 80);
+
+    mockMvc.perform(get("/api/departments/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].department").value(module.getDepartment()))
+        .andExpect(jsonPath("$[0].moduleCount").value(1))
+        .andExpect(jsonPath("$[0].registrationCount").value(2))
+        .andExpect(jsonPath("$[0].totalGrades").value(1))
+        .andExpect(jsonPath("$[0].passRate").value(1.0));
+
+    gradeService.createGrade(second.getId(), module.getId(), 40);
+
+    mockMvc.perform(get("/api/departments/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].totalGrades").value(2))
+        .andExpect(jsonPath("$[0].passRate").value(0.5))
+        .andExpect(jsonPath("$[0].averageGrade").value(60.0));
+  }
+
+  @Test
+  void testStatisticsEndpointsHonourEntityTags() throws Exception {
+    Student student = createStudent();
+    Module module = createModule();
+    registerStudent(student.getId(), module.getId());
+
+    String etag = mockMvc.perform(get("/api/modules/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Cache-Control", "no-cache"))
+        .andReturn().getResponse().getHeader("ETag");
+    org.assertj.core.api.Assertions.assertThat(etag).isNotBlank();
+
+    mockMvc.perform(get("/api/modules/statistics").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get("/api/modules/" + module.getId() + "/statistics")
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get("/api/students/" + student.getId() + "/stats")
+            .header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    gradeService.createGrade(student.getId(), module.getId(), 75);
+
+    mockMvc.perform(get("/api/modules/statistics").header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)))
+        .andExpect(jsonPath("$[0].totalGrades").value(1));
+    mockMvc.perform(get("/api/students/" + student.getId() + "/stats")
+            .header("If-None-Match", etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.averageScore").value(75.0));
+  }
+
+  @Test
+  void testModuleDistributionEndpoints() throws Exception {
+    Student first = createStudent();
+    Student second = createStudent();
+    Student third = createStudent();
+    Module module = createModule();
+    for (Student student : List.of(first, second, third)) {
+      registerStudent(student.getId(), module.getId());
+    }
+    gradeService.createGrade(first.getId(), module.getId(), 45);
+    gradeService.createGrade(second.getId(), module.getId(), 62);
+    gradeService.createGrade(third.getId(), module.getId(), 100);
+
+    mockMvc.perform(get("/api/modules/" + module.getId() + "/distribution")
+            .param("bucketWidth", "20").param("percentiles", "90"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalGrades").value(3))
+        .andExpect(jsonPath("$.median").value(62.0))
+        .andExpect(jsonPath("$.percentiles['90']").value(92.4))
+        .andExpect(jsonPath("$.buckets.length()").value(5))
+        .andExpect(jsonPath("$.buckets[4].to").value(100))
+        .andExpect(jsonPath("$.buckets[4].count").value(1));
+
+    mockMvc.perform(get("/api/modules/distributions"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].maxScore").value(100));
+
+    mockMvc.perform(get("/api/modules/" + module.getId() + "/distribution")
+            .param("bucketWidth", "0"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void testAverageWithoutGradesThrowsBadRequest() throws Exception {
     Student student = createStudent();
@@ -268,12 +742,63 @@ class SystemTest {
     mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
         .content(objectMapper.writeValueAsString(loginPayload))).andExpect(status().isOk())
         .andExpect(jsonPath("$.token").isNotEmpty());
+
+    mockMvc.perform(get("/api/auth/metrics")).andExpect(status().isOk())
+        .andExpect(jsonPath("$.hashQueueDepth").value(0))
+        .andExpect(jsonPath("$.hashRejected").value(0));
+  }
+
+  @Test
+  void testLoginRevokesCachedToken() throws Exception {
+    createStudent();
+
+    String username = userAccountRepository.findTokenOwner(bearerToken,
+        java.time.Instant.now())
+        .orElseThrow().username();
+    mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Map.of("username", username,
+            "password", PASSWORD)))).andExpect(status().isOk());
+
+    mockMvc.perform(authorized(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Map.of("firstName", "Jane")))))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void testExpiredTokensAreRejectedAndSwept() throws Exception {
+    UserAccount account = userAccountRepository.findAll().get(0);
+    account.setTokenExpiresAt(java.time.Instant.now().minusSeconds(1));
+    userAccountRepository.save(account);
+
+    mockMvc.perform(authorized(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Map.of("firstName", "Jane")))))
+        .andExpect(status().isUnauthorized());
+
+    org.assertj.core.api.Assertions.assertThat(
+        tokenExpirySweeper.sweepExpiredBy(java.time.Instant.now())).isEqualTo(1);
+    UserAccount swept = userAccountRepository.findById(account.getId()).orElseThrow();
+    org.assertj.core.api.Assertions.assertThat(swept.getAuthToken()).isNull();
+    org.assertj.core.api.Assertions.assertThat(swept.getTokenExpiresAt()).isNull();
+  }
+
+  @Test
+  void testTokensWithoutExpiryAreSwept() throws Exception {
+    UserAccount account = userAccountRepository.findAll().get(0);
+    account.setTokenIssuedAt(null);
+    account.setTokenExpiresAt(null);
+    userAccountRepository.save(account);
+
+    org.assertj.core.api.Assertions.assertThat(
+        tokenExpirySweeper.sweepExpiredBy(java.time.Instant.now())).isEqualTo(1);
+    org.assertj.core.api.Assertions.assertThat(
+        userAccountRepository.findById(account.getId()).orElseThrow().getAuthToken()).isNull();
   }
 
   @Test
   void testSecurityConfigCorsSetup() {
     AuthTokenFilter filter = new AuthTokenFilter(Mockito.mock(UserService.class));
-    SecurityConfig securityConfig = new SecurityConfig(filter);
+    SecurityConfig securityConfig = new SecurityConfig(filter,
+        Mockito.mock(RateLimitFilter.class));
     var source = securityConfig.corsConfigurationSource();
     var config = source.getCorsConfiguration(new org.springframework.mock.web.MockHttpServletRequest());
 
@@ -401,6 +926,15 @@ class SystemTest {
         .isInstanceOf(ResourceNotFoundException.class);
   }
 
+  private void revertLatest(String entityPath) throws Exception {
+    MvcResult history = mockMvc.perform(get(entityPath + "/history"))
+        .andExpect(status().isOk()).andReturn();
+    long id = objectMapper.readTree(history.getResponse().getContentAsString()).get("content")
+        .get(0).get("id").asLong();
+    mockMvc.perform(authorized(post("/api/operations/" + id + "/revert")))
+        .andExpect(status().isOk());
+  }
+
   private Student createStudent() throws Exception {
     int suffix = sequence.incrementAndGet();
     Map<String, Object> req = new HashMap<>();
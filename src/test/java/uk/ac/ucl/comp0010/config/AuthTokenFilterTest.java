@@ -20,7 +20,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
-import uk.ac.ucl.comp0010.models.UserAccount;
 import uk.ac.ucl.comp0010.services.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -82,8 +81,7 @@ class AuthTokenFilterTest {
     request.addHeader("Authorization", "Bearer token123");
     MockHttpServletResponse response = new MockHttpServletResponse();
 
-    when(userService.findByToken("token123"))
-        .thenReturn(Optional.of(new UserAccount("bond", "license", "token123")));
+    when(userService.findUsernameByToken("token123")).thenReturn(Optional.of("bond"));
 
     filter.doFilterInternal(request, response, filterChain);
 
@@ -0,0 +1,139 @@
+package uk.ac.ucl.comp0010.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+  @Mock
+  private FilterChain filterChain;
+
+  private final AtomicLong clock = new AtomicLong();
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter = new RateLimitFilter(true, new RateLimiter(60, 1, 100),
+        new RateLimiter(60, 2, 100), new RateLimiter(60, 1, 100), new RateLimiter(60, 3, 100),
+        clock::get);
+    SecurityContextHolder.clearContext();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void rejectsWritesOverBudgetPerUser() throws Exception {
+    authenticate("ada");
+    MockHttpServletResponse first = send("POST", "/api/grades/upsert");
+    MockHttpServletResponse second = send("POST", "/api/grades/upsert");
+    MockHttpServletResponse third = send("POST", "/api/grades/upsert");
+
+    assertThat(first.getStatus()).isEqualTo(200);
+    assertThat(second.getStatus()).isEqualTo(200);
+    assertThat(third.getStatus()).isEqualTo(429);
+    assertThat(third.getHeader("Retry-After")).isEqualTo("1");
+
+    authenticate("grace");
+    assertThat(send("POST", "/api/grades/upsert").getStatus()).isEqualTo(200);
+
+    authenticate("ada");
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThat(send("POST", "/api/grades/upsert").getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void loginsAreChargedToTheClientAddress() throws Exception {
+    assertThat(send("POST", "/api/auth/login").getStatus()).isEqualTo(200);
+    assertThat(send("POST", "/api/auth/login").getStatus()).isEqualTo(429);
+
+    MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/auth/login");
+    other.setRemoteAddr("10.0.0.2");
+    filter.doFilterInternal(other, new MockHttpServletResponse(), filterChain);
+    verify(filterChain, times(2)).doFilter(any(), any());
+  }
+
+  @Test
+  void limitsAnalyticsButNotPlainReads() throws Exception {
+    assertThat(send("GET", "/api/export/grades.csv").getStatus()).isEqualTo(200);
+    assertThat(send("GET", "/api/students/leaderboard").getStatus()).isEqualTo(429);
+
+    for (int request = 0; request < 5; request++) {
+      assertThat(send("GET", "/api/students").getStatus()).isEqualTo(200);
+    }
+  }
+
+  @Test
+  void perEntityAnalyticsAndHistoryShareTheAnalyticsBudget() throws Exception {
+    assertThat(send("GET", "/api/modules/3/statistics").getStatus()).isEqualTo(200);
+    assertThat(send("GET", "/api/modules/3/distribution").getStatus()).isEqualTo(429);
+    assertThat(send("GET", "/api/operations").getStatus()).isEqualTo(429);
+    assertThat(send("GET", "/api/students/4/history").getStatus()).isEqualTo(429);
+    assertThat(send("GET", "/api/modules/3").getStatus()).isEqualTo(200);
+  }
+
+  @Test
+  void writesAreChargedToTheClientBeforeAuthentication() throws Exception {
+    for (int request = 0; request < 3; request++) {
+      assertThat(sendBeforeAuthentication("POST", "/api/students").getStatus()).isEqualTo(200);
+    }
+    MockHttpServletResponse rejected = sendBeforeAuthentication("DELETE", "/api/students/1");
+
+    assertThat(rejected.getStatus()).isEqualTo(429);
+    assertThat(sendBeforeAuthentication("POST", "/api/auth/login").getStatus()).isEqualTo(200);
+    assertThat(sendBeforeAuthentication("GET", "/api/students").getStatus()).isEqualTo(200);
+    verify(filterChain, times(5)).doFilter(any(), any());
+  }
+
+  @Test
+  void disabledFilterPassesEverything() throws Exception {
+    filter = new RateLimitFilter(false, new RateLimiter(60, 1, 100),
+        new RateLimiter(60, 1, 100), new RateLimiter(60, 1, 100), new RateLimiter(60, 1, 100),
+        clock::get);
+
+    send("POST", "/api/students");
+    send("POST", "/api/students");
+
+    verify(filterChain, times(2)).doFilter(any(), any());
+  }
+
+  private MockHttpServletResponse send(String method, String path) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilterInternal(request, response, filterChain);
+    return response;
+  }
+
+  private MockHttpServletResponse sendBeforeAuthentication(String method, String path)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.preAuthentication().doFilter(request, response, filterChain);
+    return response;
+  }
+
+  private static void authenticate(String username) {
+    SecurityContextHolder.getContext().setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+  }
+}
@@ -0,0 +1,64 @@
+package uk.ac.ucl.comp0010.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void allowsBurstThenRefillsAtRate() {
+    RateLimiter limiter = new RateLimiter(60, 3, 10);
+
+    assertThat(limiter.tryAcquire("ada", 0)).isZero();
+    assertThat(limiter.tryAcquire("ada", 0)).isZero();
+    assertThat(limiter.tryAcquire("ada", 0)).isZero();
+    assertThat(limiter.tryAcquire("ada", 0)).isEqualTo(SECOND);
+    assertThat(limiter.tryAcquire("grace", 0)).isZero();
+
+    assertThat(limiter.tryAcquire("ada", SECOND)).isZero();
+    assertThat(limiter.tryAcquire("ada", SECOND)).isPositive();
+  }
+
+  @Test
+  void evictsOnlyRefilledBuckets() {
+    RateLimiter limiter = new RateLimiter(60, 2, 10);
+    limiter.tryAcquire("ada", 0);
+    limiter.tryAcquire("grace", 0);
+    limiter.tryAcquire("grace", 0);
+
+    limiter.evictIdle(SECOND);
+
+    assertThat(limiter.size()).isEqualTo(1);
+    limiter.evictIdle(2 * SECOND);
+    assertThat(limiter.size()).isZero();
+  }
+
+  @Test
+  void newKeysShareAnOverflowBucketWhenFull() {
+    RateLimiter limiter = new RateLimiter(60, 1, 2);
+    limiter.tryAcquire("ada", 0);
+    limiter.tryAcquire("grace", 0);
+
+    assertThat(limiter.tryAcquire("alan", 0)).isZero();
+    assertThat(limiter.tryAcquire("edsger", 0)).isPositive();
+    assertThat(limiter.size()).isEqualTo(3);
+    assertThat(limiter.takeOverflowCount()).isEqualTo(2);
+    assertThat(limiter.takeOverflowCount()).isZero();
+  }
+
+  @Test
+  void fullMapIsNotSweptOnTheRequestPath() {
+    RateLimiter limiter = new RateLimiter(60, 1, 1);
+    limiter.tryAcquire("ada", 0);
+
+    limiter.tryAcquire("grace", 2 * SECOND);
+
+    assertThat(limiter.size()).isEqualTo(2);
+    limiter.evictIdle(4 * SECOND);
+    assertThat(limiter.tryAcquire("grace", 4 * SECOND)).isZero();
+    assertThat(limiter.takeOverflowCount()).isEqualTo(1);
+  }
+}
@@ -4,11 +4,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.ac.ucl.comp0010.exceptions.NoGradeAvailableException;
 import uk.ac.ucl.comp0010.exceptions.ResourceConflictException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
+import uk.ac.ucl.comp0010.exceptions.ServiceUnavailableException;
 
 class ApiExceptionHandlerTest {
 
@@ -28,4 +30,14 @@ class ApiExceptionHandlerTest {
         new NoGradeAvailableException("bad"));
     assertThat(badRequest.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
   }
+
+  @Test
+  void serviceUnavailableCarriesRetryAfter() {
+    ResponseEntity<Map<String, String>> response = handler.handleServiceUnavailable(
+        new ServiceUnavailableException("busy", 2));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    assertThat(response.getBody()).containsEntry("error", "busy");
+  }
 }
@@ -12,7 +12,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.ac.ucl.comp0010.controllers.responses.AuthResponse;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
-import uk.ac.ucl.comp0010.models.UserAccount;
 import uk.ac.ucl.comp0010.services.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,20 +29,27 @@ class AuthControllerTest {
 
   @Test
   void meReturnsUserWhenTokenPresent() {
-    UserAccount account = new UserAccount("agent", "secret", "token");
-    when(userService.findByToken("token")).thenReturn(Optional.of(account));
+    when(userService.findUsernameByToken("token")).thenReturn(Optional.of("agent"));
 
     AuthResponse response = authController.me("Bearer token");
 
     assertThat(response.getUsername()).isEqualTo("agent");
-    assertThat(response.getToken()).isEqualTo(account.getAuthToken());
+    assertThat(response.getToken()).isEqualTo("token");
   }
 
   @Test
   void meThrowsWhenHeaderMissingOrInvalid() {
-    when(userService.findByToken("")).thenReturn(Optional.empty());
+    when(userService.findUsernameByToken("")).thenReturn(Optional.empty());
 
     assertThatThrownBy(() -> authController.me(null))
         .isInstanceOf(ResourceNotFoundException.class);
   }
+
+  @Test
+  void metricsComeFromUserService() {
+    UserService.Metrics metrics = new UserService.Metrics(3, 1, 2, 1, 5);
+    when(userService.metrics()).thenReturn(metrics);
+
+    assertThat(authController.metrics()).isEqualTo(metrics);
+  }
 }
@@ -0,0 +1,35 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.ac.ucl.comp0010.services.DepartmentStatisticsService;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentControllerTest {
+
+  @Mock
+  private DepartmentStatisticsService departmentStatisticsService;
+
+  private DepartmentController controller;
+
+  @BeforeEach
+  void setUp() {
+    controller = new DepartmentController(departmentStatisticsService);
+  }
+
+  @Test
+  void returnsDepartmentStatistics() {
+    when(departmentStatisticsService.getAllStatistics()).thenReturn(List.of());
+
+    assertThat(controller.getDepartmentStatistics()).isEmpty();
+    verify(departmentStatisticsService).getAllStatistics();
+  }
+}
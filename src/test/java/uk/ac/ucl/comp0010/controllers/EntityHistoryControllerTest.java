@@ -0,0 +1,70 @@
+package uk.ac.ucl.comp0010.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationType;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
+import uk.ac.ucl.comp0010.services.OperationLogService;
+
+@ExtendWith(MockitoExtension.class)
+class EntityHistoryControllerTest {
+
+  @Mock
+  private OperationLogService operationLogService;
+
+  private EntityHistoryController controller;
+
+  @BeforeEach
+  void setUp() {
+    controller = new EntityHistoryController(operationLogService);
+  }
+
+  @Test
+  void eachEndpointQueriesItsOwnEntityType() {
+    OperationLogSummary created = new OperationLogSummary(1L, OperationType.CREATE,
+        OperationEntityType.STUDENT, 5L, Instant.now(), "admin", "Created");
+    when(operationLogService.getEntityHistory(any(), eq(5L), isNull(), eq(50)))
+        .thenReturn(new SliceImpl<>(List.of()));
+    when(operationLogService.getEntityHistory(OperationEntityType.STUDENT, 5L, null, 50))
+        .thenReturn(new SliceImpl<>(List.of(created)));
+
+    assertThat(controller.getStudentHistory(5L, null, 50).getContent())
+        .containsExactly(created);
+    assertThat(controller.getModuleHistory(5L, null, 50).getContent()).isEmpty();
+    assertThat(controller.getRegistrationHistory(5L, null, 50).getContent()).isEmpty();
+    assertThat(controller.getGradeHistory(5L, null, 50).getContent()).isEmpty();
+
+    verify(operationLogService).getEntityHistory(OperationEntityType.MODULE, 5L, null, 50);
+    verify(operationLogService).getEntityHistory(OperationEntityType.REGISTRATION, 5L, null, 50);
+    verify(operationLogService).getEntityHistory(OperationEntityType.GRADE, 5L, null, 50);
+  }
+
+  @Test
+  void historyPagesReportTheCursorOfTheNextPage() {
+    OperationLogSummary updated = new OperationLogSummary(9L, OperationType.UPDATE,
+        OperationEntityType.GRADE, 3L, Instant.now(), "admin", "Updated");
+    when(operationLogService.getEntityHistory(OperationEntityType.GRADE, 3L, 12L, 1))
+        .thenReturn(new SliceImpl<>(List.of(updated), Pageable.ofSize(1), true));
+
+    PageResponse<OperationLogSummary> page = controller.getGradeHistory(3L, 12L, 1);
+
+    assertThat(page.getContent()).containsExactly(updated);
+    assertThat(page.getNextCursor()).isEqualTo(9L);
+  }
+}
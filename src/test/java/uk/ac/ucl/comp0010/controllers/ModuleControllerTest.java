@@ -1,6 +1,7 @@
 package uk.ac.ucl.comp0010.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -10,12 +11,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import uk.ac.ucl.comp0010.controllers.responses.ModuleStatisticsResponse;
 import uk.ac.ucl.comp0010.models.Module;
 import uk.ac.ucl.comp0010.services.ModuleService;
 import uk.ac.ucl.comp0010.services.ModuleStatisticsService;
 import uk.ac.ucl.comp0010.services.RegistrationService;
 import uk.ac.ucl.comp0010.services.GradeService;
+import uk.ac.ucl.comp0010.services.WriteEpoch;
 
 @ExtendWith(MockitoExtension.class)
 class ModuleControllerTest {
@@ -32,12 +39,14 @@ class ModuleControllerTest {
   @Mock
   private ModuleStatisticsService moduleStatisticsService;
 
+  private final WriteEpoch writeEpoch = new WriteEpoch();
+
   private ModuleController moduleController;
 
   @BeforeEach
   void setUp() {
     moduleController = new ModuleController(moduleService, registrationService, gradeService,
-        moduleStatisticsService);
+        moduleStatisticsService, writeEpoch);
   }
 
   @Test
@@ -73,7 +82,23 @@ class ModuleControllerTest {
     when(moduleStatisticsService.getAllStatistics()).thenReturn(List.of(response));
     when(moduleStatisticsService.getStatistics(1L)).thenReturn(response);
 
-    assertThat(moduleController.getModuleStatistics()).containsExactly(response);
-    assertThat(moduleController.getModuleStatistics(1L)).isEqualTo(response);
+    ResponseEntity<List<ModuleStatisticsResponse>> all = moduleController.getModuleStatistics(
+        new ServletWebRequest(new MockHttpServletRequest()));
+    assertThat(all.getBody()).containsExactly(response);
+    assertThat(all.getHeaders().getETag()).isEqualTo("\"" + writeEpoch.current() + "\"");
+    assertThat(moduleController.getModuleStatistics(1L,
+        new ServletWebRequest(new MockHttpServletRequest())).getBody()).isEqualTo(response);
+  }
+
+  @Test
+  void statisticsAnswerNotModifiedWithoutComputing() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/modules/statistics");
+    request.addHeader("If-None-Match", "\"" + writeEpoch.current() + "\"");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(moduleController.getModuleStatistics(new ServletWebRequest(request, response)))
+        .isNull();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    verify(moduleStatisticsService, never()).getAllStatistics();
   }
 }
@@ -11,9 +11,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import uk.ac.ucl.comp0010.controllers.requests.RevertRequest;
+import uk.ac.ucl.comp0010.controllers.responses.PageResponse;
 import uk.ac.ucl.comp0010.models.OperationEntityType;
 import uk.ac.ucl.comp0010.models.OperationLog;
 import uk.ac.ucl.comp0010.models.OperationType;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
 import uk.ac.ucl.comp0010.services.OperationLogService;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +45,30 @@ class OperationLogControllerTest {
     verify(operationLogService).getRecentOperations();
   }
 
+  @Test
+  void pagesOperationsByOffsetAndKeyset() {
+    OperationLog newest = new OperationLog(OperationType.CREATE, OperationEntityType.STUDENT, 1L,
+        Instant.now(), "admin", "Created", null, null);
+    newest.setId(9L);
+    PageRequest request = PageRequest.of(0, 1);
+    when(operationLogService.getOperationsPage(request))
+        .thenReturn(new PageImpl<>(List.of(newest), request, 4));
+    OperationLogSummary summary = new OperationLogSummary(9L, OperationType.CREATE,
+        OperationEntityType.STUDENT, 1L, newest.getTimestamp(), "admin", "Created");
+    when(operationLogService.getOperationsAfter(null, 1, "STUDENT", null, null, null, null, null))
+        .thenReturn(new SliceImpl<>(List.of(summary), request, true));
+
+    PageResponse<OperationLog> page = controller.getOperationsPage(request);
+    assertThat(page.getTotalPages()).isEqualTo(4);
+    assertThat(page.getNextCursor()).isNull();
+
+    PageResponse<OperationLogSummary> keyset = controller.getOperationsAfter(null, 1, "STUDENT",
+        null, null, null, null, null);
+    assertThat(keyset.getContent()).containsExactly(summary);
+    assertThat(keyset.getTotalElements()).isNull();
+    assertThat(keyset.getNextCursor()).isEqualTo(9L);
+  }
+
   @Test
   void delegatesRevert() {
     OperationLog revertLog = new OperationLog(OperationType.REVERT, OperationEntityType.STUDENT, 2L,
@@ -47,5 +77,11 @@ class OperationLogControllerTest {
 
     assertThat(controller.revert(5L)).isEqualTo(revertLog);
     verify(operationLogService).revertOperation(5L);
+
+    RevertRequest request = new RevertRequest();
+    request.setIds(List.of(5L, 6L));
+    when(operationLogService.revertOperations(List.of(5L, 6L), null))
+        .thenReturn(List.of(revertLog));
+    assertThat(controller.revertAll(request)).containsExactly(revertLog);
   }
 }
@@ -11,12 +11,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 import uk.ac.ucl.comp0010.controllers.requests.StudentGradeRequest;
 import uk.ac.ucl.comp0010.controllers.responses.StudentStatisticsResponse;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Registration;
 import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.services.LeaderboardService;
 import uk.ac.ucl.comp0010.services.StudentService;
+import uk.ac.ucl.comp0010.services.WriteEpoch;
 
 @ExtendWith(MockitoExtension.class)
 class StudentControllerTest {
@@ -24,11 +28,14 @@ class StudentControllerTest {
   @Mock
   private StudentService studentService;
 
+  @Mock
+  private LeaderboardService leaderboardService;
+
   private StudentController studentController;
 
   @BeforeEach
   void setUp() {
-    studentController = new StudentController(studentService);
+    studentController = new StudentController(studentService, leaderboardService, new WriteEpoch());
   }
 
   @Test
@@ -83,7 +90,16 @@ class StudentControllerTest {
 
     StudentStatisticsResponse response = new StudentStatisticsResponseBuilder().build();
     when(studentService.getStudentStatistics(1L)).thenReturn(response);
-    assertThat(studentController.getStatistics(1L)).isEqualTo(response);
+    assertThat(studentController.getStatistics(1L,
+        new ServletWebRequest(new MockHttpServletRequest())).getBody()).isEqualTo(response);
+  }
+
+  @Test
+  void leaderboardDelegatesToLeaderboardService() {
+    when(leaderboardService.getLeaderboard("gpa", 5, "bottom", 2L)).thenReturn(List.of());
+
+    assertThat(studentController.getLeaderboard("gpa", 5, "bottom", 2L)).isEmpty();
+    verify(leaderboardService).getLeaderboard("gpa", 5, "bottom", 2L);
   }
 }
 
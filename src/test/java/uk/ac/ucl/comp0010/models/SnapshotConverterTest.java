@@ -0,0 +1,48 @@
+package uk.ac.ucl.comp0010.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class SnapshotConverterTest {
+  private final SnapshotConverter converter = new SnapshotConverter();
+
+  @Test
+  void smallSnapshotsStayPlainText() {
+    String json = "{\"email\":\"ada@example.com\"}";
+
+    byte[] stored = converter.convertToDatabaseColumn(json);
+
+    assertThat(stored).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+    assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(json);
+    assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    assertThat(converter.convertToEntityAttribute(null)).isNull();
+  }
+
+  @Test
+  void largeSnapshotsAreCompressedBehindAHeader() {
+    String json = "[" + "{\"id\":1,\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"},".repeat(200)
+        + "{}]";
+
+    byte[] stored = converter.convertToDatabaseColumn(json);
+
+    assertThat(stored[0]).isEqualTo(SnapshotConverter.HEADER);
+    assertThat(stored[1]).isEqualTo(SnapshotConverter.DEFLATE);
+    assertThat(stored.length).isLessThan(json.length() / 10);
+    assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(json);
+  }
+
+  @Test
+  void legacyTextRowsAndCorruptValues() {
+    String legacy = "{\"name\":\"Software Engineering\",\"code\":\"COMP0010\"}".repeat(20);
+    assertThat(converter.convertToEntityAttribute(legacy.getBytes(StandardCharsets.UTF_8)))
+        .isEqualTo(legacy);
+
+    assertThatThrownBy(() -> converter.convertToEntityAttribute(new byte[] {0, 9, 1}))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> converter.convertToEntityAttribute(new byte[] {0, 1, 120}))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,97 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.models.OperationType;
+
+class ArchiveSegmentTest {
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+  @TempDir
+  private Path directory;
+
+  private static List<OperationLog> logs(int count) {
+    List<OperationLog> logs = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      OperationLog log = new OperationLog(i % 2 == 0 ? OperationType.CREATE : OperationType.UPDATE,
+          OperationEntityType.STUDENT, (long) (i % 10), START.plusSeconds(i), "admin",
+          "Entry " + i, i % 2 == 0 ? null : "{\"email\":\"old" + i + "@example.com\"}",
+          "{\"email\":\"new" + i + "@example.com\"}");
+      log.setId(1000L + i);
+      logs.add(log);
+    }
+    return logs;
+  }
+
+  @Test
+  void writtenEntriesReadBackIdenticallyAfterReopening() throws IOException {
+    List<OperationLog> logs = logs(ArchiveSegment.BLOCK_RECORDS * 2 + 7);
+    Path path = directory.resolve("segment" + ArchiveSegment.SUFFIX);
+    ArchiveSegment.write(path, logs);
+
+    List<OperationLog> read = ArchiveSegment.open(path).readAll();
+
+    assertThat(read).usingRecursiveFieldByFieldElementComparator().isEqualTo(logs);
+    assertThat(path.resolveSibling(path.getFileName() + ".tmp")).doesNotExist();
+  }
+
+  @Test
+  void findAndNewestUseTheIndex() throws IOException {
+    ArchiveSegment segment = ArchiveSegment.write(
+        directory.resolve("segment" + ArchiveSegment.SUFFIX), logs(600));
+
+    assertThat(segment.find(1300L)).get().extracting(OperationLog::getDescription)
+        .isEqualTo("Entry 300");
+    assertThat(segment.find(5L)).isEmpty();
+
+    List<OperationLog> newest = new ArrayList<>();
+    segment.collectNewest(START.plusSeconds(100), START.plusSeconds(400), null, null,
+        log -> log.getTimestamp().isBefore(START.plusSeconds(400))
+            && log.getEntityId() == 3L, 3, newest);
+    assertThat(newest).extracting(OperationLog::getDescription)
+        .containsExactly("Entry 393", "Entry 383", "Entry 373");
+  }
+
+  @Test
+  void entityFiltersRuleOutSegmentsWithoutTheEntity() throws IOException {
+    ArchiveSegment segment = ArchiveSegment.write(
+        directory.resolve("segment" + ArchiveSegment.SUFFIX), logs(600));
+    ArchiveSegment reopened = ArchiveSegment.open(
+        directory.resolve("segment" + ArchiveSegment.SUFFIX));
+
+    for (long entityId = 0; entityId < 10; entityId++) {
+      assertThat(reopened.mayContain(OperationEntityType.STUDENT, entityId)).isTrue();
+    }
+    int ruledOut = 0;
+    for (long entityId = 1_000; entityId < 2_000; entityId++) {
+      if (!segment.mayContain(OperationEntityType.MODULE, entityId)) {
+        ruledOut++;
+      }
+    }
+    assertThat(ruledOut).isGreaterThan(950);
+
+    List<OperationLog> history = new ArrayList<>();
+    reopened.collectNewest(null, null, OperationEntityType.STUDENT, 4L,
+        log -> log.getEntityId() == 4L, Integer.MAX_VALUE, history);
+    assertThat(history).hasSize(60);
+  }
+
+  @Test
+  void rejectsFilesThatAreNotSegments() throws IOException {
+    Path path = Files.writeString(directory.resolve("other" + ArchiveSegment.SUFFIX),
+        "not a segment at all");
+
+    assertThatThrownBy(() -> ArchiveSegment.open(path)).isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,126 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.ac.ucl.comp0010.controllers.responses.DepartmentStatisticsResponse;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.projections.DepartmentSummary;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleDepartment;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentStatisticsServiceTest {
+
+  @Mock
+  private ModuleRepository moduleRepository;
+
+  @Mock
+  private ModuleStatisticsStore moduleStatisticsStore;
+
+  private DepartmentStatisticsService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new DepartmentStatisticsService(moduleRepository, moduleStatisticsStore);
+  }
+
+  private static DepartmentSummary summary(String department, long modules, long grades,
+      long passing, long scoreSum) {
+    return new DepartmentSummary() {
+      @Override
+      public String getDepartment() {
+        return department;
+      }
+
+      @Override
+      public Long getModuleCount() {
+        return modules;
+      }
+
+      @Override
+      public Long getRegistrationCount() {
+        return grades + 1;
+      }
+
+      @Override
+      public Long getGradeCount() {
+        return grades;
+      }
+
+      @Override
+      public Long getPassingGrades() {
+        return passing;
+      }
+
+      @Override
+      public Long getScoreSum() {
+        return scoreSum;
+      }
+    };
+  }
+
+  @Test
+  void registersWithStoreAndBuildsSortedRollup() {
+    verify(moduleStatisticsStore).addListener(service);
+    when(moduleRepository.findAllDepartments()).thenReturn(List.of());
+    when(moduleRepository.summariseByDepartment()).thenReturn(List.of(
+        summary("Physics", 1, 0, 0, 0), summary("Maths", 2, 4, 3, 260)));
+
+    List<DepartmentStatisticsResponse> responses = service.getAllStatistics();
+
+    assertThat(responses).extracting(DepartmentStatisticsResponse::getDepartment)
+        .containsExactly("Maths", "Physics");
+    assertThat(responses.get(0).getModuleCount()).isEqualTo(2);
+    assertThat(responses.get(0).getRegistrationCount()).isEqualTo(5);
+    assertThat(responses.get(0).getPassRate()).isEqualTo(0.75);
+    assertThat(responses.get(0).getAverageGrade()).isEqualTo(65.0);
+    assertThat(responses.get(1).getPassRate()).isNull();
+    assertThat(responses.get(1).getAverageGrade()).isNull();
+  }
+
+  @Test
+  void servesFromCacheAndRequeriesOnlyEvictedDepartment() {
+    when(moduleRepository.findAllDepartments()).thenReturn(List.of(
+        new ModuleDepartment(1L, "Maths"), new ModuleDepartment(2L, "Physics")));
+    when(moduleRepository.summariseByDepartment()).thenReturn(List.of(
+        summary("Physics", 1, 0, 0, 0), summary("Maths", 1, 1, 1, 70)));
+    when(moduleRepository.summariseDepartments(Set.of("Maths")))
+        .thenReturn(List.of(summary("Maths", 1, 2, 1, 120)));
+
+    service.getAllStatistics();
+    service.getAllStatistics();
+    verify(moduleRepository, never()).summariseDepartments(any());
+
+    service.moduleChanged(1L);
+    List<DepartmentStatisticsResponse> responses = service.getAllStatistics();
+
+    assertThat(responses.get(0).getTotalGrades()).isEqualTo(2);
+    assertThat(responses.get(1).getDepartment()).isEqualTo("Physics");
+    verify(moduleRepository, times(1)).summariseByDepartment();
+  }
+
+  @Test
+  void unknownModuleOrStructuralChangeReloadsEverything() {
+    when(moduleRepository.findAllDepartments()).thenReturn(List.of());
+    when(moduleRepository.summariseByDepartment()).thenReturn(List.of());
+
+    service.getAllStatistics();
+    service.moduleChanged(99L);
+    service.getAllStatistics();
+    service.allChanged();
+    service.getAllStatistics();
+
+    verify(moduleRepository, times(3)).summariseByDepartment();
+  }
+}
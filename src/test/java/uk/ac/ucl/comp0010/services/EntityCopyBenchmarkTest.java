@@ -0,0 +1,98 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.models.Student;
+
+/**
+ * Compares the field-table copy used for operation log snapshots with the JSON round trip it
+ * replaced.
+ *
+ * <p>The default run only checks that the copies agree. The timing comparison is wall-clock
+ * bound, so it runs with {@code -Dbenchmark.timing=true}: both paths are warmed up before timing,
+ * the nanoseconds per copy are logged and the field-table copy must be the faster one. Raise
+ * {@code -Dbenchmark.copies} for a longer run.
+ */
+class EntityCopyBenchmarkTest {
+  private static final Logger LOGGER = LoggerFactory.getLogger(EntityCopyBenchmarkTest.class);
+  private static final int COPIES = Integer.getInteger("benchmark.copies", 20_000);
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(
+      new JavaTimeModule());
+  private final Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+  private final Module module = new Module("COMP0010", "Software Engineering", true,
+      "Computer Science");
+
+  @BeforeEach
+  void setUp() {
+    student.setId(1L);
+    student.setEntryYear(2024);
+    student.setMajor("Mathematics");
+    student.setTuitionFee(new BigDecimal("9250.00"));
+    student.setBirthDate(LocalDate.of(2005, 12, 10));
+    student.setHomeStudent(true);
+    Module prerequisite = new Module("COMP0002", "Basics", true);
+    prerequisite.setId(2L);
+    module.setId(10L);
+    module.setPrerequisiteModule(prerequisite);
+  }
+
+  @Test
+  void fieldTableCopyMatchesJsonRoundTrip() {
+    assertThat(EntityFields.STUDENT.capture(EntityFields.STUDENT.copy(student)))
+        .containsExactly(EntityFields.STUDENT.capture(jsonCopy(student, Student.class)));
+    assertThat(EntityFields.MODULE.capture(EntityFields.MODULE.copy(module)))
+        .containsExactly(EntityFields.MODULE.capture(jsonCopy(module, Module.class)));
+  }
+
+  @Test
+  void fieldTableCopyBeatsJsonRoundTrip() {
+    assumeTrue(Boolean.getBoolean("benchmark.timing"), "timing comparison not requested");
+
+    long table = measure("field table", student, module, EntityFields.STUDENT::copy,
+        EntityFields.MODULE::copy);
+    long json = measure("JSON", student, module, value -> jsonCopy(value, Student.class),
+        value -> jsonCopy(value, Module.class));
+    assertThat(table).isLessThan(json);
+  }
+
+  private long measure(String label, Student student, Module module,
+      UnaryOperator<Student> studentCopier, UnaryOperator<Module> moduleCopier) {
+    run(student, module, studentCopier, moduleCopier);
+    long start = System.nanoTime();
+    long checksum = run(student, module, studentCopier, moduleCopier);
+    long elapsed = System.nanoTime() - start;
+    LOGGER.info("{} copy: {} ns per entity (checksum {})", label, elapsed / (2L * COPIES),
+        checksum);
+    return elapsed;
+  }
+
+  private static long run(Student student, Module module, UnaryOperator<Student> studentCopier,
+      UnaryOperator<Module> moduleCopier) {
+    long checksum = 0;
+    for (int i = 0; i < COPIES; i++) {
+      checksum += studentCopier.apply(student).getId();
+      checksum += moduleCopier.apply(module).getPrerequisiteModule().getId();
+    }
+    return checksum;
+  }
+
+  private <T> T jsonCopy(T value, Class<T> type) {
+    try {
+      return objectMapper.readValue(objectMapper.writeValueAsString(value), type);
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import uk.ac.ucl.comp0010.models.Module;
+import uk.ac.ucl.comp0010.models.Student;
+
+class EntityFieldsTest {
+
+  @Test
+  void diffRecordsOnlyChangedFields() {
+    Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    student.setTuitionFee(new BigDecimal("9250.00"));
+    Object[] before = EntityFields.STUDENT.capture(student);
+
+    student.setEmail("countess@example.com");
+    student.setMajor("Mathematics");
+
+    EntityFields.Delta delta = EntityFields.STUDENT.diff(before, student);
+    assertThat(delta.previous()).containsExactly(Map.entry("email", "ada@example.com"),
+        new AbstractMap.SimpleEntry<>("major", null));
+    assertThat(delta.current()).containsExactly(Map.entry("email", "countess@example.com"),
+        Map.entry("major", "Mathematics"));
+  }
+
+  @Test
+  void prerequisiteIsTrackedByIdAndRestoredAsReference() {
+    Module prerequisite = new Module("COMP0002", "Basics", true);
+    prerequisite.setId(2L);
+    Module module = new Module("COMP0010", "Software Engineering", true);
+    Object[] before = EntityFields.MODULE.capture(module);
+    module.setPrerequisiteModule(prerequisite);
+
+    EntityFields.Delta delta = EntityFields.MODULE.diff(before, module);
+    assertThat(delta.current()).containsExactly(Map.entry("prerequisiteModuleId", 2L));
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    EntityFields.MODULE.apply(module, objectMapper.valueToTree(delta.current()), objectMapper);
+    assertThat(module.getPrerequisiteModule().getId()).isEqualTo(2L);
+    EntityFields.MODULE.apply(module, objectMapper.valueToTree(delta.previous()), objectMapper);
+    assertThat(module.getPrerequisiteModule()).isNull();
+  }
+
+  @Test
+  void copyDetachesScalarsAndKeepsOnlyTheAssociationId() {
+    Module prerequisite = new Module("COMP0002", "Basics", true);
+    prerequisite.setId(2L);
+    Module module = new Module("COMP0010", "Software Engineering", true, "Computer Science");
+    module.setId(10L);
+    module.setRequiredYear(2);
+    module.setPrerequisiteModule(prerequisite);
+
+    Module copy = EntityFields.MODULE.copy(module);
+
+    assertThat(copy).isNotSameAs(module);
+    assertThat(copy.getId()).isEqualTo(10L);
+    assertThat(EntityFields.MODULE.capture(copy)).containsExactly(
+        EntityFields.MODULE.capture(module));
+    assertThat(copy.getPrerequisiteModule()).isNotSameAs(prerequisite);
+    assertThat(copy.getPrerequisiteModule().getCode()).isNull();
+    assertThat(copy.getRegistrations()).isEmpty();
+  }
+
+  @Test
+  void forTypeCoversStudentsAndModulesOnly() {
+    assertThat(EntityFields.forType(Student.class)).isSameAs(EntityFields.STUDENT);
+    assertThat(EntityFields.forType(Module.class)).isSameAs(EntityFields.MODULE);
+    assertThat(EntityFields.forType(String.class)).isNull();
+  }
+}
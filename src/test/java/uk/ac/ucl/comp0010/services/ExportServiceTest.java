@@ -0,0 +1,107 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.GradeExportRow;
+import uk.ac.ucl.comp0010.repositories.projections.RegistrationExportRow;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+  @Mock
+  private GradeRepository gradeRepository;
+
+  @Mock
+  private RegistrationRepository registrationRepository;
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private EntityManager entityManager;
+
+  private ExportService exportService;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    exportService = new ExportService(gradeRepository, registrationRepository,
+        studentRepository, entityManager, objectMapper);
+  }
+
+  @Test
+  void gradesAreWrittenAsOneJsonObjectPerLine() throws Exception {
+    when(gradeRepository.streamExportRows()).thenReturn(Stream.of(
+        new GradeExportRow(1L, 2L, "ada", 3L, "COMP0010", 81),
+        new GradeExportRow(4L, 5L, "alan", 3L, "COMP0010", 64)));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exportService.exportGrades(DataFormat.NDJSON, out);
+
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+        "{\"id\":1,\"studentId\":2,\"userName\":\"ada\",\"moduleId\":3,"
+            + "\"moduleCode\":\"COMP0010\",\"score\":81}\n"
+            + "{\"id\":4,\"studentId\":5,\"userName\":\"alan\",\"moduleId\":3,"
+            + "\"moduleCode\":\"COMP0010\",\"score\":64}\n");
+  }
+
+  @Test
+  void registrationsAreWrittenAsCsvWithQuotedFields() throws Exception {
+    when(registrationRepository.streamExportRows()).thenReturn(Stream.of(
+        new RegistrationExportRow(1L, 2L, "o\"brien, pat", 3L, "COMP0010")));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exportService.exportRegistrations(DataFormat.CSV, out);
+
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+        "id,studentId,userName,moduleId,moduleCode\r\n"
+            + "1,2,\"o\"\"brien, pat\",3,COMP0010\r\n");
+  }
+
+  @Test
+  void studentsClearThePersistenceContextWhileStreaming() throws Exception {
+    Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    student.setBirthDate(LocalDate.of(1815, 12, 10));
+    int rows = ExportService.FLUSH_INTERVAL * 2 + 1;
+    when(studentRepository.streamAllByOrderByIdAsc())
+        .thenReturn(IntStream.range(0, rows).mapToObj(index -> student));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exportService.exportStudents(DataFormat.CSV, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+    assertThat(lines).hasSize(rows + 1);
+    assertThat(lines[1]).isEqualTo(",Ada,Lovelace,ada,ada@example.com,,,,,,1815-12-10,,");
+    verify(entityManager, times(2)).clear();
+  }
+
+  @Test
+  void unknownFormatIsRejected() {
+    assertThat(DataFormat.fromExtension("CSV")).isEqualTo(DataFormat.CSV);
+    assertThatThrownBy(() -> DataFormat.fromExtension("xlsx"))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+}
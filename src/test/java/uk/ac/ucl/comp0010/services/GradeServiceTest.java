@@ -14,6 +14,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
 import uk.ac.ucl.comp0010.models.Grade;
@@ -43,12 +49,15 @@ class GradeServiceTest {
   @Mock
   private OperationLogService operationLogService;
 
+  @Mock
+  private ModuleStatisticsStore moduleStatisticsStore;
+
   private GradeService gradeService;
 
   @BeforeEach
   void setUp() {
     gradeService = new GradeService(gradeRepository, studentRepository, moduleRepository,
-        registrationRepository, operationLogService);
+        registrationRepository, operationLogService, moduleStatisticsStore);
   }
 
   @Test
@@ -76,6 +85,7 @@ class GradeServiceTest {
 
     assertThat(result).isEqualTo(saved);
     verify(gradeRepository).save(any(Grade.class));
+    verify(moduleStatisticsStore).gradeRecorded(2L, 90);
   }
 
   @Test
@@ -114,6 +124,7 @@ class GradeServiceTest {
 
     assertThat(updated.getScore()).isEqualTo(95);
     verify(gradeRepository).save(grade);
+    verify(moduleStatisticsStore).gradeChanged(null, 60, 95);
   }
 
   @Test
@@ -140,6 +151,8 @@ class GradeServiceTest {
     Grade updated = gradeService.upsertGrade(5L, 6L, 75);
     assertThat(updated.getScore()).isEqualTo(75);
     verify(gradeRepository, times(2)).save(any(Grade.class));
+    verify(moduleStatisticsStore).gradeRecorded(6L, 50);
+    verify(moduleStatisticsStore).gradeChanged(6L, 40, 75);
   }
 
   @Test
@@ -172,6 +185,37 @@ class GradeServiceTest {
     verify(gradeRepository).findAll();
   }
 
+  @Test
+  void keysetPageReadsOneExtraRowToFindTheNextPage() {
+    Grade first = new Grade();
+    Grade second = new Grade();
+    Grade extra = new Grade();
+    when(gradeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+        .thenReturn(List.of(first, second, extra));
+    when(gradeRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(3)))
+        .thenReturn(List.of(first));
+
+    Slice<Grade> page = gradeService.getGradesAfter(null, 2);
+    assertThat(page.getContent()).containsExactly(first, second);
+    assertThat(page.hasNext()).isTrue();
+    assertThat(gradeService.getGradesAfter(5L, 2).hasNext()).isFalse();
+
+    assertThatThrownBy(() -> gradeService.getGradesAfter(null, 0))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> gradeService.getGradesAfter(null, Paging.MAX_PAGE_SIZE + 1))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+
+  @Test
+  void offsetPageRejectsUnknownSortProperty() {
+    PageRequest byScore = PageRequest.of(0, 10, Sort.by("score"));
+    when(gradeRepository.findAll(byScore)).thenReturn(Page.empty());
+
+    assertThat(gradeService.getGradesPage(byScore)).isEmpty();
+    assertThatThrownBy(() -> gradeService.getGradesPage(PageRequest.of(0, 10, Sort.by("module"))))
+        .isInstanceOf(InvalidRequestException.class);
+  }
+
   @Test
   void getGradesForStudentAndModuleUseRepositories() {
     Student student = new Student();
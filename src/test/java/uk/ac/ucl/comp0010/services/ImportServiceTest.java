@@ -0,0 +1,147 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.ac.ucl.comp0010.controllers.responses.ImportResultResponse;
+import uk.ac.ucl.comp0010.controllers.responses.ImportResultResponse.RowError;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.StudentIdentity;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private OperationLogService operationLogService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private ImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    importService = new ImportService(
+        List.of(new StudentImporter(studentRepository, jdbcTemplate)), operationLogService,
+        transactionManager, new ObjectMapper());
+  }
+
+  private ImportResultResponse importStudents(DataFormat format, String body)
+      throws IOException {
+    return importService.importFile(ImportDataset.STUDENTS, format,
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static OperationLog logWithId(Long id) {
+    OperationLog log = mock(OperationLog.class);
+    when(log.getId()).thenReturn(id);
+    return log;
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void csvChunkIsCheckedWithOneQueryAndInsertedAsOneBatch() throws IOException {
+    when(studentRepository.findIdentities(anyCollection(), anyCollection()))
+        .thenReturn(List.of(new StudentIdentity(9L, "other", "taken@ucl.ac.uk", 2020)));
+    when(studentRepository.findIdentitiesByUserName(List.of("ada", "gh"))).thenReturn(List.of(
+        new StudentIdentity(10L, "ada", "ada@ucl.ac.uk", 2023),
+        new StudentIdentity(11L, "gh", "gh@ucl.ac.uk", 2022)));
+    OperationLog log = logWithId(7L);
+    when(operationLogService.logImport(eq(OperationEntityType.STUDENT), eq(List.of(10L, 11L)),
+        anyString())).thenReturn(log);
+
+    ImportResultResponse result = importStudents(DataFormat.CSV,
+        "firstName,lastName,userName,email,entryYear\r\n"
+            + "Ada,Lovelace,ada,ada@ucl.ac.uk,2023\r\n"
+            + "Alan,Turing,alan,taken@ucl.ac.uk,2023\r\n"
+            + "Ada,Byron,ada,ada2@ucl.ac.uk,2024\r\n"
+            + "Grace,Hopper,grace,grace@ucl.ac.uk,soon\r\n"
+            + "\"Hopper, Jr\",Grace,gh,\"gh@ucl.ac.uk\",2022\r\n");
+
+    assertThat(result.getRowsRead()).isEqualTo(5);
+    assertThat(result.getImported()).isEqualTo(2);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getOperationIds()).containsExactly(7L);
+    assertThat(result.getErrors()).containsExactlyInAnyOrder(
+        new RowError(2, "Email already registered: taken@ucl.ac.uk"),
+        new RowError(3, "Username already taken: ada"),
+        new RowError(4, "Invalid entryYear: soon"));
+
+    ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(eq(StudentImporter.INSERT_SQL), batch.capture());
+    assertThat(batch.getValue()).hasSize(2);
+    assertThat(batch.getValue().get(1)[0]).isEqualTo("Hopper, Jr");
+    verify(studentRepository, times(1)).findIdentities(anyCollection(), anyCollection());
+  }
+
+  @Test
+  void ndjsonIsImportedInChunksWithOneLogEntryEach() throws IOException {
+    when(studentRepository.findIdentities(anyCollection(), anyCollection()))
+        .thenReturn(List.of());
+    when(studentRepository.findIdentitiesByUserName(anyCollection()))
+        .thenReturn(List.of(new StudentIdentity(1L, "s", "s@ucl.ac.uk", null)));
+    OperationLog log = logWithId(3L);
+    when(operationLogService.logImport(eq(OperationEntityType.STUDENT), anyList(), anyString()))
+        .thenReturn(log);
+
+    StringBuilder body = new StringBuilder();
+    int rows = ImportService.CHUNK_SIZE + 1;
+    for (int i = 0; i < rows; i++) {
+      body.append("{\"firstName\":\"F\",\"lastName\":\"L\",\"userName\":\"user").append(i)
+          .append("\",\"email\":\"user").append(i).append("@ucl.ac.uk\"}\n");
+    }
+
+    ImportResultResponse result = importStudents(DataFormat.NDJSON, body.toString());
+
+    assertThat(result.getRowsRead()).isEqualTo(rows);
+    assertThat(result.getFailed()).isZero();
+    assertThat(result.getOperationIds()).containsExactly(3L, 3L);
+    verify(jdbcTemplate, times(2)).batchUpdate(eq(StudentImporter.INSERT_SQL), anyList());
+  }
+
+  @Test
+  void malformedRowsAreReportedWithoutAbortingTheFile() throws IOException {
+    ImportResultResponse result = importStudents(DataFormat.CSV,
+        "firstName,lastName,userName,email\n"
+            + "Ada,Lovelace,ada\n"
+            + ",Turing,alan,alan@ucl.ac.uk\n"
+            + "Grace,\"Hopper,grace,grace@ucl.ac.uk\n");
+
+    assertThat(result.getRowsRead()).isEqualTo(2);
+    assertThat(result.getImported()).isZero();
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getOperationIds()).isEmpty();
+    assertThat(result.getErrors()).extracting(RowError::message).containsExactly(
+        "Expected 4 fields but found 3",
+        "Unreadable input, import stopped: Unterminated quoted field",
+        "firstName is required");
+  }
+}
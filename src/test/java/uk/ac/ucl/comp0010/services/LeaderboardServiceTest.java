@@ -0,0 +1,129 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.ac.ucl.comp0010.controllers.responses.LeaderboardEntryResponse;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
+import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
+import uk.ac.ucl.comp0010.models.Student;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.StudentScoreAggregate;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+  @Mock
+  private GradeRepository gradeRepository;
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private ModuleRepository moduleRepository;
+
+  private LeaderboardService leaderboardService;
+
+  @BeforeEach
+  void setUp() {
+    leaderboardService = new LeaderboardService(gradeRepository, studentRepository,
+        moduleRepository);
+  }
+
+  private static StudentScoreAggregate row(long studentId, double average, double gpa) {
+    return new StudentScoreAggregate() {
+      @Override
+      public Long getStudentId() {
+        return studentId;
+      }
+
+      @Override
+      public Double getAverageScore() {
+        return average;
+      }
+
+      @Override
+      public Double getGpa() {
+        return gpa;
+      }
+    };
+  }
+
+  private void stubStudents(long... ids) {
+    List<Student> students = new ArrayList<>();
+    for (long id : ids) {
+      Student student = new Student("First" + id, "Last" + id, "user" + id, id + "@example.com");
+      student.setId(id);
+      students.add(student);
+    }
+    when(studentRepository.findAllById(anyIterable())).thenReturn(students);
+  }
+
+  @Test
+  void keepsOnlyTopEntriesOrderedByMetric() {
+    when(gradeRepository.streamStudentAggregates(null)).thenReturn(Stream.of(
+        row(1, 55, 2.7), row(2, 82, 4.0), row(3, 64, 3.3), row(4, 71, 4.0), row(5, 38, 0.0)));
+    stubStudents(2, 4);
+
+    List<LeaderboardEntryResponse> board = leaderboardService.getLeaderboard("gpa", 2, "top",
+        null);
+
+    assertThat(board).extracting(LeaderboardEntryResponse::getStudentId).containsExactly(2L, 4L);
+    assertThat(board).extracting(LeaderboardEntryResponse::getRank).containsExactly(1, 2);
+    assertThat(board.get(0).getUserName()).isEqualTo("user2");
+  }
+
+  @Test
+  void bottomOrderReturnsLowestAveragesFirst() {
+    when(moduleRepository.existsById(7L)).thenReturn(true);
+    when(gradeRepository.streamStudentAggregates(7L)).thenReturn(Stream.of(
+        row(1, 55, 2.7), row(2, 82, 4.0), row(3, 38, 0.0), row(4, 49, 2.0)));
+    stubStudents(3, 4, 1);
+
+    List<LeaderboardEntryResponse> board = leaderboardService.getLeaderboard("average", 3,
+        "bottom", 7L);
+
+    assertThat(board).extracting(LeaderboardEntryResponse::getStudentId)
+        .containsExactly(3L, 4L, 1L);
+    assertThat(board.get(0).getAverageScore()).isEqualTo(38.0);
+  }
+
+  @Test
+  void skipsStudentsDeletedAfterRanking() {
+    when(gradeRepository.streamStudentAggregates(null)).thenReturn(Stream.of(
+        row(1, 55, 2.7), row(2, 82, 4.0), row(3, 64, 3.3)));
+    stubStudents(3, 1);
+
+    List<LeaderboardEntryResponse> board = leaderboardService.getLeaderboard("average", 3, "top",
+        null);
+
+    assertThat(board).extracting(LeaderboardEntryResponse::getStudentId).containsExactly(3L, 1L);
+    assertThat(board).extracting(LeaderboardEntryResponse::getRank).containsExactly(1, 2);
+  }
+
+  @Test
+  void rejectsInvalidParameters() {
+    assertThatThrownBy(() -> leaderboardService.getLeaderboard("median", 5, "top", null))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> leaderboardService.getLeaderboard("gpa", 5, "middle", null))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> leaderboardService.getLeaderboard("gpa", 0, "top", null))
+        .isInstanceOf(InvalidRequestException.class);
+
+    when(moduleRepository.existsById(9L)).thenReturn(false);
+    assertThatThrownBy(() -> leaderboardService.getLeaderboard("gpa", 5, "top", 9L))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+}
@@ -27,11 +27,15 @@ class ModuleServiceTest {
   @Mock
   private OperationLogService operationLogService;
 
+  @Mock
+  private ModuleStatisticsStore moduleStatisticsStore;
+
   private ModuleService moduleService;
 
   @BeforeEach
   void setUp() {
-    moduleService = new ModuleService(moduleRepository, operationLogService);
+    moduleService = new ModuleService(moduleRepository, operationLogService,
+        moduleStatisticsStore);
   }
 
   @Test
@@ -50,6 +54,7 @@ class ModuleServiceTest {
     when(moduleRepository.save(module)).thenReturn(module);
 
     assertThat(moduleService.createModule(module)).isEqualTo(module);
+    verify(moduleStatisticsStore).moduleSaved();
 
     module.setId(2L);
     assertThatThrownBy(() -> moduleService.createModule(module))
@@ -87,6 +92,7 @@ class ModuleServiceTest {
 
     Module result = moduleService.updateModule(1L, updated);
     assertThat(result.getName()).isEqualTo("Advanced");
+    verify(moduleStatisticsStore).moduleSaved();
 
     when(moduleRepository.existsByCode("CS2")).thenReturn(true);
     assertThatThrownBy(() -> moduleService.updateModule(1L, updated))
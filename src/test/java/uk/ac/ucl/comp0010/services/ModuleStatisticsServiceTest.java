@@ -2,25 +2,26 @@ package uk.ac.ucl.comp0010.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.ac.ucl.comp0010.controllers.responses.ModuleDistributionResponse;
 import uk.ac.ucl.comp0010.controllers.responses.ModuleStatisticsResponse;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
-import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.Module;
-import uk.ac.ucl.comp0010.models.Registration;
-import uk.ac.ucl.comp0010.models.Student;
-import uk.ac.ucl.comp0010.repositories.GradeRepository;
 import uk.ac.ucl.comp0010.repositories.ModuleRepository;
-import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
 import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.services.ModuleStatisticsStore.ModuleCounts;
 
 @ExtendWith(MockitoExtension.class)
 class ModuleStatisticsServiceTest {
@@ -32,17 +33,16 @@ class ModuleStatisticsServiceTest {
   private StudentRepository studentRepository;
 
   @Mock
-  private RegistrationRepository registrationRepository;
+  private ModuleStatisticsStore moduleStatisticsStore;
 
-  @Mock
-  private GradeRepository gradeRepository;
+  private final WriteEpoch writeEpoch = new WriteEpoch();
 
   private ModuleStatisticsService moduleStatisticsService;
 
   @BeforeEach
   void setUp() {
     moduleStatisticsService = new ModuleStatisticsService(moduleRepository, studentRepository,
-        registrationRepository, gradeRepository);
+        moduleStatisticsStore, writeEpoch);
   }
 
   @Test
@@ -52,11 +52,8 @@ class ModuleStatisticsServiceTest {
 
     when(moduleRepository.findById(1L)).thenReturn(Optional.of(module));
     when(studentRepository.count()).thenReturn(10L);
-    when(registrationRepository.findAllByModule(module)).thenReturn(
-        List.of(new Registration(), new Registration(), new Registration(), new Registration()));
-    Student student = new Student();
-    when(gradeRepository.findAllByModule(module)).thenReturn(List.of(new Grade(student, module, 80),
-        new Grade(student, module, 75), new Grade(student, module, 50)));
+    when(moduleStatisticsStore.countsFor(1L))
+        .thenReturn(new ModuleCounts(4, 3, 2, 80 + 75 + 50));
 
     ModuleStatisticsResponse response = moduleStatisticsService.getStatistics(1L);
 
@@ -70,6 +67,23 @@ class ModuleStatisticsServiceTest {
     assertThat(response.getAverageGrade()).isEqualTo((80 + 75 + 50) / 3d);
   }
 
+  @Test
+  void buildsEmptyStatisticsForModuleWithoutGrades() {
+    Module module = new Module("CS", "Computer Science", true, "Engineering");
+    module.setId(1L);
+
+    when(moduleRepository.findById(1L)).thenReturn(Optional.of(module));
+    when(studentRepository.count()).thenReturn(0L);
+    when(moduleStatisticsStore.countsFor(1L)).thenReturn(new ModuleCounts(0, 0, 0, 0));
+
+    ModuleStatisticsResponse response = moduleStatisticsService.getStatistics(1L);
+
+    assertThat(response.getSelectionRate()).isZero();
+    assertThat(response.getTotalGrades()).isZero();
+    assertThat(response.getPassRate()).isNull();
+    assertThat(response.getAverageGrade()).isNull();
+  }
+
   @Test
   void throwsWhenModuleMissing() {
     when(moduleRepository.findById(99L)).thenReturn(Optional.empty());
@@ -79,20 +93,95 @@ class ModuleStatisticsServiceTest {
   }
 
   @Test
-  void buildsStatisticsForAllModules() {
+  void buildsStatisticsForAllModulesFromStore() {
     Module moduleOne = new Module("CS", "Computer Science", true, "Engineering");
+    moduleOne.setId(1L);
     Module moduleTwo = new Module("MA", "Maths", false, "Mathematics");
-    when(moduleRepository.findAll()).thenReturn(List.of(moduleOne, moduleTwo));
-    when(studentRepository.count()).thenReturn(0L);
-    when(registrationRepository.findAllByModule(moduleOne)).thenReturn(List.of());
-    when(registrationRepository.findAllByModule(moduleTwo)).thenReturn(List.of());
-    when(gradeRepository.findAllByModule(moduleOne)).thenReturn(List.of());
-    when(gradeRepository.findAllByModule(moduleTwo)).thenReturn(List.of());
+    moduleTwo.setId(2L);
+    when(moduleRepository.findAllWithPrerequisite()).thenReturn(List.of(moduleOne, moduleTwo));
+    when(studentRepository.count()).thenReturn(4L);
+    when(moduleStatisticsStore.allCounts())
+        .thenReturn(Map.of(1L, new ModuleCounts(2, 2, 1, 130)));
 
     List<ModuleStatisticsResponse> responses = moduleStatisticsService.getAllStatistics();
 
     assertThat(responses).hasSize(2);
-    assertThat(responses.get(0).getSelectionRate()).isZero();
+    assertThat(responses.get(0).getRegistrationCount()).isEqualTo(2);
+    assertThat(responses.get(0).getSelectionRate()).isEqualTo(0.5);
+    assertThat(responses.get(0).getPassRate()).isEqualTo(0.5);
+    assertThat(responses.get(0).getAverageGrade()).isEqualTo(65.0);
+    assertThat(responses.get(1).getRegistrationCount()).isZero();
     assertThat(responses.get(1).getPassRate()).isNull();
   }
+
+  @Test
+  void cachesStatisticsUntilWriteEpochAdvances() {
+    Module module = new Module("CS", "Computer Science", true, "Engineering");
+    module.setId(1L);
+    when(moduleRepository.findAllWithPrerequisite()).thenReturn(List.of(module));
+    when(moduleStatisticsStore.allCounts()).thenReturn(Map.of());
+
+    List<ModuleStatisticsResponse> first = moduleStatisticsService.getAllStatistics();
+    assertThat(moduleStatisticsService.getAllStatistics()).isSameAs(first);
+    verify(moduleStatisticsStore, times(1)).allCounts();
+
+    writeEpoch.advance();
+    moduleStatisticsService.getAllStatistics();
+    verify(moduleStatisticsStore, times(2)).allCounts();
+  }
+
+  @Test
+  void buildsDistributionForSingleModule() {
+    Module module = new Module("CS", "Computer Science", true, "Engineering");
+    module.setId(1L);
+    long[] counts = new long[ScoreHistogram.SLOTS];
+    counts[40] = 1;
+    counts[60] = 2;
+    counts[80] = 1;
+    when(moduleRepository.findById(1L)).thenReturn(Optional.of(module));
+    when(moduleStatisticsStore.histogramFor(1L)).thenReturn(new ScoreHistogram(counts));
+
+    ModuleDistributionResponse response =
+        moduleStatisticsService.getDistribution(1L, 50, List.of(90.0));
+
+    assertThat(response.getTotalGrades()).isEqualTo(4);
+    assertThat(response.getMinScore()).isEqualTo(40);
+    assertThat(response.getMaxScore()).isEqualTo(80);
+    assertThat(response.getMedian()).isEqualTo(60.0);
+    assertThat(response.getLowerQuartile()).isEqualTo(55.0);
+    assertThat(response.getUpperQuartile()).isEqualTo(65.0);
+    assertThat(response.getPercentiles()).containsEntry("90", 74.0);
+    assertThat(response.getBuckets()).extracting(ScoreHistogram.ScoreBucket::count)
+        .containsExactly(1L, 3L);
+  }
+
+  @Test
+  void buildsDistributionsForAllModulesFromStore() {
+    Module moduleOne = new Module("CS", "Computer Science", true, "Engineering");
+    moduleOne.setId(1L);
+    Module moduleTwo = new Module("MA", "Maths", false, "Mathematics");
+    moduleTwo.setId(2L);
+    long[] counts = new long[ScoreHistogram.SLOTS];
+    counts[70] = 3;
+    when(moduleRepository.findAllWithPrerequisite()).thenReturn(List.of(moduleOne, moduleTwo));
+    when(moduleStatisticsStore.allHistograms())
+        .thenReturn(Map.of(1L, new ScoreHistogram(counts)));
+
+    List<ModuleDistributionResponse> responses =
+        moduleStatisticsService.getAllDistributions(10, List.of());
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0).getMedian()).isEqualTo(70.0);
+    assertThat(responses.get(1).getTotalGrades()).isZero();
+    assertThat(responses.get(1).getMedian()).isNull();
+    assertThat(responses.get(1).getBuckets()).hasSize(10);
+  }
+
+  @Test
+  void rejectsInvalidDistributionParameters() {
+    assertThatThrownBy(() -> moduleStatisticsService.getDistribution(1L, 0, List.of()))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> moduleStatisticsService.getAllDistributions(10, List.of(101.0)))
+        .isInstanceOf(InvalidRequestException.class);
+  }
 }
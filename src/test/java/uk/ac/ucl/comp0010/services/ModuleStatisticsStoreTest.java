@@ -0,0 +1,215 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.ac.ucl.comp0010.repositories.GradeRepository;
+import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleScoreCount;
+import uk.ac.ucl.comp0010.repositories.projections.ModuleRegistrationCount;
+import uk.ac.ucl.comp0010.services.ModuleStatisticsStore.ModuleCounts;
+
+@ExtendWith(MockitoExtension.class)
+class ModuleStatisticsStoreTest {
+
+  @Mock
+  private RegistrationRepository registrationRepository;
+
+  @Mock
+  private GradeRepository gradeRepository;
+
+  private final WriteEpoch writeEpoch = new WriteEpoch();
+  private ModuleStatisticsStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new ModuleStatisticsStore(registrationRepository, gradeRepository, writeEpoch);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void loadsFromAggregatesOnFirstRead() {
+    when(registrationRepository.countByModuleGrouped())
+        .thenReturn(List.of(new ModuleRegistrationCount(1L, 3L)));
+    when(gradeRepository.countScoresByModule()).thenReturn(
+        List.of(new ModuleScoreCount(1L, 50, 1L), new ModuleScoreCount(1L, 80, 1L)));
+
+    assertThat(store.countsFor(1L)).isEqualTo(new ModuleCounts(3, 2, 1, 130));
+    assertThat(store.countsFor(2L)).isEqualTo(new ModuleCounts(0, 0, 0, 0));
+    assertThat(store.allCounts()).containsOnlyKeys(1L);
+    assertThat(store.histogramFor(1L).countAt(80)).isEqualTo(1);
+    assertThat(store.histogramFor(2L).getTotal()).isZero();
+    verify(gradeRepository, times(1)).countScoresByModule();
+  }
+
+  @Test
+  void appliesDeltasFromWritePaths() {
+    store.reconcile();
+
+    store.registrationAdded(1L);
+    store.registrationAdded(1L);
+    store.registrationRemoved(1L);
+    store.gradeRecorded(1L, 70);
+    store.gradeRecorded(1L, 40);
+    store.gradeChanged(1L, 40, 65);
+    store.gradeRecorded(2L, 30);
+    store.gradeRemoved(2L, 30);
+
+    ModuleCounts counts = store.countsFor(1L);
+    assertThat(counts).isEqualTo(new ModuleCounts(1, 2, 2, 135));
+    assertThat(counts.averageGrade()).isEqualTo(67.5);
+    assertThat(store.countsFor(2L).averageGrade()).isNull();
+
+    ScoreHistogram histogram = store.histogramFor(1L);
+    assertThat(histogram.countAt(40)).isZero();
+    assertThat(histogram.countAt(65)).isEqualTo(1);
+    assertThat(histogram.countAt(70)).isEqualTo(1);
+
+    store.moduleRemoved(1L);
+    assertThat(store.allCounts()).containsOnlyKeys(2L);
+    assertThat(store.allHistograms()).containsOnlyKeys(2L);
+  }
+
+  @Test
+  void defersDeltasUntilCommit() {
+    store.reconcile();
+    TransactionSynchronizationManager.initSynchronization();
+
+    store.gradeRecorded(1L, 80);
+    assertThat(store.countsFor(1L).totalGrades()).isZero();
+
+    for (TransactionSynchronization synchronization
+        : TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+    }
+    assertThat(store.countsFor(1L).totalGrades()).isEqualTo(1);
+  }
+
+  @Test
+  void invalidateTriggersRebuildOnNextRead() {
+    store.reconcile();
+    store.gradeRecorded(1L, 80);
+
+    store.invalidate();
+
+    assertThat(store.countsFor(1L).totalGrades()).isZero();
+    verify(gradeRepository, times(2)).countScoresByModule();
+  }
+
+  @Test
+  void reconcileReportsDriftedModules() {
+    assertThat(store.reconcile()).isZero();
+    store.gradeRecorded(1L, 80);
+    store.registrationAdded(2L);
+
+    String before = writeEpoch.current();
+    assertThat(store.reconcile()).isEqualTo(2);
+    assertThat(writeEpoch.current()).isNotEqualTo(before);
+
+    String corrected = writeEpoch.current();
+    assertThat(store.reconcile()).isZero();
+    assertThat(writeEpoch.current()).isEqualTo(corrected);
+  }
+
+  @Test
+  void rebuildWaitsForACommitInFlightInsteadOfCountingItTwice() throws Exception {
+    store.reconcile();
+    when(gradeRepository.countScoresByModule())
+        .thenReturn(List.of(new ModuleScoreCount(1L, 80, 1L)));
+    CountDownLatch committing = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    ExecutorService threads = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> writer = threads.submit(() -> {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+          store.gradeRecorded(1L, 80);
+          List<TransactionSynchronization> synchronizations =
+              TransactionSynchronizationManager.getSynchronizations();
+          synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+          committing.countDown();
+          finish.await();
+          synchronizations.forEach(TransactionSynchronization::afterCommit);
+          synchronizations.forEach(synchronization -> synchronization.afterCompletion(
+              TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+          TransactionSynchronizationManager.clearSynchronization();
+        }
+        return null;
+      });
+      committing.await();
+      String before = writeEpoch.current();
+      Future<Integer> reconcile = threads.submit(store::reconcile);
+
+      verify(gradeRepository, after(200).times(1)).countScoresByModule();
+      finish.countDown();
+      writer.get(5, TimeUnit.SECONDS);
+
+      assertThat(reconcile.get(5, TimeUnit.SECONDS)).isZero();
+      assertThat(store.countsFor(1L).totalGrades()).isEqualTo(1);
+      assertThat(writeEpoch.current()).isEqualTo(before);
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  void invalidationDuringARebuildKeepsTheStoreStale() throws Exception {
+    ExecutorService threads = Executors.newSingleThreadExecutor();
+    try {
+      List<Future<?>> invalidations = new ArrayList<>();
+      when(gradeRepository.countScoresByModule()).thenAnswer(call -> {
+        invalidations.add(threads.submit(store::invalidate));
+        return List.of();
+      }).thenReturn(List.of(new ModuleScoreCount(1L, 70, 1L)));
+
+      store.countsFor(1L);
+      invalidations.get(0).get(5, TimeUnit.SECONDS);
+
+      assertThat(store.countsFor(1L).totalGrades()).isEqualTo(1);
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  void notifiesListenersOfCommittedChanges() {
+    ModuleStatisticsStore.ChangeListener listener =
+        org.mockito.Mockito.mock(ModuleStatisticsStore.ChangeListener.class);
+    store.addListener(listener);
+
+    store.gradeRecorded(3L, 70);
+    store.registrationAdded(4L);
+    store.moduleSaved();
+    store.moduleRemoved(3L);
+    store.invalidate();
+
+    verify(listener).moduleChanged(3L);
+    verify(listener).moduleChanged(4L);
+    verify(listener, times(3)).allChanged();
+  }
+}
@@ -0,0 +1,145 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.ac.ucl.comp0010.models.OperationEntityType;
+import uk.ac.ucl.comp0010.models.OperationLog;
+import uk.ac.ucl.comp0010.models.OperationType;
+import uk.ac.ucl.comp0010.repositories.OperationLogFilter;
+import uk.ac.ucl.comp0010.repositories.OperationLogRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OperationLogArchiveTest {
+  private static final Instant CUTOFF = Instant.parse("2024-06-01T00:00:00Z");
+  private static final OperationLogFilter ALL = new OperationLogFilter(null, null, null, null,
+      null, null);
+
+  @Mock
+  private OperationLogRepository operationLogRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @TempDir
+  private Path directory;
+
+  private OperationLogArchive archive(boolean enabled) {
+    return new OperationLogArchive(operationLogRepository, transactionManager, enabled,
+        directory.toString(), 30);
+  }
+
+  private static List<OperationLog> logs(long firstId, int count) {
+    List<OperationLog> logs = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      OperationLog log = new OperationLog(OperationType.CREATE, OperationEntityType.MODULE,
+          firstId + i, CUTOFF.minusSeconds(count - i), "admin", "Created " + (firstId + i),
+          null, "{}");
+      log.setId(firstId + i);
+      logs.add(log);
+    }
+    return logs;
+  }
+
+  @Test
+  void expiredEntriesMoveIntoSegmentsAndStayReadable() {
+    when(operationLogRepository.findByTimestampBeforeOrderByTimestampAscIdAsc(CUTOFF,
+        Limit.of(OperationLogArchive.SEGMENT_RECORDS)))
+        .thenReturn(logs(1, 5), logs(6, 5), List.of());
+
+    assertThat(archive(true).archiveOlderThan(CUTOFF)).isEqualTo(10);
+    verify(operationLogRepository).deleteByIdIn(List.of(1L, 2L, 3L, 4L, 5L));
+    verify(operationLogRepository).deleteByIdIn(List.of(6L, 7L, 8L, 9L, 10L));
+
+    OperationLogArchive reopened = archive(false);
+    assertThat(reopened.hasEntries()).isTrue();
+    assertThat(reopened.find(7L)).get().extracting(OperationLog::getDescription)
+        .isEqualTo("Created 7");
+    assertThat(reopened.findNewest(ALL, null, null, 3)).extracting(OperationLog::getId)
+        .containsExactly(10L, 5L, 9L);
+    assertThat(reopened.findNewest(ALL, CUTOFF.minusSeconds(2), 9L, 2))
+        .extracting(OperationLog::getId).containsExactly(4L, 8L);
+  }
+
+  @Test
+  void entityLookupsOnlyReturnThatEntity() {
+    when(operationLogRepository.findByTimestampBeforeOrderByTimestampAscIdAsc(CUTOFF,
+        Limit.of(OperationLogArchive.SEGMENT_RECORDS)))
+        .thenReturn(logs(1, 5), logs(6, 5), List.of());
+    OperationLogArchive archive = archive(true);
+    archive.archiveOlderThan(CUTOFF);
+
+    OperationLogFilter module = new OperationLogFilter(OperationEntityType.MODULE, 2L, null,
+        null, null, null);
+    assertThat(archive.findNewest(module, null, null, Integer.MAX_VALUE))
+        .extracting(OperationLog::getId).containsExactly(2L);
+    OperationLogFilter student = new OperationLogFilter(OperationEntityType.STUDENT, 2L, null,
+        null, null, null);
+    assertThat(archive.findNewest(student, null, null, Integer.MAX_VALUE)).isEmpty();
+  }
+
+  @Test
+  void importedRowsFindTheImportEntryThatListsThem() {
+    List<OperationLog> batch = logs(1, 3);
+    OperationLog imported = new OperationLog(OperationType.IMPORT, OperationEntityType.STUDENT,
+        null, CUTOFF.minusSeconds(1), "admin", "Imported 2 students", null, "[20,21]");
+    imported.setId(4L);
+    batch.add(imported);
+    when(operationLogRepository.findByTimestampBeforeOrderByTimestampAscIdAsc(CUTOFF,
+        Limit.of(OperationLogArchive.SEGMENT_RECORDS))).thenReturn(batch, List.of());
+    OperationLogArchive archive = archive(true);
+    archive.archiveOlderThan(CUTOFF);
+
+    OperationLogFilter student = new OperationLogFilter(OperationEntityType.STUDENT, 21L, null,
+        null, null, null);
+    assertThat(archive.findNewest(student, null, null, 10)).extracting(OperationLog::getId)
+        .containsExactly(4L);
+    OperationLogFilter other = new OperationLogFilter(OperationEntityType.STUDENT, 2L, null,
+        null, null, null);
+    assertThat(archive.findNewest(other, null, null, 10)).isEmpty();
+  }
+
+  @Test
+  void entriesLeftBehindByAFailedDeleteAreNotArchivedTwice() {
+    List<OperationLog> batch = logs(1, 3);
+    when(operationLogRepository.findByTimestampBeforeOrderByTimestampAscIdAsc(any(),
+        any(Limit.class))).thenReturn(batch, batch, List.of());
+    when(operationLogRepository.deleteByIdIn(anyCollection()))
+        .thenThrow(new DataIntegrityViolationException("delete"))
+        .thenReturn(3);
+
+    OperationLogArchive archive = archive(true);
+    assertThatThrownBy(() -> archive.archiveOlderThan(CUTOFF))
+        .isInstanceOf(DataIntegrityViolationException.class);
+
+    OperationLogArchive restarted = archive(true);
+    assertThat(restarted.archiveOlderThan(CUTOFF)).isEqualTo(3);
+
+    assertThat(restarted.findNewest(ALL, null, null, 10)).hasSize(3);
+  }
+
+  @Test
+  void disabledArchiveLeavesTheTableAlone() {
+    assertThat(archive(false).archiveExpired()).isZero();
+    assertThat(archive(false).hasEntries()).isFalse();
+    verify(operationLogRepository, never()).findByTimestampBeforeOrderByTimestampAscIdAsc(any(),
+        any(Limit.class));
+  }
+}
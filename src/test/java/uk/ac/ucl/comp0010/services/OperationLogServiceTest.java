@@ -4,22 +4,30 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
 import uk.ac.ucl.comp0010.models.Grade;
 import uk.ac.ucl.comp0010.models.OperationEntityType;
@@ -30,9 +38,11 @@ import uk.ac.ucl.comp0010.models.Registration;
 import uk.ac.ucl.comp0010.models.Student;
 import uk.ac.ucl.comp0010.repositories.GradeRepository;
 import uk.ac.ucl.comp0010.repositories.ModuleRepository;
+import uk.ac.ucl.comp0010.repositories.OperationLogFilter;
 import uk.ac.ucl.comp0010.repositories.OperationLogRepository;
 import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
 import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.OperationLogSummary;
 
 @ExtendWith(MockitoExtension.class)
 class OperationLogServiceTest {
@@ -52,12 +62,22 @@ class OperationLogServiceTest {
   @Mock
   private GradeRepository gradeRepository;
 
+  @Mock
+  private ModuleStatisticsStore moduleStatisticsStore;
+
+  @Mock
+  private OperationLogArchive operationLogArchive;
+
+  @Mock
+  private EntityManager entityManager;
+
   private OperationLogService operationLogService;
 
   @BeforeEach
   void setUp() {
     operationLogService = new OperationLogService(operationLogRepository, new ObjectMapper(),
-        studentRepository, moduleRepository, registrationRepository, gradeRepository);
+        studentRepository, moduleRepository, registrationRepository, gradeRepository,
+        moduleStatisticsStore, new WriteEpoch(), operationLogArchive, entityManager);
     SecurityContextHolder.clearContext();
   }
 
@@ -101,6 +121,126 @@ class OperationLogServiceTest {
     assertThat(revertLog.getOperationType()).isEqualTo(OperationType.REVERT);
   }
 
+  @Test
+  void revertFallsBackToArchivedEntries() {
+    OperationLog creationLog = new OperationLog(OperationType.CREATE, OperationEntityType.STUDENT,
+        5L, Instant.now(), "admin", "Created student", null, null);
+    Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    student.setId(5L);
+    when(operationLogRepository.findById(99L)).thenReturn(Optional.empty());
+    when(operationLogArchive.find(99L)).thenReturn(Optional.of(creationLog));
+    when(operationLogRepository.save(any(OperationLog.class))).thenAnswer(invocation ->
+        invocation.getArgument(0, OperationLog.class));
+    when(studentRepository.findById(5L)).thenReturn(Optional.of(student));
+
+    operationLogService.revertOperation(99L);
+
+    verify(studentRepository).delete(student);
+  }
+
+  @Test
+  void operationsAfterContinuesIntoTheArchive() {
+    Instant now = Instant.now();
+    OperationLogSummary live = new OperationLogSummary(40L, OperationType.CREATE,
+        OperationEntityType.STUDENT, 1L, now, "admin", "Created");
+    OperationLog archived = new OperationLog(OperationType.CREATE, OperationEntityType.MODULE, 2L,
+        now.minusSeconds(86_400), "admin", "Created module", null, null);
+    archived.setId(3L);
+    OperationLogFilter filter = new OperationLogFilter(null, null, null, null, null, null);
+    when(operationLogRepository.findSummaries(filter, null, null, Limit.of(3)))
+        .thenReturn(List.of(live));
+    when(operationLogArchive.hasEntries()).thenReturn(true);
+    when(operationLogArchive.findNewest(filter, now, 40L, 2)).thenReturn(List.of(archived));
+
+    Slice<OperationLogSummary> slice = operationLogService.getOperationsAfter(null, 2, null,
+        null, null, null, null, null);
+
+    assertThat(slice.getContent()).extracting(OperationLogSummary::id).containsExactly(40L, 3L);
+    assertThat(slice.hasNext()).isFalse();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void batchRevertAppliesNewestFirstAfterPrefetchingAndSavesOnce() {
+    Instant created = Instant.parse("2025-01-01T10:00:00Z");
+    OperationLog createGrade = new OperationLog(OperationType.CREATE, OperationEntityType.GRADE,
+        7L, created, "admin", "Created grade",
+        null, "{\"id\":7,\"studentId\":1,\"moduleId\":2,\"score\":50}");
+    createGrade.setId(10L);
+    OperationLog updateGrade = new OperationLog(OperationType.UPDATE, OperationEntityType.GRADE,
+        7L, created.plusSeconds(60), "admin", "Updated grade",
+        "{\"id\":7,\"studentId\":1,\"moduleId\":2,\"score\":50}",
+        "{\"id\":7,\"studentId\":1,\"moduleId\":2,\"score\":90}");
+    updateGrade.setId(11L);
+    Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    student.setId(1L);
+    Module module = new Module("COMP0010", "Software Engineering", true);
+    module.setId(2L);
+    Grade grade = new Grade(student, module, 90);
+    grade.setId(7L);
+    when(operationLogRepository.findAllById(List.of(10L, 11L)))
+        .thenReturn(List.of(createGrade, updateGrade));
+    when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+    when(moduleRepository.findById(2L)).thenReturn(Optional.of(module));
+    when(gradeRepository.findById(7L)).thenReturn(Optional.of(grade));
+    when(operationLogRepository.saveAll(any())).thenAnswer(invocation ->
+        invocation.getArgument(0, List.class));
+
+    List<OperationLog> reverts = operationLogService.revertOperations(List.of(10L, 11L), null);
+
+    assertThat(reverts).extracting(OperationLog::getDescription)
+        .containsExactly("Reverted: Updated grade", "Reverted: Created grade");
+    InOrder order = inOrder(gradeRepository, entityManager);
+    order.verify(gradeRepository).findAllById(Set.of(7L));
+    order.verify(gradeRepository).save(any(Grade.class));
+    order.verify(gradeRepository).delete(grade);
+    verify(entityManager, never()).flush();
+    verify(studentRepository).findAllById(Set.of(1L));
+    verify(moduleRepository).findAllById(Set.of(2L));
+    verify(operationLogRepository, never()).save(any(OperationLog.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void batchRevertFlushesBeforeReinsertingAFreedUniqueValue() throws JsonProcessingException {
+    Instant deleted = Instant.parse("2025-01-01T10:00:00Z");
+    Student removed = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    removed.setId(6L);
+    OperationLog deleteStudent = new OperationLog(OperationType.DELETE,
+        OperationEntityType.STUDENT, 6L, deleted, "admin", "Deleted student",
+        new ObjectMapper().writeValueAsString(removed), null);
+    deleteStudent.setId(20L);
+    OperationLog createStudent = new OperationLog(OperationType.CREATE,
+        OperationEntityType.STUDENT, 5L, deleted.plusSeconds(60), "admin", "Created student",
+        null, "{\"id\":5}");
+    createStudent.setId(21L);
+    Student replacement = new Student("Ada", "Byron", "ada", "ada@example.com");
+    replacement.setId(5L);
+    when(operationLogRepository.findAllById(List.of(20L, 21L)))
+        .thenReturn(List.of(deleteStudent, createStudent));
+    when(studentRepository.findById(5L)).thenReturn(Optional.of(replacement));
+    when(operationLogRepository.saveAll(any())).thenAnswer(invocation ->
+        invocation.getArgument(0, List.class));
+
+    operationLogService.revertOperations(List.of(20L, 21L), null);
+
+    InOrder order = inOrder(studentRepository, entityManager);
+    order.verify(studentRepository).delete(replacement);
+    order.verify(entityManager).flush();
+    order.verify(studentRepository).save(any(Student.class));
+  }
+
+  @Test
+  void batchRevertNeedsExactlyOneSelector() {
+    assertThatThrownBy(() -> operationLogService.revertOperations(null, null))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> operationLogService.revertOperations(List.of(1L), Instant.now()))
+        .isInstanceOf(InvalidRequestException.class);
+    when(operationLogRepository.findAllById(List.of(4L))).thenReturn(List.of());
+    assertThatThrownBy(() -> operationLogService.revertOperations(List.of(4L), null))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
   @Test
   void revertUpdateRestoresSnapshot() throws JsonProcessingException {
     Student snapshot = new Student("Alan", "Turing", "alan", "alan@example.com");
@@ -157,6 +297,77 @@ class OperationLogServiceTest {
     verify(gradeRepository).save(argThat(grade -> grade.getScore() == 85
         && grade.getStudent().getId().equals(student.getId())
         && grade.getModule().getId().equals(module.getId())));
+    verify(moduleStatisticsStore).gradeRecorded(module.getId(), 85);
+  }
+
+  @Test
+  void operationsAfterSeeksPastTheCursorWithParsedFilters() {
+    Instant cursor = Instant.parse("2025-01-02T00:00:00Z");
+    OperationLogSummary older = new OperationLogSummary(3L, OperationType.UPDATE,
+        OperationEntityType.MODULE, 4L, cursor.minusSeconds(60), "admin", "Updated");
+    when(operationLogRepository.findTimestampById(7L)).thenReturn(Optional.of(cursor));
+    OperationLogFilter filter = new OperationLogFilter(OperationEntityType.MODULE, 4L,
+        OperationType.UPDATE, "admin", Instant.parse("2025-01-01T00:00:00Z"), null);
+    when(operationLogRepository.findSummaries(filter, cursor, 7L, Limit.of(2)))
+        .thenReturn(List.of(older));
+
+    Slice<OperationLogSummary> slice = operationLogService.getOperationsAfter(7L, 1, "module",
+        4L, "update", "admin", "2025-01-01T00:00:00Z", null);
+
+    assertThat(slice.getContent()).containsExactly(older);
+    assertThat(slice.hasNext()).isFalse();
+  }
+
+  @Test
+  void operationsAfterRejectsInvalidFiltersAndUnknownCursors() {
+    assertThatThrownBy(() -> operationLogService.getOperationsAfter(null, 10, "COURSE", null,
+        null, null, null, null)).isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> operationLogService.getOperationsAfter(null, 10, null, 4L, null,
+        null, null, null)).isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> operationLogService.getOperationsAfter(null, 10, null, null, null,
+        null, "2025-02-01T00:00:00Z", "2025-01-01T00:00:00Z"))
+        .isInstanceOf(InvalidRequestException.class);
+    assertThatThrownBy(() -> operationLogService.getOperationsAfter(null, 10, null, null, null,
+        null, "yesterday", null)).isInstanceOf(InvalidRequestException.class);
+    when(operationLogRepository.findTimestampById(99L)).thenReturn(Optional.empty());
+    assertThatThrownBy(() -> operationLogService.getOperationsAfter(99L, 10, null, null, null,
+        null, null, null)).isInstanceOf(InvalidRequestException.class);
+  }
+
+  @Test
+  void entityHistoryPagesThroughTheEntitysEntries() {
+    Instant cursor = Instant.parse("2025-01-02T00:00:00Z");
+    OperationLogSummary created = new OperationLogSummary(1L, OperationType.CREATE,
+        OperationEntityType.GRADE, 8L, cursor.minusSeconds(60), "admin", "Created");
+    when(operationLogRepository.findTimestampById(5L)).thenReturn(Optional.of(cursor));
+    OperationLogFilter filter = new OperationLogFilter(OperationEntityType.GRADE, 8L, null, null,
+        null, null);
+    when(operationLogRepository.findSummaries(filter, cursor, 5L, Limit.of(2)))
+        .thenReturn(List.of(created));
+
+    Slice<OperationLogSummary> slice = operationLogService.getEntityHistory(
+        OperationEntityType.GRADE, 8L, 5L, 1);
+
+    assertThat(slice.getContent()).containsExactly(created);
+    assertThat(slice.hasNext()).isFalse();
+    assertThatThrownBy(() -> operationLogService.getEntityHistory(OperationEntityType.GRADE, 8L,
+        null, 0)).isInstanceOf(InvalidRequestException.class);
+  }
+
+  @Test
+  void logImportIndexesTheImportedIds() {
+    when(operationLogRepository.save(any(OperationLog.class))).thenAnswer(invocation -> {
+      OperationLog saved = invocation.getArgument(0, OperationLog.class);
+      saved.setId(3L);
+      return saved;
+    });
+
+    OperationLog log = operationLogService.logImport(OperationEntityType.STUDENT,
+        List.of(10L, 11L), "Imported 2 students");
+
+    assertThat(log.getNewState()).isEqualTo("[10,11]");
+    verify(operationLogRepository).saveImportedIds(3L, OperationEntityType.STUDENT,
+        List.of(10L, 11L));
   }
 
   @Test
@@ -185,6 +396,7 @@ class OperationLogServiceTest {
     operationLogService.revertOperation(50L);
 
     verify(registrationRepository).save(any(Registration.class));
+    verify(moduleStatisticsStore).registrationAdded(module.getId());
   }
 
   @Test
@@ -245,6 +457,9 @@ class OperationLogServiceTest {
     verify(moduleRepository).delete(module);
     verify(registrationRepository).delete(registration);
     verify(gradeRepository).delete(grade);
+    verify(moduleStatisticsStore).moduleRemoved(module.getId());
+    verify(moduleStatisticsStore).registrationRemoved(module.getId());
+    verify(moduleStatisticsStore).gradeRemoved(module.getId(), 70);
   }
 
   @Test
@@ -286,6 +501,8 @@ class OperationLogServiceTest {
     when(studentRepository.findById(3L)).thenReturn(Optional.of(student2));
     when(moduleRepository.findById(2L)).thenReturn(Optional.of(module));
     when(moduleRepository.findById(4L)).thenReturn(Optional.of(module2));
+    when(registrationRepository.existsById(20L)).thenReturn(true);
+    when(gradeRepository.findById(30L)).thenReturn(Optional.of(new Grade(student2, module2, 60)));
 
     operationLogService.revertOperation(10L);
     operationLogService.revertOperation(20L);
@@ -294,6 +511,56 @@ class OperationLogServiceTest {
     verify(moduleRepository).save(any(Module.class));
     verify(registrationRepository).save(any(Registration.class));
     verify(gradeRepository).save(any(uk.ac.ucl.comp0010.models.Grade.class));
+    verify(moduleStatisticsStore).gradeChanged(4L, 60, 75);
+  }
+
+  @Test
+  void revertUpdateWritesBackChangedFieldsOnly() {
+    Student student = new Student("Grace", "Hopper", "grace", "new@example.com");
+    student.setId(7L);
+    student.setMajor("Maths");
+    OperationLog update = new OperationLog(OperationType.UPDATE, OperationEntityType.STUDENT, 7L,
+        Instant.now(), "admin", "Updated student",
+        "{\"email\":\"grace@example.com\",\"entryYear\":null}",
+        "{\"email\":\"new@example.com\",\"entryYear\":2021}");
+    student.setEntryYear(2021);
+
+    when(operationLogRepository.findById(8L)).thenReturn(Optional.of(update));
+    when(operationLogRepository.save(any(OperationLog.class))).thenAnswer(invocation ->
+        invocation.getArgument(0, OperationLog.class));
+    when(studentRepository.findById(7L)).thenReturn(Optional.of(student));
+
+    operationLogService.revertOperation(8L);
+
+    verify(studentRepository).save(student);
+    assertThat(student.getEmail()).isEqualTo("grace@example.com");
+    assertThat(student.getEntryYear()).isNull();
+    assertThat(student.getMajor()).isEqualTo("Maths");
+  }
+
+  @Test
+  void revertModuleUpdateResolvesPrerequisite() {
+    Module module = new Module("COMP0010", "New name", true, "CS");
+    module.setId(10L);
+    Module prerequisite = new Module("COMP0002", "Basics", true, "CS");
+    prerequisite.setId(4L);
+    OperationLog update = new OperationLog(OperationType.UPDATE, OperationEntityType.MODULE, 10L,
+        Instant.now(), "admin", "Updated module",
+        "{\"name\":\"Old name\",\"prerequisiteModuleId\":4}",
+        "{\"name\":\"New name\",\"prerequisiteModuleId\":null}");
+
+    when(operationLogRepository.findById(9L)).thenReturn(Optional.of(update));
+    when(operationLogRepository.save(any(OperationLog.class))).thenAnswer(invocation ->
+        invocation.getArgument(0, OperationLog.class));
+    when(moduleRepository.findById(10L)).thenReturn(Optional.of(module));
+    when(moduleRepository.findById(4L)).thenReturn(Optional.of(prerequisite));
+
+    operationLogService.revertOperation(9L);
+
+    verify(moduleRepository).save(module);
+    verify(moduleStatisticsStore).moduleSaved();
+    assertThat(module.getName()).isEqualTo("Old name");
+    assertThat(module.getPrerequisiteModule()).isSameAs(prerequisite);
   }
 
   @Test
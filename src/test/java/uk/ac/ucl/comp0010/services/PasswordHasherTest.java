@@ -0,0 +1,85 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import uk.ac.ucl.comp0010.exceptions.ServiceUnavailableException;
+
+class PasswordHasherTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final ExecutorService callers = Executors.newFixedThreadPool(2);
+  private PasswordHasher hasher;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    callers.shutdownNow();
+    if (hasher != null) {
+      hasher.shutdown();
+    }
+  }
+
+  @Test
+  void hashesOnThePool() {
+    hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 1, 1);
+
+    String hash = hasher.encode("secret");
+
+    assertThat(hasher.matches("secret", hash)).isTrue();
+    assertThat(hasher.matches("other", hash)).isFalse();
+  }
+
+  @Test
+  void shedsRequestsWhenTheQueueIsFull() throws Exception {
+    hasher = new PasswordHasher(new BlockingEncoder(), 1, 1, 3);
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"),
+        callers);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"),
+        callers);
+    while (hasher.queueDepth() == 0) {
+      Thread.onSpinWait();
+    }
+
+    assertThatThrownBy(() -> hasher.encode("c"))
+        .isInstanceOfSatisfying(ServiceUnavailableException.class,
+            ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(3));
+    assertThat(hasher.activeCount()).isEqualTo(1);
+    assertThat(hasher.queueDepth()).isEqualTo(1);
+    assertThat(hasher.rejectedCount()).isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-a");
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed-b");
+  }
+
+  @Test
+  void encoderFailuresReachTheCaller() {
+    hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 1, 1);
+
+    assertThatThrownBy(() -> hasher.encode(null)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private class BlockingEncoder extends BCryptPasswordEncoder {
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return "hashed-" + rawPassword;
+    }
+  }
+}
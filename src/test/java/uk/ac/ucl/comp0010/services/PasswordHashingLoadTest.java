@@ -0,0 +1,150 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import uk.ac.ucl.comp0010.exceptions.ServiceUnavailableException;
+
+/**
+ * Measures how a login storm affects the latency of cheap read work, with BCrypt running on the
+ * request threads and on the bounded {@link PasswordHasher} pool.
+ *
+ * <p>A pool of caller threads plays the servlet container and checks passwords as fast as it can
+ * while the test thread times a small JSON serialisation standing in for a GET handler. There are
+ * more callers than the bounded pool has threads and queue slots, so it always has to shed part of
+ * the storm; a shed caller backs off briefly, as a client honouring Retry-After would. The default
+ * run only checks that shedding. The latency comparison depends on the machine, so it runs with
+ * {@code -Dloadtest.latency=true}: the median read latency is logged for an idle baseline and for
+ * both storms, and reads must stay faster than during the unbounded storm. Raise
+ * {@code -Dloadtest.callers} or {@code -Dloadtest.samples} for a longer run.
+ */
+class PasswordHashingLoadTest {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashingLoadTest.class);
+  private static final int THREADS = 1;
+  private static final int QUEUE_CAPACITY = 4;
+  private static final int CALLERS = Integer.getInteger("loadtest.callers",
+      THREADS + QUEUE_CAPACITY + Math.max(4, Runtime.getRuntime().availableProcessors()));
+  private static final int SAMPLES = Integer.getInteger("loadtest.samples", 400);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+  private final Map<String, Object> response = Map.of("id", 1, "firstName", "Ada",
+      "lastName", "Lovelace", "modules", List.of("COMP0010", "COMP0002", "COMP0004"));
+
+  @Test
+  void boundedPoolShedsLoginsBeyondItsCapacity() throws Exception {
+    PasswordHasher hasher = new PasswordHasher(encoder, THREADS, QUEUE_CAPACITY, 1);
+    LongAdder shed = new LongAdder();
+    try {
+      duringStorm(hasher::matches, shed, () -> shed.sum() > 0);
+    } finally {
+      hasher.shutdown();
+    }
+
+    assertThat(shed.sum()).isPositive();
+    assertThat(hasher.rejectedCount()).isEqualTo(shed.sum());
+  }
+
+  @Test
+  void boundedHashingKeepsReadLatencyFlat() throws Exception {
+    assumeTrue(Boolean.getBoolean("loadtest.latency"), "latency comparison not requested");
+    medianReadNanos();
+    long idle = medianReadNanos();
+
+    long unbounded = duringStorm(encoder::matches, new LongAdder(), () -> true);
+
+    PasswordHasher hasher = new PasswordHasher(encoder, THREADS, QUEUE_CAPACITY, 1);
+    LongAdder shed = new LongAdder();
+    long bounded;
+    try {
+      bounded = duringStorm(hasher::matches, shed, () -> shed.sum() > 0);
+    } finally {
+      hasher.shutdown();
+    }
+
+    LOGGER.info("Median read latency: idle {} us, unbounded storm {} us, bounded storm {} us "
+        + "({} logins shed)", idle / 1000, unbounded / 1000, bounded / 1000, shed.sum());
+    assertThat(bounded).isLessThan(unbounded);
+  }
+
+  /**
+   * Runs the storm and times reads once it has warmed up and {@code saturated} holds.
+   */
+  private long duringStorm(BiPredicate<String, String> check, LongAdder shed,
+      BooleanSupplier saturated) throws InterruptedException {
+    String hash = encoder.encode("secret");
+    AtomicBoolean running = new AtomicBoolean(true);
+    ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    for (int caller = 0; caller < CALLERS; caller++) {
+      callers.execute(() -> {
+        while (running.get()) {
+          try {
+            check.test("secret", hash);
+          } catch (ServiceUnavailableException ex) {
+            shed.increment();
+            pause();
+          }
+        }
+      });
+    }
+    try {
+      Thread.sleep(200);
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+      while (!saturated.getAsBoolean() && System.nanoTime() - deadline < 0) {
+        Thread.sleep(10);
+      }
+      return medianReadNanos();
+    } finally {
+      running.set(false);
+      callers.shutdown();
+      callers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+  }
+
+  private static void pause() {
+    try {
+      Thread.sleep(10);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private long medianReadNanos() {
+    List<Long> samples = new ArrayList<>(SAMPLES);
+    for (int sample = 0; sample < SAMPLES; sample++) {
+      long start = System.nanoTime();
+      read();
+      samples.add(System.nanoTime() - start);
+    }
+    long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+  private void read() {
+    try {
+      for (int repeat = 0; repeat < 50; repeat++) {
+        objectMapper.writeValueAsBytes(response);
+      }
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
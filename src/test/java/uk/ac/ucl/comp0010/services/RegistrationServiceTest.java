@@ -44,12 +44,15 @@ class RegistrationServiceTest {
   @Mock
   private OperationLogService operationLogService;
 
+  @Mock
+  private ModuleStatisticsStore moduleStatisticsStore;
+
   private RegistrationService registrationService;
 
   @BeforeEach
   void setUp() {
     registrationService = new RegistrationService(registrationRepository, studentRepository,
-        moduleRepository, gradeRepository, operationLogService);
+        moduleRepository, gradeRepository, operationLogService, moduleStatisticsStore);
   }
 
   @Test
@@ -72,6 +75,7 @@ class RegistrationServiceTest {
     when(registrationRepository.save(any(Registration.class))).thenReturn(saved);
 
     assertThat(registrationService.register(1L, 2L)).isEqualTo(saved);
+    verify(moduleStatisticsStore).registrationAdded(2L);
 
     when(registrationRepository.existsByStudentAndModule(student, module)).thenReturn(true);
     assertThatThrownBy(() -> registrationService.register(1L, 2L))
@@ -103,6 +107,7 @@ class RegistrationServiceTest {
     registrationService.unregister(1L, 2L);
 
     verify(registrationRepository).delete(registration);
+    verify(moduleStatisticsStore).registrationRemoved(2L);
   }
 
   @Test
@@ -0,0 +1,58 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import uk.ac.ucl.comp0010.services.ScoreHistogram.ScoreBucket;
+
+class ScoreHistogramTest {
+
+  private static ScoreHistogram histogramOf(int... scores) {
+    long[] counts = new long[ScoreHistogram.SLOTS];
+    for (int score : scores) {
+      counts[ScoreHistogram.slotFor(score)]++;
+    }
+    return new ScoreHistogram(counts);
+  }
+
+  @Test
+  void emptyHistogramHasNoOrderStatistics() {
+    assertThat(ScoreHistogram.EMPTY.getTotal()).isZero();
+    assertThat(ScoreHistogram.EMPTY.min()).isNull();
+    assertThat(ScoreHistogram.EMPTY.max()).isNull();
+    assertThat(ScoreHistogram.EMPTY.percentile(50)).isNull();
+  }
+
+  @Test
+  void interpolatesPercentilesBetweenClosestRanks() {
+    ScoreHistogram histogram = histogramOf(10, 20, 30, 40);
+
+    assertThat(histogram.percentile(0)).isEqualTo(10.0);
+    assertThat(histogram.percentile(50)).isEqualTo(25.0);
+    assertThat(histogram.percentile(100)).isEqualTo(40.0);
+    assertThat(histogram.percentile(25)).isEqualTo(17.5);
+  }
+
+  @Test
+  void clampsOutOfRangeScores() {
+    ScoreHistogram histogram = histogramOf(-5, 120);
+
+    assertThat(histogram.min()).isZero();
+    assertThat(histogram.max()).isEqualTo(100);
+    assertThat(histogram.countAt(100)).isEqualTo(1);
+  }
+
+  @Test
+  void groupsScoresIntoBucketsWithClosedTopBucket() {
+    ScoreHistogram histogram = histogramOf(0, 9, 10, 95, 100);
+
+    List<ScoreBucket> buckets = histogram.buckets(10);
+    assertThat(buckets).hasSize(10);
+    assertThat(buckets.get(0)).isEqualTo(new ScoreBucket(0, 9, 2));
+    assertThat(buckets.get(1)).isEqualTo(new ScoreBucket(10, 19, 1));
+    assertThat(buckets.get(9)).isEqualTo(new ScoreBucket(90, 100, 2));
+
+    assertThat(histogram.buckets(100)).containsExactly(new ScoreBucket(0, 100, 5));
+  }
+}
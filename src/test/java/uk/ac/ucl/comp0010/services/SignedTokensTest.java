@@ -0,0 +1,95 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import org.junit.jupiter.api.Test;
+
+class SignedTokensTest {
+  static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+  static final String OTHER_KEY = "ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+  private static final ToLongFunction<String> NOTHING_STORED = username -> Long.MIN_VALUE;
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  @Test
+  void issuedTokensVerifyUntilTheyExpire() {
+    SignedTokens tokens = new SignedTokens(true, "k1:" + KEY, "k1", 1_000, clock::get);
+
+    String token = tokens.issue("ada.lovelace", clock.get());
+
+    assertThat(SignedTokens.isSigned(token)).isTrue();
+    assertThat(tokens.verify(token, NOTHING_STORED)).contains("ada.lovelace");
+    clock.addAndGet(1_000);
+    assertThat(tokens.verify(token, NOTHING_STORED)).isEmpty();
+  }
+
+  @Test
+  void tamperedTokensAreRejected() {
+    SignedTokens tokens = new SignedTokens(true, "k1:" + KEY, "k1", 1_000, clock::get);
+    String token = tokens.issue("ada", clock.get());
+    String[] parts = token.split("\\.");
+
+    String otherUser = parts[0] + ".Ym9i." + parts[2] + "." + parts[3];
+    String later = parts[0] + "." + parts[1] + "." + (clock.get() + 500) + "." + parts[3];
+
+    assertThat(tokens.verify(otherUser, NOTHING_STORED)).isEmpty();
+    assertThat(tokens.verify(later, NOTHING_STORED)).isEmpty();
+    assertThat(tokens.verify("k1.not.a.token", NOTHING_STORED)).isEmpty();
+    assertThat(tokens.verify("unknown." + parts[1] + "." + parts[2] + "." + parts[3],
+        NOTHING_STORED)).isEmpty();
+  }
+
+  @Test
+  void issuingRevokesEarlierTokensOfTheSameUser() {
+    SignedTokens tokens = new SignedTokens(true, "k1:" + KEY, "k1", 10_000, clock::get);
+    String first = tokens.issue("ada", clock.get());
+    String other = tokens.issue("grace", clock.get());
+    clock.incrementAndGet();
+
+    String second = tokens.issue("ada", clock.get());
+
+    assertThat(tokens.verify(first, NOTHING_STORED)).isEmpty();
+    assertThat(tokens.verify(second, NOTHING_STORED)).contains("ada");
+    assertThat(tokens.verify(other, NOTHING_STORED)).contains("grace");
+  }
+
+  @Test
+  void unknownUsersAreRevokedFromTheStoredIssueTime() {
+    SignedTokens before = new SignedTokens(true, "k1:" + KEY, "k1", 10_000, clock::get);
+    String first = before.issue("ada", clock.get());
+    long secondIssuedAt = clock.incrementAndGet();
+    String second = before.issue("ada", secondIssuedAt);
+
+    SignedTokens restarted = new SignedTokens(true, "k1:" + KEY, "k1", 10_000, clock::get);
+
+    assertThat(restarted.verify(first, username -> secondIssuedAt)).isEmpty();
+    assertThat(restarted.verify(second, username -> secondIssuedAt)).contains("ada");
+  }
+
+  @Test
+  void retiredKeysStayValidWhileConfigured() {
+    SignedTokens before = new SignedTokens(true, "k1:" + KEY, "k1", 10_000, clock::get);
+    String token = before.issue("ada", clock.get());
+
+    SignedTokens rotated = new SignedTokens(true, "k2:" + OTHER_KEY + ",k1:" + KEY, "k2",
+        10_000, clock::get);
+    SignedTokens retired = new SignedTokens(true, "k2:" + OTHER_KEY, "k2", 10_000, clock::get);
+
+    assertThat(rotated.verify(token, NOTHING_STORED)).contains("ada");
+    assertThat(rotated.issue("ada", clock.get())).startsWith("k2.");
+    assertThat(retired.verify(token, NOTHING_STORED)).isEmpty();
+  }
+
+  @Test
+  void misconfiguredKeysFailAtStartup() {
+    assertThatThrownBy(() -> new SignedTokens(true, "k1:c2hvcnQ=", "k1", 1_000, clock::get))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new SignedTokens(true, "k1:" + KEY, "k2", 1_000, clock::get))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new SignedTokens(true, "k.1:" + KEY, "k.1", 1_000, clock::get))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
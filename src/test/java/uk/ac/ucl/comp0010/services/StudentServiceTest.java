@@ -3,6 +3,8 @@ package uk.ac.ucl.comp0010.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,7 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import uk.ac.ucl.comp0010.controllers.responses.StudentStatisticsResponse;
+import uk.ac.ucl.comp0010.exceptions.InvalidRequestException;
 import uk.ac.ucl.comp0010.exceptions.NoGradeAvailableException;
 import uk.ac.ucl.comp0010.exceptions.NoRegistrationException;
 import uk.ac.ucl.comp0010.exceptions.ResourceConflictException;
@@ -28,6 +35,7 @@ import uk.ac.ucl.comp0010.repositories.GradeRepository;
 import uk.ac.ucl.comp0010.repositories.ModuleRepository;
 import uk.ac.ucl.comp0010.repositories.RegistrationRepository;
 import uk.ac.ucl.comp0010.repositories.StudentRepository;
+import uk.ac.ucl.comp0010.repositories.projections.StudentGradeAggregate;
 import uk.ac.ucl.comp0010.services.OperationLogService;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,12 +56,18 @@ class StudentServiceTest {
   @Mock
   private OperationLogService operationLogService;
 
+  @Mock
+  private ModuleStatisticsStore moduleStatisticsStore;
+
+  private final WriteEpoch writeEpoch = new WriteEpoch();
+
   private StudentService studentService;
 
   @BeforeEach
   void setUp() {
     studentService = new StudentService(studentRepository, moduleRepository,
-        registrationRepository, gradeRepository, operationLogService);
+        registrationRepository, gradeRepository, operationLogService, moduleStatisticsStore,
+        writeEpoch);
   }
 
   @Test
@@ -287,6 +301,7 @@ class StudentServiceTest {
     StudentStatisticsResponse stats = studentService.getStudentStatistics(1L);
 
     assertThat(stats.getAverageScore()).isEqualTo(70.0);
+    assertThat(stats.getGpa()).isEqualTo((4.0 + 3.3) / 2);
     assertThat(stats.getOutstandingTuition()).isEqualByComparingTo("2500");
     assertThat(stats.getMajor()).isEqualTo("Computer Science");
     assertThat(stats.getHomeStudent()).isFalse();
@@ -303,5 +318,63 @@ class StudentServiceTest {
     StudentStatisticsResponse stats = studentService.getStudentStatistics(5L);
 
     assertThat(stats.getAverageScore()).isNull();
+    assertThat(stats.getGpa()).isNull();
+  }
+
+  @Test
+  void statisticsAreCachedUntilWriteEpochAdvances() {
+    Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    student.setId(5L);
+    when(studentRepository.findById(5L)).thenReturn(Optional.of(student));
+    when(gradeRepository.findAllByStudent(student)).thenReturn(List.of());
+
+    StudentStatisticsResponse first = studentService.getStudentStatistics(5L);
+    assertThat(studentService.getStudentStatistics(5L)).isSameAs(first);
+    verify(gradeRepository, times(1)).findAllByStudent(student);
+
+    writeEpoch.advance();
+    assertThat(studentService.getStudentStatistics(5L)).isNotSameAs(first);
+    verify(gradeRepository, times(2)).findAllByStudent(student);
+  }
+
+  @Test
+  void allStudentStatisticsMapsAggregateRows() {
+    Student student = new Student("Ada", "Lovelace", "ada", "ada@example.com");
+    student.setId(1L);
+    StudentGradeAggregate row = new StudentGradeAggregate() {
+      @Override
+      public Student getStudent() {
+        return student;
+      }
+
+      @Override
+      public Double getAverageScore() {
+        return 65.0;
+      }
+
+      @Override
+      public Double getGpa() {
+        return 3.0;
+      }
+    };
+    PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "gpa"));
+    when(studentRepository.findAllWithGradeAggregates(pageable))
+        .thenReturn(new PageImpl<>(List.of(row), pageable, 1));
+
+    Page<StudentStatisticsResponse> page = studentService.getAllStudentStatistics(pageable);
+
+    assertThat(page.getTotalElements()).isEqualTo(1);
+    assertThat(page.getContent().get(0).getUserName()).isEqualTo("ada");
+    assertThat(page.getContent().get(0).getAverageScore()).isEqualTo(65.0);
+    assertThat(page.getContent().get(0).getGpa()).isEqualTo(3.0);
+  }
+
+  @Test
+  void allStudentStatisticsRejectsUnknownSortProperty() {
+    PageRequest pageable = PageRequest.of(0, 10, Sort.by("password"));
+
+    assertThatThrownBy(() -> studentService.getAllStudentStatistics(pageable))
+        .isInstanceOf(InvalidRequestException.class);
+    verify(studentRepository, never()).findAllWithGradeAggregates(any());
   }
 }
@@ -0,0 +1,91 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import uk.ac.ucl.comp0010.repositories.projections.TokenOwner;
+
+class TokenCacheTest {
+
+  private static final TokenOwner ADA = new TokenOwner("ada", Instant.MAX);
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void entriesExpireAfterTheirTimeToLive() {
+    TokenCache cache = new TokenCache(1_000, 10, clock::get);
+
+    assertThat(cache.get("token", this::load)).contains(ADA);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    assertThat(cache.get("token", this::load)).contains(ADA);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    assertThat(cache.get("token", this::load)).contains(ADA);
+
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(2);
+  }
+
+  @Test
+  void sizeStaysWithinBound() {
+    TokenCache cache = new TokenCache(1_000, 3, clock::get);
+
+    for (int index = 0; index < 10; index++) {
+      cache.get("token" + index, this::load);
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void fullCacheEvictsATenthOfItsCapacityAtOnce() {
+    TokenCache cache = new TokenCache(1_000, 100, clock::get);
+    for (int index = 0; index < 100; index++) {
+      cache.get("token" + index, this::load);
+    }
+
+    cache.get("next", this::load);
+    assertThat(cache.size()).isEqualTo(91);
+
+    for (int index = 0; index < 9; index++) {
+      cache.get("more" + index, this::load);
+    }
+    assertThat(cache.size()).isEqualTo(100);
+  }
+
+  @Test
+  void loadOverlappingAnInvalidationIsNotCached() {
+    TokenCache cache = new TokenCache(1_000, 10, clock::get);
+
+    assertThat(cache.get("token", () -> {
+      cache.invalidate("token");
+      return load();
+    })).contains(ADA);
+
+    assertThat(cache.size()).isZero();
+    cache.get("token", this::load);
+    assertThat(cache.size()).isEqualTo(1);
+    cache.invalidate("token");
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void missesAreNotCached() {
+    TokenCache cache = new TokenCache(1_000, 10, clock::get);
+
+    cache.get("token", Optional::empty);
+
+    assertThat(cache.get("token", this::load)).contains(ADA);
+  }
+
+  private Optional<TokenOwner> load() {
+    loads.incrementAndGet();
+    return Optional.of(ADA);
+  }
+}
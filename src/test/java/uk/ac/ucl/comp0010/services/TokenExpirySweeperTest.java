@@ -0,0 +1,64 @@
+package uk.ac.ucl.comp0010.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.ac.ucl.comp0010.repositories.UserAccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenExpirySweeperTest {
+  private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+  @Mock
+  private UserAccountRepository userRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void clearsExpiredTokensInBatches() {
+    when(userRepository.findIdsWithTokenExpiredBy(NOW, Limit.of(2)))
+        .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+    when(userRepository.clearTokensExpiredBy(List.of(1L, 2L), NOW)).thenReturn(2);
+    when(userRepository.clearTokensExpiredBy(List.of(3L), NOW)).thenReturn(1);
+
+    TokenExpirySweeper sweeper = new TokenExpirySweeper(userRepository, transactionManager,
+        true, 2);
+
+    assertThat(sweeper.sweepExpiredBy(NOW)).isEqualTo(3);
+    verify(userRepository).clearTokensExpiredBy(List.of(1L, 2L), NOW);
+    verify(userRepository).clearTokensExpiredBy(List.of(3L), NOW);
+  }
+
+  @Test
+  void countsOnlyTokensTheUpdateCleared() {
+    when(userRepository.findIdsWithTokenExpiredBy(NOW, Limit.of(2)))
+        .thenReturn(List.of(1L, 2L), List.of());
+    when(userRepository.clearTokensExpiredBy(List.of(1L, 2L), NOW)).thenReturn(1);
+
+    TokenExpirySweeper sweeper = new TokenExpirySweeper(userRepository, transactionManager,
+        true, 2);
+
+    assertThat(sweeper.sweepExpiredBy(NOW)).isEqualTo(1);
+  }
+
+  @Test
+  void scheduledSweepDoesNothingWhenDisabled() {
+    TokenExpirySweeper sweeper = new TokenExpirySweeper(userRepository, transactionManager,
+        false, 2);
+
+    assertThat(sweeper.sweepExpired()).isZero();
+    verify(userRepository, never()).findIdsWithTokenExpiredBy(any(), any());
+  }
+}
@@ -3,35 +3,42 @@ package uk.ac.ucl.comp0010.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import uk.ac.ucl.comp0010.exceptions.ResourceConflictException;
 import uk.ac.ucl.comp0010.exceptions.ResourceNotFoundException;
 import uk.ac.ucl.comp0010.models.UserAccount;
 import uk.ac.ucl.comp0010.repositories.UserAccountRepository;
+import uk.ac.ucl.comp0010.repositories.projections.TokenOwner;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
+  private static final TokenOwner ADA = new TokenOwner("ada", Instant.now().plusSeconds(3600));
 
   @Mock
   private UserAccountRepository userRepository;
 
   @Mock
-  private BCryptPasswordEncoder passwordEncoder;
+  private PasswordHasher passwordHasher;
 
   private UserService userService;
 
   @BeforeEach
   void setUp() {
-    userService = new UserService(userRepository, passwordEncoder);
+    userService = new UserService(userRepository, passwordHasher, 60_000, 100,
+        new SignedTokens(false, "", "", 0, System::currentTimeMillis), 3_600_000);
   }
 
   @Test
@@ -46,7 +53,7 @@ class UserServiceTest {
   void registerSavesNewUser() {
     UserAccount account = new UserAccount("ada", "hashed", "token");
     when(userRepository.findByUsername("ada")).thenReturn(Optional.empty());
-    when(passwordEncoder.encode("secret")).thenReturn("hashed");
+    when(passwordHasher.encode("secret")).thenReturn("hashed");
     when(userRepository.save(any(UserAccount.class))).thenReturn(account);
 
     UserAccount created = userService.register("ada", "secret");
@@ -63,7 +70,7 @@ class UserServiceTest {
 
     UserAccount account = new UserAccount("ada", "hashed", "token");
     when(userRepository.findByUsername("ada")).thenReturn(Optional.of(account));
-    when(passwordEncoder.matches("bad", "hashed")).thenReturn(false);
+    when(passwordHasher.matches("bad", "hashed")).thenReturn(false);
 
     assertThatThrownBy(() -> userService.login("ada", "bad"))
         .isInstanceOf(ResourceConflictException.class);
@@ -73,7 +80,7 @@ class UserServiceTest {
   void loginRegeneratesToken() {
     UserAccount account = new UserAccount("ada", "hashed", "token");
     when(userRepository.findByUsername("ada")).thenReturn(Optional.of(account));
-    when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+    when(passwordHasher.matches("secret", "hashed")).thenReturn(true);
     when(userRepository.save(any(UserAccount.class))).thenReturn(account);
 
     UserAccount loggedIn = userService.login("ada", "secret");
@@ -83,10 +90,85 @@ class UserServiceTest {
   }
 
   @Test
-  void findByTokenDelegatesToRepository() {
-    when(userRepository.findByAuthToken("token")).thenReturn(Optional.empty());
+  void findUsernameByTokenCachesSuccessfulLookups() {
+    when(userRepository.findTokenOwner(eq("token"), any())).thenReturn(Optional.of(ADA));
+    when(userRepository.findTokenOwner(eq("unknown"), any())).thenReturn(Optional.empty());
+
+    assertThat(userService.findUsernameByToken("token")).contains("ada");
+    assertThat(userService.findUsernameByToken("token")).contains("ada");
+    assertThat(userService.findUsernameByToken("unknown")).isEmpty();
+    assertThat(userService.findUsernameByToken("unknown")).isEmpty();
+
+    verify(userRepository, times(1)).findTokenOwner(eq("token"), any());
+    verify(userRepository, times(2)).findTokenOwner(eq("unknown"), any());
+    assertThat(userService.metrics().tokenCacheHits()).isEqualTo(1);
+    assertThat(userService.metrics().tokenCacheMisses()).isEqualTo(3);
+  }
+
+  @Test
+  void loginEvictsReplacedToken() {
+    UserAccount account = new UserAccount("ada", "hashed", "token");
+    when(userRepository.findTokenOwner(eq("token"), any()))
+        .thenReturn(Optional.of(ADA), Optional.empty());
+    when(userRepository.findByUsername("ada")).thenReturn(Optional.of(account));
+    when(passwordHasher.matches("secret", "hashed")).thenReturn(true);
+    when(userRepository.save(account)).thenReturn(account);
+
+    assertThat(userService.findUsernameByToken("token")).contains("ada");
+    userService.login("ada", "secret");
+
+    assertThat(userService.findUsernameByToken("token")).isEmpty();
+  }
+
+  @Test
+  void signedTokensAreVerifiedWithoutTheRepository() {
+    SignedTokens signedTokens = new SignedTokens(true, "k1:" + SignedTokensTest.KEY, "k1",
+        60_000, System::currentTimeMillis);
+    userService = new UserService(userRepository, passwordHasher, 60_000, 100, signedTokens,
+        60_000);
+    when(userRepository.findByUsername("ada")).thenReturn(Optional.empty());
+    when(passwordHasher.encode("secret")).thenReturn("hashed");
+    when(userRepository.save(any(UserAccount.class))).thenAnswer(call -> call.getArgument(0));
+
+    UserAccount created = userService.register("ada", "secret");
+
+    assertThat(userService.findUsernameByToken(created.getAuthToken())).contains("ada");
+    verify(userRepository, never()).findTokenOwner(any(), any());
+  }
+
+  @Test
+  void issuedTokensCarryTheirExpiry() {
+    when(userRepository.findByUsername("ada")).thenReturn(Optional.empty());
+    when(passwordHasher.encode("secret")).thenReturn("hashed");
+    when(userRepository.save(any(UserAccount.class))).thenAnswer(call -> call.getArgument(0));
+
+    UserAccount created = userService.register("ada", "secret");
+
+    assertThat(Duration.between(created.getTokenIssuedAt(), created.getTokenExpiresAt()))
+        .isEqualTo(Duration.ofHours(1));
+  }
+
+  @Test
+  void cachedTokensAreRejectedOnceExpired() throws Exception {
+    TokenOwner expiring = new TokenOwner("ada", Instant.now().plusMillis(50));
+    when(userRepository.findTokenOwner(eq("token"), any()))
+        .thenReturn(Optional.of(expiring), Optional.empty());
+
+    assertThat(userService.findUsernameByToken("token")).contains("ada");
+    await(expiring.expiresAt());
+
+    assertThat(userService.findUsernameByToken("token")).isEmpty();
+  }
+
+  @Test
+  void findUsernameByTokenSkipsBlankTokens() {
+    assertThat(userService.findUsernameByToken("")).isEmpty();
+    assertThat(userService.findUsernameByToken(null)).isEmpty();
+  }
 
-    assertThat(userService.findByToken("token")).isEmpty();
-    verify(userRepository).findByAuthToken("token");
+  private static void await(Instant instant) throws InterruptedException {
+    while (!Instant.now().isAfter(instant)) {
+      Thread.sleep(10);
+    }
   }
 }